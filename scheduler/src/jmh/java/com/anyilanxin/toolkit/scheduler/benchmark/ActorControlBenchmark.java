@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the job submission methods of {@link
+ * com.anyilanxin.toolkit.scheduler.ActorControl}. Each invocation submits a batch of jobs and waits
+ * until the last one was executed, so the numbers include the execution on the actor thread.
+ *
+ * <p>Run with {@code -prof gc} to see the allocation rate per submitted job.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = SchedulerBenchmarkState.ADD_EXPORTS)
+@State(Scope.Benchmark)
+public class ActorControlBenchmark extends SchedulerBenchmarkState {
+  static final int BATCH_SIZE = 1_000;
+
+  @Param({"1", "4"})
+  public int cpuBoundThreads;
+
+  private BenchmarkActor receiver;
+  private long counter;
+
+  private final Runnable increment = () -> counter++;
+  private final Callable<Long> read = () -> counter;
+  private final Runnable submitBatch = this::submitBatch;
+  private CompletableActorFuture<Void> batchDone;
+
+  private final List<Runnable> increments = Collections.nCopies(BATCH_SIZE, increment);
+  private final List<Callable<Long>> reads = Collections.nCopies(BATCH_SIZE, read);
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    startScheduler(cpuBoundThreads);
+    receiver = new BenchmarkActor("receiver");
+    scheduler.submitActor(receiver).join();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    receiver.close().join();
+    stopScheduler();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void run() {
+    final CompletableActorFuture<Void> done = new CompletableActorFuture<>();
+
+    for (int i = 0; i < BATCH_SIZE - 1; i++) {
+      receiver.control().run(increment);
+    }
+    receiver.control().run(() -> done.complete(null));
+
+    done.join();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public long call() {
+    ActorFuture<Long> last = null;
+
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      last = receiver.control().call(read);
+    }
+
+    return last.join();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void runAll() {
+    receiver.control().runAll(increments).join();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public List<Long> callAll() {
+    return receiver.control().callAll(reads).join();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void submit() {
+    batchDone = new CompletableActorFuture<>();
+    receiver.control().run(submitBatch);
+    batchDone.join();
+  }
+
+  private void submitBatch() {
+    final CompletableActorFuture<Void> done = batchDone;
+
+    for (int i = 0; i < BATCH_SIZE - 1; i++) {
+      receiver.control().submit(increment);
+    }
+    receiver.control().submit(() -> done.complete(null));
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import com.anyilanxin.toolkit.scheduler.ActorControl;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Chains three steps on one actor, each completing a future which the next step waits on. Compares
+ * {@code actor.runOnCompletion(...)}, which continues in a new job, with the composition operators
+ * of {@link com.anyilanxin.toolkit.scheduler.future.ActorFuture}, which continue inline.
+ *
+ * <p>Run with {@code -prof gc} to see the allocation rate per chain.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = SchedulerBenchmarkState.ADD_EXPORTS)
+@State(Scope.Benchmark)
+public class ActorFutureCompositionBenchmark extends SchedulerBenchmarkState {
+  private BenchmarkActor actor;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    startScheduler(1);
+    actor = new BenchmarkActor("actor");
+    scheduler.submitActor(actor).join();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    actor.close().join();
+    stopScheduler();
+  }
+
+  @Benchmark
+  public Integer runOnCompletion() {
+    final CompletableActorFuture<Integer> done = new CompletableActorFuture<>();
+    actor.control().run(() -> runOnCompletionStep(1, 3, done));
+    return done.join();
+  }
+
+  private void runOnCompletionStep(
+      final int value, final int remainingSteps, final CompletableActorFuture<Integer> done) {
+    if (remainingSteps == 0) {
+      done.complete(value);
+      return;
+    }
+
+    final CompletableActorFuture<Integer> step = new CompletableActorFuture<>();
+    actor
+        .control()
+        .runOnCompletion(
+            step, (result, error) -> runOnCompletionStep(result + 1, remainingSteps - 1, done));
+    step.complete(value);
+  }
+
+  @Benchmark
+  public Integer map() {
+    final CompletableActorFuture<Integer> done = new CompletableActorFuture<>();
+    actor
+        .control()
+        .run(
+            () -> {
+              final ActorControl executor = actor.control();
+              final CompletableActorFuture<Integer> step = new CompletableActorFuture<>();
+              step.map(value -> value + 1, executor)
+                  .map(value -> value + 1, executor)
+                  .map(value -> value + 1, executor)
+                  .onComplete((result, error) -> done.complete(result), executor);
+              step.complete(1);
+            });
+    return done.join();
+  }
+}
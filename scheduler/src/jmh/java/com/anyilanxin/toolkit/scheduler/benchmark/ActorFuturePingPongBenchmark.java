@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of an actor-to-actor round trip: the ping actor calls the pong actor and continues once
+ * the returned {@link ActorFuture} is completed. Sample time mode reports the p50/p99/p999
+ * percentiles.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = SchedulerBenchmarkState.ADD_EXPORTS)
+@State(Scope.Benchmark)
+public class ActorFuturePingPongBenchmark extends SchedulerBenchmarkState {
+  @Param({"1", "2", "4"})
+  public int cpuBoundThreads;
+
+  private BenchmarkActor ping;
+  private BenchmarkActor pong;
+
+  private final Runnable noop = () -> {};
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    startScheduler(cpuBoundThreads);
+    ping = new BenchmarkActor("ping");
+    pong = new BenchmarkActor("pong");
+    scheduler.submitActor(ping).join();
+    scheduler.submitActor(pong).join();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ping.close().join();
+    pong.close().join();
+    stopScheduler();
+  }
+
+  @Benchmark
+  public void pingPong() {
+    final CompletableActorFuture<Void> roundTrip = new CompletableActorFuture<>();
+
+    ping.control()
+        .run(
+            () ->
+                ping.control()
+                    .runOnCompletion(
+                        pong.control().call(noop), (result, error) -> roundTrip.complete(null)));
+
+    roundTrip.join();
+  }
+}
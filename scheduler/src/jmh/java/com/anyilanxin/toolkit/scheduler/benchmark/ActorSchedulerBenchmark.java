@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link com.anyilanxin.toolkit.scheduler.ActorScheduler#submitActor} covering the
+ * whole actor lifecycle: submit, wait until started, close and wait until closed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = SchedulerBenchmarkState.ADD_EXPORTS)
+@State(Scope.Benchmark)
+public class ActorSchedulerBenchmark extends SchedulerBenchmarkState {
+  @Param({"1", "4"})
+  public int cpuBoundThreads;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    startScheduler(cpuBoundThreads);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    stopScheduler();
+  }
+
+  @Benchmark
+  public void submitActor() {
+    final BenchmarkActor actor = new BenchmarkActor("submitted");
+    scheduler.submitActor(actor).join();
+    actor.close().join();
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resubmits an actor task over and over: the actor yields on every iteration of a {@code
+ * runUntilDone} loop, so each operation is one append to and one pop from the {@link
+ * com.anyilanxin.toolkit.scheduler.ActorTaskQueue} of the actor thread.
+ *
+ * <p>Run with {@code -prof gc}: the normalized allocation rate is the garbage produced per
+ * resubmit.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = SchedulerBenchmarkState.ADD_EXPORTS)
+@State(Scope.Benchmark)
+public class ActorTaskResubmitBenchmark extends SchedulerBenchmarkState {
+  static final int BATCH_SIZE = 10_000;
+
+  private BenchmarkActor actor;
+  private int remainingYields;
+  private CompletableActorFuture<Void> batchDone;
+
+  private final Runnable yieldLoop = this::yieldLoop;
+  private final Runnable yieldOnce = this::yieldOnce;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    startScheduler(1);
+    actor = new BenchmarkActor("yielding");
+    scheduler.submitActor(actor).join();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    actor.close().join();
+    stopScheduler();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void resubmit() {
+    batchDone = new CompletableActorFuture<>();
+    actor.control().run(yieldLoop);
+    batchDone.join();
+  }
+
+  private void yieldLoop() {
+    remainingYields = BATCH_SIZE;
+    actor.control().runUntilDone(yieldOnce);
+  }
+
+  private void yieldOnce() {
+    if (--remainingYields > 0) {
+      actor.control().handleYield();
+    } else {
+      actor.control().done();
+      batchDone.complete(null);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorControl;
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+
+/** Actor which gives the benchmarks access to its {@link ActorControl}. */
+class BenchmarkActor extends Actor {
+  private final String name;
+
+  BenchmarkActor(final String name) {
+    this.name = name;
+  }
+
+  ActorControl control() {
+    return actor;
+  }
+
+  ActorFuture<Void> close() {
+    return actor.close();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import com.anyilanxin.toolkit.scheduler.channel.ConcurrentQueueChannel;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Producer threads push small messages into a {@link ConcurrentQueueChannel} which is consumed by a
+ * single actor; each invocation waits until the actor consumed the whole batch. Compares offering
+ * single messages with {@link ConcurrentQueueChannel#offerAll}, and consuming one message per
+ * consumer job with {@link ConcurrentQueueChannel#drainTo} batches.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = SchedulerBenchmarkState.ADD_EXPORTS)
+@State(Scope.Benchmark)
+public class ChannelThroughputBenchmark extends SchedulerBenchmarkState {
+  static final int BATCH_SIZE = 64_000;
+  static final int OFFER_BATCH_SIZE = 32;
+
+  @Param({"1", "4"})
+  public int producers;
+
+  /** how many messages the consumer takes per job */
+  @Param({"1", "256"})
+  public int drainLimit;
+
+  private ExecutorService producerThreads;
+  private BenchmarkActor consumer;
+  private ConcurrentQueueChannel<Object> channel;
+  private List<Object> offerBatch;
+
+  private long counter;
+  private long target;
+  private CompletableActorFuture<Void> batchDone;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    startScheduler(1);
+    producerThreads = Executors.newFixedThreadPool(producers);
+    channel = new ConcurrentQueueChannel<>(new ConcurrentLinkedQueue<>());
+
+    offerBatch = new ArrayList<>(OFFER_BATCH_SIZE);
+    for (int i = 0; i < OFFER_BATCH_SIZE; i++) {
+      offerBatch.add(i);
+    }
+
+    consumer = new BenchmarkActor("consumer");
+    scheduler.submitActor(consumer).join();
+    consumer.control().call(() -> consumer.control().consume(channel, this::consume)).join();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    producerThreads.shutdownNow();
+    consumer.close().join();
+    stopScheduler();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void offer() {
+    final CompletableActorFuture<Void> done = startBatch();
+
+    final int messagesPerProducer = BATCH_SIZE / producers;
+    for (int p = 0; p < producers; p++) {
+      producerThreads.execute(
+          () -> {
+            for (int i = 0; i < messagesPerProducer; i++) {
+              channel.offer(i);
+            }
+          });
+    }
+
+    done.join();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void offerAll() {
+    final CompletableActorFuture<Void> done = startBatch();
+
+    final int batchesPerProducer = BATCH_SIZE / producers / OFFER_BATCH_SIZE;
+    for (int p = 0; p < producers; p++) {
+      producerThreads.execute(
+          () -> {
+            for (int i = 0; i < batchesPerProducer; i++) {
+              channel.offerAll(offerBatch);
+            }
+          });
+    }
+
+    done.join();
+  }
+
+  private CompletableActorFuture<Void> startBatch() {
+    final CompletableActorFuture<Void> done = new CompletableActorFuture<>();
+    consumer
+        .control()
+        .call(
+            () -> {
+              batchDone = done;
+              target = counter + BATCH_SIZE;
+            })
+        .join();
+    return done;
+  }
+
+  private void consume() {
+    channel.drainTo(this::onMessage, drainLimit);
+  }
+
+  private void onMessage(final Object message) {
+    if (++counter == target) {
+      batchDone.complete(null);
+    }
+  }
+}
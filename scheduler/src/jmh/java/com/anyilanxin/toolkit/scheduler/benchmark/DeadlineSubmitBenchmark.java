@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Wakes up idle actors with and without a deadline (see {@link
+ * com.anyilanxin.toolkit.scheduler.ActorControl#run(Runnable, Duration)}). Each wake up with a
+ * deadline is one add to and one poll from the deadline queue shared by all cpu bound threads, so
+ * the difference between the two benchmarks is the cost of that queue, including the contention of
+ * the threads on its lock.
+ *
+ * <p>Run with {@code -prof gc}: the difference of the normalized allocation rates is the garbage
+ * produced per deadline submission.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = SchedulerBenchmarkState.ADD_EXPORTS)
+@State(Scope.Benchmark)
+public class DeadlineSubmitBenchmark extends SchedulerBenchmarkState {
+  static final int ACTORS = 256;
+  static final Duration MAX_LATENCY = Duration.ofMillis(1);
+
+  @Param({"1", "4"})
+  public int cpuBoundThreads;
+
+  private final BenchmarkActor[] actors = new BenchmarkActor[ACTORS];
+  private final AtomicInteger remaining = new AtomicInteger();
+  private final Runnable countDown = this::countDown;
+  private CompletableActorFuture<Void> batchDone;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    startScheduler(cpuBoundThreads);
+    for (int i = 0; i < ACTORS; i++) {
+      actors[i] = new BenchmarkActor("actor-" + i);
+      scheduler.submitActor(actors[i]).join();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    for (final BenchmarkActor actor : actors) {
+      actor.close().join();
+    }
+    stopScheduler();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ACTORS)
+  public void wakeUp() {
+    startBatch();
+    for (final BenchmarkActor actor : actors) {
+      actor.control().run(countDown);
+    }
+    batchDone.join();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ACTORS)
+  public void wakeUpWithDeadline() {
+    startBatch();
+    for (final BenchmarkActor actor : actors) {
+      actor.control().run(countDown, MAX_LATENCY);
+    }
+    batchDone.join();
+  }
+
+  private void startBatch() {
+    batchDone = new CompletableActorFuture<>();
+    remaining.set(ACTORS);
+  }
+
+  private void countDown() {
+    if (remaining.decrementAndGet() == 0) {
+      batchDone.complete(null);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.future.AllCompletedFutureConsumer;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scatter/gather on one actor: waits on a fan-out of futures and completes them. Compares a
+ * subscription per future (with {@link AllCompletedFutureConsumer}) with {@code
+ * actor.runOnCompletion(Collection, Consumer)}, which waits on one aggregate future.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = SchedulerBenchmarkState.ADD_EXPORTS)
+@State(Scope.Benchmark)
+public class FutureFanOutBenchmark extends SchedulerBenchmarkState {
+  @Param({"100", "10000"})
+  public int fanOut;
+
+  private BenchmarkActor actor;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    startScheduler(1);
+    actor = new BenchmarkActor("gather");
+    scheduler.submitActor(actor).join();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    actor.close().join();
+    stopScheduler();
+  }
+
+  @Benchmark
+  public void subscriptionPerFuture() {
+    final CompletableActorFuture<Void> done = new CompletableActorFuture<>();
+    actor
+        .control()
+        .run(
+            () -> {
+              final List<ActorFuture<Integer>> futures = newFutures();
+              final BiConsumer<Integer, Throwable> consumer =
+                  new AllCompletedFutureConsumer<>(fanOut, failure -> done.complete(null));
+              for (final ActorFuture<Integer> future : futures) {
+                actor.control().runOnCompletion(future, consumer);
+              }
+              completeAll(futures);
+            });
+    done.join();
+  }
+
+  @Benchmark
+  public void aggregate() {
+    final CompletableActorFuture<Void> done = new CompletableActorFuture<>();
+    actor
+        .control()
+        .run(
+            () -> {
+              final List<ActorFuture<Integer>> futures = newFutures();
+              actor.control().runOnCompletion(futures, failure -> done.complete(null));
+              completeAll(futures);
+            });
+    done.join();
+  }
+
+  private List<ActorFuture<Integer>> newFutures() {
+    final List<ActorFuture<Integer>> futures = new ArrayList<>(fanOut);
+    for (int i = 0; i < fanOut; i++) {
+      futures.add(new CompletableActorFuture<>());
+    }
+    return futures;
+  }
+
+  private static void completeAll(final List<ActorFuture<Integer>> futures) {
+    for (int i = 0; i < futures.size(); i++) {
+      futures.get(i).complete(i);
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import com.anyilanxin.toolkit.scheduler.ActorPriority;
+import com.anyilanxin.toolkit.scheduler.MailboxOverflowStrategy;
+import com.anyilanxin.toolkit.scheduler.MailboxSettings;
+import com.anyilanxin.toolkit.scheduler.SchedulingHints;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Fan-in of many producer threads into the mailbox of a single actor: each invocation lets the
+ * producers submit a batch of jobs with {@link com.anyilanxin.toolkit.scheduler.ActorControl#run}
+ * and waits until the actor executed all of them. Compares the default linked mailbox with the ring
+ * buffer mailbox.
+ *
+ * <p>Run with {@code -prof gc} to see the allocation rate per submitted job.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = SchedulerBenchmarkState.ADD_EXPORTS)
+@State(Scope.Benchmark)
+public class MailboxFanInBenchmark extends SchedulerBenchmarkState {
+  static final int BATCH_SIZE = 16_000;
+
+  @Param({"1", "4", "16"})
+  public int producers;
+
+  @Param({"LINKED", "RING"})
+  public String mailbox;
+
+  private ExecutorService producerThreads;
+  private BenchmarkActor receiver;
+
+  private long counter;
+  private long target;
+  private CompletableActorFuture<Void> batchDone;
+
+  private final Runnable increment = this::increment;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    startScheduler(1);
+    producerThreads = Executors.newFixedThreadPool(producers);
+
+    // the mailbox can hold a whole batch, so no job is rejected
+    final MailboxSettings mailboxSettings =
+        "RING".equals(mailbox)
+            ? MailboxSettings.bounded(BATCH_SIZE, MailboxOverflowStrategy.REJECT).withRingBuffer()
+            : MailboxSettings.unbounded();
+
+    receiver = new BenchmarkActor("receiver");
+    scheduler
+        .submitActor(receiver, SchedulingHints.cpuBound(ActorPriority.REGULAR), mailboxSettings)
+        .join();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    producerThreads.shutdownNow();
+    receiver.close().join();
+    stopScheduler();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public void fanIn() {
+    final CompletableActorFuture<Void> done = new CompletableActorFuture<>();
+    receiver.control().call(() -> startBatch(done)).join();
+
+    final int jobsPerProducer = BATCH_SIZE / producers;
+    for (int p = 0; p < producers; p++) {
+      producerThreads.execute(
+          () -> {
+            for (int i = 0; i < jobsPerProducer; i++) {
+              receiver.control().run(increment);
+            }
+          });
+    }
+
+    done.join();
+  }
+
+  private void startBatch(final CompletableActorFuture<Void> done) {
+    batchDone = done;
+    target = counter + BATCH_SIZE;
+  }
+
+  private void increment() {
+    if (++counter == target) {
+      batchDone.complete(null);
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import com.anyilanxin.toolkit.scheduler.ActorScheduler;
+import com.anyilanxin.toolkit.scheduler.ActorScheduler.ActorSchedulerBuilder;
+import com.anyilanxin.toolkit.scheduler.FutureUtil;
+import java.util.function.UnaryOperator;
+
+/**
+ * Base class of the benchmark states: starts a scheduler with the given number of cpu bound threads
+ * and stops it again after the trial.
+ */
+public abstract class SchedulerBenchmarkState {
+  /** JVM flag required by agrona to access the jdk internal unsafe in the forked benchmark JVM. */
+  public static final String ADD_EXPORTS = "--add-exports=java.base/jdk.internal.misc=ALL-UNNAMED";
+
+  protected ActorScheduler scheduler;
+
+  protected void startScheduler(final int cpuBoundThreads) {
+    startScheduler(cpuBoundThreads, UnaryOperator.identity());
+  }
+
+  /**
+   * @param configure applies the settings under test to the builder
+   */
+  protected void startScheduler(
+      final int cpuBoundThreads, final UnaryOperator<ActorSchedulerBuilder> configure) {
+    final ActorSchedulerBuilder builder =
+        ActorScheduler.newActorScheduler()
+            .setSchedulerName("jmh")
+            .setCpuBoundActorThreadCount(cpuBoundThreads)
+            .setIoBoundActorThreadCount(1);
+
+    scheduler = configure.apply(builder).build();
+    scheduler.start();
+  }
+
+  protected void stopScheduler() {
+    FutureUtil.join(scheduler.stop());
+    scheduler = null;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Accuracy of {@link com.anyilanxin.toolkit.scheduler.ActorControl#runDelayed}: measures the time
+ * from scheduling a timer until its runnable is executed. The difference between the reported
+ * percentiles and {@link #delayMillis} is the lateness of the timer.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = SchedulerBenchmarkState.ADD_EXPORTS)
+@State(Scope.Benchmark)
+public class TimerAccuracyBenchmark extends SchedulerBenchmarkState {
+  @Param({"1", "10"})
+  public long delayMillis;
+
+  private BenchmarkActor timerActor;
+  private Duration delay;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    startScheduler(1);
+    delay = Duration.ofMillis(delayMillis);
+    timerActor = new BenchmarkActor("timer");
+    scheduler.submitActor(timerActor).join();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    timerActor.close().join();
+    stopScheduler();
+  }
+
+  @Benchmark
+  public void runDelayed() {
+    final CompletableActorFuture<Void> fired = new CompletableActorFuture<>();
+
+    timerActor
+        .control()
+        .run(() -> timerActor.control().runDelayed(delay, () -> fired.complete(null)));
+
+    fired.join();
+  }
+}
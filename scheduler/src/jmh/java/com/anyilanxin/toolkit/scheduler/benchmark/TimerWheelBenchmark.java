@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import com.anyilanxin.toolkit.scheduler.ActorJob;
+import com.anyilanxin.toolkit.scheduler.ActorTimerQueue;
+import com.anyilanxin.toolkit.scheduler.HierarchicalActorTimerQueue;
+import com.anyilanxin.toolkit.scheduler.TimerQueue;
+import com.anyilanxin.toolkit.scheduler.TimerSubscription;
+import com.anyilanxin.toolkit.scheduler.clock.ControlledActorClock;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Timer queues with many outstanding timers: {@link #timers} timers with deadlines spread over ten
+ * minutes, every expired timer is scheduled again so the number stays constant. Measures scheduling
+ * plus cancelling a timer (e.g. a timeout which is not hit) and advancing the clock by one
+ * millisecond, including the expiry of the timers due in it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(
+    value = 1,
+    jvmArgsAppend = {SchedulerBenchmarkState.ADD_EXPORTS, "-Xmx2g"})
+@State(Scope.Benchmark)
+public class TimerWheelBenchmark {
+  private static final long START_TIME = 1_000_000;
+  private static final int MAX_DELAY_MILLIS = (int) TimeUnit.MINUTES.toMillis(10);
+  private static final int SPARE_TIMERS = 1024;
+
+  @Param({"1000000"})
+  public int timers;
+
+  @Param({"wheel", "hierarchical"})
+  public String queueType;
+
+  private final ControlledActorClock clock = new ControlledActorClock();
+  private final ActorJob job = new ActorJob();
+
+  private TimerQueue queue;
+  private RecurringTimer[] spareTimers;
+  private int nextSpareTimer;
+  private long now;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    now = START_TIME;
+    clock.setCurrentTime(now);
+    queue =
+        "hierarchical".equals(queueType)
+            ? new HierarchicalActorTimerQueue(clock)
+            : new ActorTimerQueue(clock);
+
+    final Random random = new Random(42);
+    for (int i = 0; i < timers; i++) {
+      queue.schedule(new RecurringTimer(1 + random.nextInt(MAX_DELAY_MILLIS)), clock);
+    }
+
+    spareTimers = new RecurringTimer[SPARE_TIMERS];
+    for (int i = 0; i < SPARE_TIMERS; i++) {
+      spareTimers[i] = new RecurringTimer(1 + random.nextInt(MAX_DELAY_MILLIS));
+    }
+  }
+
+  @Benchmark
+  public void scheduleAndCancel() {
+    final RecurringTimer timer = spareTimers[nextSpareTimer++ & (SPARE_TIMERS - 1)];
+    queue.schedule(timer, clock);
+    queue.remove(timer);
+  }
+
+  @Benchmark
+  public void advanceOneMillisecond() {
+    clock.setCurrentTime(++now);
+    queue.processExpiredTimers(clock);
+  }
+
+  private final class RecurringTimer extends TimerSubscription {
+    RecurringTimer(final long delayMillis) {
+      super(job, delayMillis, TimeUnit.MILLISECONDS, true);
+    }
+
+    @Override
+    public void onTimerExpired(final TimeUnit timeUnit, final long now) {
+      queue.schedule(this, clock);
+    }
+  }
+}
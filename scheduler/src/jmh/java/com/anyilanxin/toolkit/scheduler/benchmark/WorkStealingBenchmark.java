@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.benchmark;
+
+import com.anyilanxin.toolkit.scheduler.StealPolicy;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Work stealing under skewed load: a single producer actor wakes up all worker actors. Since the
+ * wakeups are submitted from the producer's actor thread, all workers end up in the queue of that
+ * thread and the other threads of the {@link com.anyilanxin.toolkit.scheduler.WorkStealingGroup}
+ * only get work by stealing. Measures the time until all workers are done, for each {@link
+ * StealPolicy}, with and without stealing half of the victim's tasks at once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = SchedulerBenchmarkState.ADD_EXPORTS)
+@State(Scope.Benchmark)
+public class WorkStealingBenchmark extends SchedulerBenchmarkState {
+  @Param({"1", "2", "4", "8"})
+  public int cpuBoundThreads;
+
+  @Param({"RANDOM", "RANDOM_HALF", "MOST_LOADED", "MOST_LOADED_HALF"})
+  public String stealing;
+
+  @Param({"64"})
+  public int workerCount;
+
+  /** cpu work per worker job, see {@link Blackhole#consumeCPU(long)} */
+  @Param({"1000"})
+  public long tokens;
+
+  private BenchmarkActor producer;
+  private BenchmarkActor[] workers;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    final boolean stealHalf = stealing.endsWith("_HALF");
+    final StealPolicy stealPolicy = StealPolicy.valueOf(stealing.replace("_HALF", ""));
+    startScheduler(
+        cpuBoundThreads, builder -> builder.setStealPolicy(stealPolicy).setStealHalf(stealHalf));
+
+    producer = new BenchmarkActor("producer");
+    scheduler.submitActor(producer).join();
+
+    workers = new BenchmarkActor[workerCount];
+    for (int i = 0; i < workerCount; i++) {
+      workers[i] = new BenchmarkActor("worker-" + i);
+      scheduler.submitActor(workers[i]).join();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    for (final BenchmarkActor worker : workers) {
+      worker.close().join();
+    }
+    producer.close().join();
+    stopScheduler();
+  }
+
+  @Benchmark
+  public void skewedFanOut() {
+    final CompletableActorFuture<Void> done = new CompletableActorFuture<>();
+    final AtomicInteger remaining = new AtomicInteger(workers.length);
+
+    final Runnable work =
+        () -> {
+          Blackhole.consumeCPU(tokens);
+          if (remaining.decrementAndGet() == 0) {
+            done.complete(null);
+          }
+        };
+
+    producer
+        .control()
+        .run(
+            () -> {
+              for (final BenchmarkActor worker : workers) {
+                worker.control().run(work);
+              }
+            });
+
+    done.join();
+  }
+}
@@ -21,18 +21,22 @@ import com.anyilanxin.toolkit.scheduler.channel.ChannelConsumerCondition;
 import com.anyilanxin.toolkit.scheduler.channel.ChannelSubscription;
 import com.anyilanxin.toolkit.scheduler.channel.ConsumableChannel;
 import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
-import com.anyilanxin.toolkit.scheduler.future.AllCompletedFutureConsumer;
+import com.anyilanxin.toolkit.scheduler.future.AggregateActorFuture;
 import com.anyilanxin.toolkit.scheduler.future.FirstSuccessfullyCompletedFutureConsumer;
 import com.anyilanxin.toolkit.scheduler.future.FutureContinuationRunnable;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
-public class ActorControl {
+public class ActorControl implements Executor {
   private final Actor actor;
 
   final ActorTask task;
@@ -120,17 +124,13 @@ public class ActorControl {
    */
   @SuppressWarnings("unchecked")
   public <T> ActorFuture<T> call(final Callable<T> callable) {
-    final ActorThread runner = ActorThread.current();
-    if (runner != null && runner.getCurrentTask() == task) {
-      throw new UnsupportedOperationException(
-          "Incorrect usage of actor.call(...) cannot be called from current actor.");
-    }
+    ensureCalledFromOtherActor("call(...)");
 
     final ActorJob job = new ActorJob();
     final ActorFuture<T> future = job.setCallable(callable);
     job.onJobAddedToTask(task);
     job.setAutoCompleting(true);
-    task.submit(job);
+    submitToMailbox(job);
 
     return future;
   }
@@ -152,6 +152,58 @@ public class ActorControl {
     return call(c);
   }
 
+  /**
+   * Submits all actions to the actor at once, with a single wakeup of the actor. The actions are
+   * executed in iteration order, as separate jobs, while the actor is in the following actor
+   * lifecycle phases: {@link ActorLifecyclePhase#STARTED}
+   *
+   * <p>If the mailbox of the actor is bounded, the batch is only submitted if the mailbox has
+   * capacity left for all actions.
+   *
+   * @param actions the actions to run
+   * @return a future which is completed when all actions are executed, or completed exceptionally
+   *     with the first failure
+   */
+  public ActorFuture<Void> runAll(final Collection<? extends Runnable> actions) {
+    ensureCalledFromOtherActor("runAll(...)");
+
+    final ActorJobBatch<Void> batch = ActorJobBatch.ofRunnables(actions.size());
+    final List<ActorJob> jobs = new ArrayList<>(actions.size());
+    for (final Runnable action : actions) {
+      final ActorJob job = new ActorJob();
+      job.setRunnable(action);
+      jobs.add(job);
+    }
+
+    return submitAllToMailbox(jobs, batch);
+  }
+
+  /**
+   * Submits all callables to the actor at once, with a single wakeup of the actor. The callables
+   * are called in iteration order, as separate jobs, while the actor is in the following actor
+   * lifecycle phases: {@link ActorLifecyclePhase#STARTED}
+   *
+   * <p>If the mailbox of the actor is bounded, the batch is only submitted if the mailbox has
+   * capacity left for all callables.
+   *
+   * @param callables the callables to call
+   * @return a future which is completed with the results in iteration order when all callables are
+   *     called, or completed exceptionally with the first failure
+   */
+  public <T> ActorFuture<List<T>> callAll(final Collection<? extends Callable<T>> callables) {
+    ensureCalledFromOtherActor("callAll(...)");
+
+    final ActorJobBatch<List<T>> batch = ActorJobBatch.ofCallables(callables.size());
+    final List<ActorJob> jobs = new ArrayList<>(callables.size());
+    for (final Callable<T> callable : callables) {
+      final ActorJob job = new ActorJob();
+      job.setBatchCallable(callable);
+      jobs.add(job);
+    }
+
+    return submitAllToMailbox(jobs, batch);
+  }
+
   /**
    * Runnables submitted by the actor itself are executed while the actor is in any of its lifecycle
    * phases.
@@ -165,6 +217,33 @@ public class ActorControl {
     scheduleRunnable(action, true);
   }
 
+  /**
+   * Like {@link #run(Runnable)}, but the action should start within the given latency. As long as
+   * such a job is pending, a CPU bound actor is scheduled earliest deadline first, ahead of all
+   * priority classes, when it is woken up or yields. A job which starts late is counted as deadline
+   * miss in the metrics of the actor.
+   *
+   * <p>If the actor is already queued, it keeps its place in the queue. If the action is submitted
+   * by the actor itself, it runs right after the current job anyway and the latency is ignored.
+   *
+   * @param action the action to run
+   * @param maxLatency the time after which the action should have started
+   */
+  public void run(final Runnable action, final Duration maxLatency) {
+    final ActorThread currentActorThread = ActorThread.current();
+
+    if (currentActorThread != null && currentActorThread.getCurrentTask() == task) {
+      scheduleRunnable(action, true);
+    } else {
+      final ActorJob job = new ActorJob();
+      job.setRunnable(action);
+      job.setAutoCompleting(true);
+      job.setDeadline(System.nanoTime() + maxLatency.toNanos());
+      job.onJobAddedToTask(task);
+      submitToMailbox(job);
+    }
+  }
+
   /**
    * run a blocking task
    *
@@ -231,7 +310,17 @@ public class ActorControl {
    */
   public ScheduledTimer runDelayed(final Duration delay, final Runnable runnable) {
     ensureCalledFromWithinActor("runDelayed(...)");
-    return scheduleTimer(delay, false, runnable);
+    return scheduleTimer(delay.toNanos(), false, runnable);
+  }
+
+  /**
+   * Like {@link #runDelayed(Duration, Runnable)}, for callers which compute the delay and want to
+   * avoid creating a {@link Duration} each time.
+   */
+  public ScheduledTimer runDelayed(
+      final long delay, final TimeUnit timeUnit, final Runnable runnable) {
+    ensureCalledFromWithinActor("runDelayed(...)");
+    return scheduleTimer(timeUnit.toNanos(delay), false, runnable);
   }
 
   /**
@@ -258,7 +347,12 @@ public class ActorControl {
     job.setRunnable(action);
     job.setAutoCompleting(true);
     job.onJobAddedToTask(task);
-    task.submit(job);
+
+    if (currentTask == task) {
+      task.submit(job);
+    } else {
+      submitToMailbox(job);
+    }
 
     if (currentTask == task) {
       handleYield();
@@ -277,17 +371,17 @@ public class ActorControl {
    */
   public ScheduledTimer runAtFixedRate(final Duration delay, final Runnable runnable) {
     ensureCalledFromWithinActor("runAtFixedRate(...)");
-    return scheduleTimer(delay, true, runnable);
+    return scheduleTimer(delay.toNanos(), true, runnable);
   }
 
   private TimerSubscription scheduleTimer(
-      final Duration delay, final boolean isRecurring, final Runnable runnable) {
+      final long delayNanos, final boolean isRecurring, final Runnable runnable) {
     final ActorJob job = new ActorJob();
     job.setRunnable(runnable);
     job.onJobAddedToTask(task);
 
     final TimerSubscription timerSubscription =
-        new TimerSubscription(job, delay.toNanos(), TimeUnit.NANOSECONDS, isRecurring);
+        new TimerSubscription(job, delayNanos, TimeUnit.NANOSECONDS, isRecurring);
     job.setSubscription(timerSubscription);
 
     timerSubscription.submit();
@@ -373,6 +467,9 @@ public class ActorControl {
    * <p>The callback is is executed while the actor is in the following actor lifecycle phases:
    * {@link ActorLifecyclePhase#STARTED}
    *
+   * <p>The actor waits on one {@link AggregateActorFuture}, so only one subscription is added
+   * regardless of the number of futures.
+   *
    * @param futures the futures to wait on
    * @param callback The throwable is <code>null</code> when all futures are completed successfully.
    *     Otherwise, it holds the exception of the last completed future.
@@ -380,12 +477,9 @@ public class ActorControl {
   public <T> void runOnCompletion(
       final Collection<ActorFuture<T>> futures, final Consumer<Throwable> callback) {
     if (!futures.isEmpty()) {
-      final BiConsumer<T, Throwable> futureConsumer =
-          new AllCompletedFutureConsumer<>(futures.size(), callback);
-
-      for (final ActorFuture<T> future : futures) {
-        runOnCompletion(future, futureConsumer);
-      }
+      runOnCompletion(
+          AggregateActorFuture.allCompleted(futures),
+          (result, failure) -> callback.accept(failure));
     } else {
       callback.accept(null);
     }
@@ -466,10 +560,80 @@ public class ActorControl {
       job.setRunnable(runnable);
       job.setAutoCompleting(autocompleting);
       job.onJobAddedToTask(task);
-      task.submit(job);
+      submitToMailbox(job);
     }
   }
 
+  private void submitToMailbox(final ActorJob job) {
+    if (!task.trySubmit(job)) {
+      final RejectedExecutionException exception =
+          new RejectedExecutionException(
+              String.format(
+                  "Expected to submit job to actor '%s', but its mailbox is full (capacity %d)",
+                  task.getName(), task.getMailboxSettings().getCapacity()));
+
+      if (task.getMailboxSettings().getOverflowStrategy() == MailboxOverflowStrategy.REJECT) {
+        throw exception;
+      } else {
+        job.failFuture(exception);
+      }
+    }
+  }
+
+  private <R> ActorFuture<R> submitAllToMailbox(
+      final List<ActorJob> jobs, final ActorJobBatch<R> batch) {
+    if (jobs.isEmpty()) {
+      return batch.getFuture();
+    }
+
+    for (int i = 0; i < jobs.size(); i++) {
+      final ActorJob job = jobs.get(i);
+      job.onJobAddedToTask(task);
+      job.setAutoCompleting(true);
+      job.setBatch(batch, i);
+    }
+
+    if (!task.trySubmitAll(jobs)) {
+      final RejectedExecutionException exception =
+          new RejectedExecutionException(
+              String.format(
+                  "Expected to submit %d jobs to actor '%s', but its mailbox has not enough"
+                      + " capacity left (capacity %d)",
+                  jobs.size(), task.getName(), task.getMailboxSettings().getCapacity()));
+
+      if (task.getMailboxSettings().getOverflowStrategy() == MailboxOverflowStrategy.REJECT) {
+        throw exception;
+      } else {
+        batch.onJobFailed(exception);
+      }
+    }
+
+    return batch.getFuture();
+  }
+
+  /**
+   * Registers a condition which is signaled when the mailbox of this actor fills up to its high
+   * watermark and when it is drained to its low watermark again (see {@link MailboxSettings}), so
+   * that producers can pause and resume submitting jobs. Can be called from any thread.
+   *
+   * @see #isMailboxAboveHighWatermark()
+   */
+  public void registerMailboxListener(final ActorCondition listener) {
+    task.registerMailboxListener(listener);
+  }
+
+  public void removeMailboxListener(final ActorCondition listener) {
+    task.removeMailboxListener(listener);
+  }
+
+  /**
+   * @return true if the mailbox of this actor reached its high watermark and was not drained to its
+   *     low watermark since. Can be called from any thread.
+   */
+  public boolean isMailboxAboveHighWatermark() {
+    return task.isMailboxAboveHighWatermark();
+  }
+
   public void done() {
     final ActorJob job = ensureCalledFromWithinActor("done()");
     job.markDone();
@@ -494,6 +658,23 @@ public class ActorControl {
     return job != null && job.getActor() == actor;
   }
 
+  /**
+   * @return true if the current thread is an actor thread which executes a job of this actor
+   */
+  public boolean isCalledFromWithinActor() {
+    final ActorThread thread = ActorThread.current();
+    return thread != null && thread.getCurrentTask() == task;
+  }
+
+  /**
+   * Runs the command like {@link #run(Runnable)}, so the actor can be used as executor of future
+   * continuations (see {@link ActorFuture#onComplete(BiConsumer, Executor)}).
+   */
+  @Override
+  public void execute(final Runnable command) {
+    run(command);
+  }
+
   private ActorJob ensureCalledFromWithinActor(final String methodName) {
     final ActorJob currentJob = ensureCalledFromActorThread(methodName).getCurrentJob();
     if (!isCalledFromWithinActor(currentJob)) {
@@ -506,6 +687,14 @@ public class ActorControl {
     return currentJob;
   }
 
+  private void ensureCalledFromOtherActor(final String methodName) {
+    final ActorThread runner = ActorThread.current();
+    if (runner != null && runner.getCurrentTask() == task) {
+      throw new UnsupportedOperationException(
+          "Incorrect usage of actor." + methodName + " cannot be called from current actor.");
+    }
+  }
+
   private ActorThread ensureCalledFromActorThread(final String methodName) {
     final ActorThread thread = ActorThread.current();
 
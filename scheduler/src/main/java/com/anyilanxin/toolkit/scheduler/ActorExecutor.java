@@ -18,9 +18,13 @@ package com.anyilanxin.toolkit.scheduler;
 
 import com.anyilanxin.toolkit.scheduler.ActorScheduler.ActorSchedulerBuilder;
 import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.metrics.ActorSchedulerMetrics;
+import com.anyilanxin.toolkit.scheduler.recorder.FlightRecorder;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -30,14 +34,36 @@ import java.util.concurrent.TimeUnit;
 public class ActorExecutor {
   private final ActorThreadGroup cpuBoundThreads;
   private final ActorThreadGroup ioBoundThreads;
-  private final ThreadPoolExecutor blockingTasksRunner;
+  private final ExecutorService blockingTasksRunner;
   private Duration blockingTasksShutdownTime;
+  private final ActorSchedulerMetrics metrics;
+
+  /** null if stall detection is disabled */
+  private final ActorStallWatchdog stallWatchdog;
 
   public ActorExecutor(final ActorSchedulerBuilder builder) {
     ioBoundThreads = builder.getIoBoundActorThreads();
     cpuBoundThreads = builder.getCpuBoundActorThreads();
-    blockingTasksRunner = builder.getBlockingTasksRunner();
+    blockingTasksRunner = builder.getBlockingTasksExecutor();
     blockingTasksShutdownTime = builder.getBlockingTasksShutdownTime();
+    metrics = builder.getMetrics();
+
+    if (builder.isStallDetectionEnabled()) {
+      final ActorThread[] threads =
+          new ActorThread[cpuBoundThreads.threads.length + ioBoundThreads.threads.length];
+      System.arraycopy(cpuBoundThreads.threads, 0, threads, 0, cpuBoundThreads.threads.length);
+      System.arraycopy(
+          ioBoundThreads.threads,
+          0,
+          threads,
+          cpuBoundThreads.threads.length,
+          ioBoundThreads.threads.length);
+      stallWatchdog =
+          new ActorStallWatchdog(
+              builder.getSchedulerName(), threads, builder.getStallDetectionThreshold());
+    } else {
+      stallWatchdog = null;
+    }
   }
 
   /**
@@ -72,11 +98,19 @@ public class ActorExecutor {
   public void start() {
     cpuBoundThreads.start();
     ioBoundThreads.start();
+
+    if (stallWatchdog != null) {
+      stallWatchdog.start();
+    }
   }
 
   public CompletableFuture<Void> closeAsync() {
     blockingTasksRunner.shutdown();
 
+    if (stallWatchdog != null) {
+      stallWatchdog.stop();
+    }
+
     final CompletableFuture<Void> resultFuture =
         CompletableFuture.allOf(ioBoundThreads.closeAsync(), cpuBoundThreads.closeAsync());
 
@@ -98,6 +132,27 @@ public class ActorExecutor {
     return ioBoundThreads;
   }
 
+  /**
+   * @return the flight recorders of all actor threads, empty if the flight recorder is disabled
+   */
+  public List<FlightRecorder> getFlightRecorders() {
+    final List<FlightRecorder> recorders = new ArrayList<>();
+    cpuBoundThreads.collectFlightRecorders(recorders);
+    ioBoundThreads.collectFlightRecorders(recorders);
+    return recorders;
+  }
+
+  /**
+   * @return the watchdog which reports stalled actor threads or null if it is disabled
+   */
+  public ActorStallWatchdog getStallWatchdog() {
+    return stallWatchdog;
+  }
+
+  public ActorSchedulerMetrics getMetrics() {
+    return metrics;
+  }
+
   public Duration getBlockingTasksShutdownTime() {
     return blockingTasksShutdownTime;
   }
@@ -40,6 +40,12 @@ public class ActorJob {
 
   private ActorSubscription subscription;
 
+  private ActorJobBatch<?> batch;
+  private int batchIndex;
+
+  private boolean hasDeadline;
+  private long deadlineNanos;
+
   public void onJobAddedToTask(final ActorTask task) {
     actor = task.actor;
     this.task = task;
@@ -56,6 +62,11 @@ public class ActorJob {
         resultFuture = null;
       }
 
+      if (batch != null) {
+        batch.onJobCompleted(batchIndex, invocationResult);
+        batch = null;
+      }
+
     } catch (final Throwable e) {
       task.onFailure(e);
     } finally {
@@ -75,7 +86,11 @@ public class ActorJob {
       invocationResult = callable.call();
     } else {
       if (!isTriggeredBySubscription()) {
-        // TODO: preempt after fixed number of iterations
+        final int iterationBudget = actorThread.jobIterationBudget;
+        final long timeBudgetNanos = actorThread.jobTimeBudgetNanos;
+        final long startNanos = timeBudgetNanos > 0 ? System.nanoTime() : 0;
+        int iterations = 0;
+
         while (runnable != null && !task.shouldYield && !isDoneCalled) {
           final Runnable r = runnable;
 
@@ -84,6 +99,16 @@ public class ActorJob {
           }
 
           r.run();
+
+          iterations++;
+          if ((iterationBudget > 0 && iterations >= iterationBudget)
+              || (timeBudgetNanos > 0 && System.nanoTime() - startNanos >= timeBudgetNanos)) {
+            // preempt the job: it stays queued and the task is re-enqueued, like on backpressure
+            if (runnable != null && !task.shouldYield && !isDoneCalled) {
+              task.onJobPreempted();
+            }
+            break;
+          }
         }
       } else {
         runnable.run();
@@ -101,6 +126,32 @@ public class ActorJob {
     return resultFuture;
   }
 
+  /** sets a callable whose result is reported to the batch of the job, see {@link #setBatch} */
+  void setBatchCallable(final Callable<?> callable) {
+    this.callable = callable;
+  }
+
+  /**
+   * @param deadlineNanos the {@link System#nanoTime()} by which the job should have started
+   */
+  void setDeadline(final long deadlineNanos) {
+    this.deadlineNanos = deadlineNanos;
+    hasDeadline = true;
+  }
+
+  boolean hasDeadline() {
+    return hasDeadline;
+  }
+
+  long getDeadlineNanos() {
+    return deadlineNanos;
+  }
+
+  /** called when the job is started, the deadline only applies to the first invocation */
+  void clearDeadline() {
+    hasDeadline = false;
+  }
+
   /** used to recycle the job object */
   void reset() {
     schedulingState = TaskSchedulingState.NOT_SCHEDULED;
@@ -118,12 +169,16 @@ public class ActorJob {
 
     resultFuture = null;
     subscription = null;
+    batch = null;
+    batchIndex = 0;
+    hasDeadline = false;
   }
 
   public void markDone() {
     if (isAutoCompleting) {
       throw new UnsupportedOperationException(
-          "Incorrect use of actor.done(). Can only be called in methods submitted using actor.runUntilDone(Runnable r)");
+          "Incorrect use of actor.done(). Can only be called in methods submitted using"
+              + " actor.runUntilDone(Runnable r)");
     }
 
     isDoneCalled = true;
@@ -179,9 +234,25 @@ public class ActorJob {
     failFuture(new RuntimeException(reason));
   }
 
+  /**
+   * Reports the completion of this job to the given batch instead of a result future.
+   *
+   * @param index the position of the job in the batch
+   */
+  void setBatch(final ActorJobBatch<?> batch, final int index) {
+    this.batch = batch;
+    batchIndex = index;
+  }
+
   public void failFuture(final Throwable cause) {
     if (resultFuture != null) {
       resultFuture.completeExceptionally(cause);
     }
+
+    final ActorJobBatch<?> batch = this.batch;
+    if (batch != null) {
+      this.batch = null;
+      batch.onJobFailed(cause);
+    }
   }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tracks the jobs which were submitted together by {@link ActorControl#runAll} or {@link
+ * ActorControl#callAll}, and completes one future when all of them are executed. The future is
+ * completed exceptionally with the first failure of a job.
+ *
+ * <p>The jobs report to the batch themselves (see {@link ActorJob#setBatch(ActorJobBatch, int)}),
+ * so no result future is allocated per job.
+ *
+ * @param <R> the type of the aggregated result
+ */
+final class ActorJobBatch<R> {
+  private static final VarHandle PENDING_VAR_HANDLE;
+
+  static {
+    try {
+      PENDING_VAR_HANDLE =
+          MethodHandles.lookup().findVarHandle(ActorJobBatch.class, "pending", int.class);
+    } catch (final Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private final CompletableActorFuture<R> future = new CompletableActorFuture<>();
+
+  /** the results of the jobs in submission order, or null if the results are not collected */
+  private final Object[] results;
+
+  /** the number of jobs which are not executed yet, or -1 if the batch failed */
+  private volatile int pending;
+
+  private ActorJobBatch(final int size, final boolean collectResults) {
+    results = collectResults ? new Object[size] : null;
+    pending = size;
+
+    if (size == 0) {
+      complete();
+    }
+  }
+
+  /** creates a batch which completes with {@code null} */
+  static ActorJobBatch<Void> ofRunnables(final int size) {
+    return new ActorJobBatch<>(size, false);
+  }
+
+  /** creates a batch which completes with the results of the jobs, in submission order */
+  static <T> ActorJobBatch<List<T>> ofCallables(final int size) {
+    return new ActorJobBatch<>(size, true);
+  }
+
+  ActorFuture<R> getFuture() {
+    return future;
+  }
+
+  void onJobCompleted(final int index, final Object result) {
+    if (results != null) {
+      // the jobs are executed by the actor thread one after another, the last one publishes the
+      // results with the decrement below
+      results[index] = result;
+    }
+
+    if ((int) PENDING_VAR_HANDLE.getAndAdd(this, -1) == 1) {
+      complete();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void complete() {
+    future.complete(
+        results != null ? (R) Collections.unmodifiableList(Arrays.asList(results)) : null);
+  }
+
+  void onJobFailed(final Throwable failure) {
+    if ((int) PENDING_VAR_HANDLE.getAndSet(this, -1) > 0) {
+      future.completeExceptionally(failure);
+    }
+  }
+}
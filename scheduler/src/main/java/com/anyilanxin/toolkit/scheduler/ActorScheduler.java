@@ -18,19 +18,30 @@ package com.anyilanxin.toolkit.scheduler;
 
 import com.anyilanxin.toolkit.scheduler.clock.ActorClock;
 import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.metrics.ActorSchedulerMetrics;
+import com.anyilanxin.toolkit.scheduler.metrics.SchedulerMetricsExporter;
+import com.anyilanxin.toolkit.scheduler.recorder.FlightRecorder;
+import com.anyilanxin.toolkit.scheduler.recorder.FlightRecorderEvent;
+import java.io.IOException;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.agrona.concurrent.IdleStrategy;
 
 public class ActorScheduler {
   private final AtomicReference<SchedulerState> state = new AtomicReference<>();
   private final ActorExecutor actorTaskExecutor;
+  private final PriorityWeights priorityWeights;
 
   public ActorScheduler(final ActorSchedulerBuilder builder) {
     state.set(SchedulerState.NEW);
     actorTaskExecutor = builder.getActorExecutor();
+    priorityWeights = builder.getPriorityWeights();
   }
 
   /**
@@ -72,6 +83,20 @@ public class ActorScheduler {
     return startingFuture;
   }
 
+  /**
+   * Like {@link #submitActor(Actor, int)}, additionally limiting the number of jobs which can be
+   * submitted to the actor before it picks them up.
+   *
+   * @param actor the actor to submit
+   * @param schedulingHints additional scheduling hint
+   * @param mailboxSettings the capacity and watermarks of the actor's mailbox
+   */
+  public ActorFuture<Void> submitActor(
+      final Actor actor, final int schedulingHints, final MailboxSettings mailboxSettings) {
+    actor.actor.task.setMailboxSettings(mailboxSettings);
+    return submitActor(actor, schedulingHints);
+  }
+
   public void start() {
     if (state.compareAndSet(SchedulerState.NEW, SchedulerState.RUNNING)) {
       actorTaskExecutor.start();
@@ -98,6 +123,61 @@ public class ActorScheduler {
     actorTaskExecutor.setBlockingTasksShutdownTime(shutdownTime);
   }
 
+  /**
+   * @return the metrics of this scheduler or null if metrics are not enabled
+   */
+  public ActorSchedulerMetrics getMetrics() {
+    return actorTaskExecutor.getMetrics();
+  }
+
+  /**
+   * Passes the current metrics of all threads and actors to the given exporter. Does nothing if
+   * metrics are not enabled.
+   */
+  public void exportMetrics(final SchedulerMetricsExporter exporter) {
+    final ActorSchedulerMetrics metrics = actorTaskExecutor.getMetrics();
+    if (metrics != null) {
+      metrics.export(exporter);
+    }
+  }
+
+  /**
+   * @return the weights of the priority classes of the CPU bound actors, which can be changed at
+   *     runtime, and the CPU share each priority class achieved; or null if weighted fair
+   *     scheduling is not enabled, see {@link ActorSchedulerBuilder#setWeightedFairScheduling(
+   *     boolean)}
+   */
+  public PriorityWeights getPriorityWeights() {
+    return priorityWeights;
+  }
+
+  /**
+   * @return the events of the flight recorders of all actor threads, ordered by their timestamp;
+   *     empty if the flight recorder is disabled, see {@link
+   *     ActorSchedulerBuilder#setFlightRecorderCapacity(int)}
+   */
+  public List<FlightRecorderEvent> getFlightRecorderEvents() {
+    return FlightRecorder.snapshot(actorTaskExecutor.getFlightRecorders());
+  }
+
+  /**
+   * Writes the events of the flight recorders of all actor threads, one per line and ordered by
+   * their timestamp, e.g. to reconstruct which actor ran where before an incident.
+   */
+  public void dumpFlightRecorder(final Appendable out) throws IOException {
+    for (final FlightRecorderEvent event : getFlightRecorderEvents()) {
+      out.append(event.toString()).append(System.lineSeparator());
+    }
+  }
+
+  /**
+   * @return the watchdog which reports stalled actor threads or null if it is disabled, see {@link
+   *     ActorSchedulerBuilder#setStallDetectionThreshold(Duration)}
+   */
+  public ActorStallWatchdog getStallWatchdog() {
+    return actorTaskExecutor.getStallWatchdog();
+  }
+
   public static ActorSchedulerBuilder newActorScheduler() {
     return new ActorSchedulerBuilder();
   }
@@ -107,28 +187,95 @@ public class ActorScheduler {
   }
 
   public static class ActorSchedulerBuilder {
+    private static final int DEFAULT_FLIGHT_RECORDER_CAPACITY = 1 << 16;
+
     private String schedulerName = "";
     private ActorClock actorClock;
 
     private int cpuBoundThreadsCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 2);
+    private int minCpuBoundThreadsCount;
+    private Duration elasticThreadsEvaluationInterval = Duration.ofMillis(100);
     private ActorThreadGroup cpuBoundActorGroup;
     private final double[] priorityQuotas = new double[] {0.60, 0.30, 0.10};
+    private boolean weightedFairScheduling;
+    private PriorityWeights priorityWeights;
 
     private int ioBoundThreadsCount = 2;
     private ActorThreadGroup ioBoundActorGroup;
 
+    private StealPolicy stealPolicy = StealPolicy.RANDOM;
+    private boolean stealHalf;
+    private boolean actorThreadAffinity;
+
+    private Supplier<IdleStrategy> cpuBoundIdleStrategy;
+    private Supplier<IdleStrategy> ioBoundIdleStrategy;
+
     private ActorThreadFactory actorThreadFactory;
-    private ThreadPoolExecutor blockingTasksRunner;
+    private ExecutorService blockingTasksRunner;
     private Duration blockingTasksShutdownTime = Duration.ofSeconds(15);
+    private boolean blockingTasksOnVirtualThreads;
+    private int maxConcurrentBlockingTasks;
     private ActorExecutor actorExecutor;
 
-    private ActorTimerQueue actorTimerQueue;
+    private TimerQueue actorTimerQueue;
+    private Function<ActorClock, TimerQueue> actorTimerQueueFactory;
+    private int timerExpiryBudget;
+    private int jobIterationBudget;
+    private Duration jobTimeBudget = Duration.ZERO;
 
-    public ActorSchedulerBuilder setActorTimerQueue(final ActorTimerQueue actorTimerQueue) {
+    private boolean metricsEnabled;
+    private ActorSchedulerMetrics metrics;
+    private int flightRecorderCapacity = DEFAULT_FLIGHT_RECORDER_CAPACITY;
+    private Duration stallDetectionThreshold = Duration.ZERO;
+    private boolean avoidStalledThreads;
+
+    public ActorSchedulerBuilder setActorTimerQueue(final TimerQueue actorTimerQueue) {
       this.actorTimerQueue = actorTimerQueue;
       return this;
     }
 
+    /**
+     * Sets how the timer queue of each actor thread is created, for example {@code clock -> new
+     * HierarchicalActorTimerQueue(clock)} for many outstanding timers. Ignored if a timer queue
+     * instance is set with {@link #setActorTimerQueue(TimerQueue)}.
+     */
+    public ActorSchedulerBuilder setActorTimerQueueFactory(
+        final Function<ActorClock, TimerQueue> actorTimerQueueFactory) {
+      this.actorTimerQueueFactory = actorTimerQueueFactory;
+      return this;
+    }
+
+    /**
+     * Limits how many timers an actor thread expires before it executes tasks again, the rest is
+     * expired on the next iterations. Smooths out timer storms (e.g. after a GC pause or a clock
+     * jump) at the cost of expiring some timers later. 0 (the default) means unlimited.
+     */
+    public ActorSchedulerBuilder setTimerExpiryBudget(final int timerExpiryBudget) {
+      this.timerExpiryBudget = timerExpiryBudget;
+      return this;
+    }
+
+    /**
+     * Limits how many iterations a job submitted with {@link ActorControl#runUntilDone(Runnable)}
+     * may loop on its actor thread. When the budget is used up, the job is re-enqueued (as if it
+     * experienced backpressure) so that the other actors of the thread get their turn. 0 (the
+     * default) means unlimited.
+     */
+    public ActorSchedulerBuilder setJobIterationBudget(final int jobIterationBudget) {
+      this.jobIterationBudget = jobIterationBudget;
+      return this;
+    }
+
+    /**
+     * Like {@link #setJobIterationBudget(int)}, but limits the time a job may loop. Checked after
+     * each iteration, so a single long iteration is not interrupted. {@link Duration#ZERO} (the
+     * default) means unlimited.
+     */
+    public ActorSchedulerBuilder setJobTimeBudget(final Duration jobTimeBudget) {
+      this.jobTimeBudget = jobTimeBudget;
+      return this;
+    }
+
     public ActorSchedulerBuilder setActorClock(final ActorClock actorClock) {
       this.actorClock = actorClock;
       return this;
@@ -139,11 +286,108 @@ public class ActorScheduler {
       return this;
     }
 
+    /**
+     * Makes the CPU bound thread group elastic: all {@code max} threads are started, but only
+     * {@code min} of them take tasks at first. The group activates one more thread when tasks queue
+     * up while all active threads are busy, and retires one again when the queues are empty and at
+     * least half of the active threads are idle for a while. A retired thread executes the tasks
+     * left in its queue and its timers, but does not steal or get new tasks.
+     *
+     * @param min the number of threads which are always active, at least 1
+     * @param max the number of threads, replaces the CPU bound thread count
+     */
+    public ActorSchedulerBuilder setElasticCpuBoundActorThreadCount(final int min, final int max) {
+      if (min < 1 || min > max) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Expected 1 <= min <= max actor threads, but got min %d and max %d", min, max));
+      }
+
+      minCpuBoundThreadsCount = min;
+      cpuBoundThreadsCount = max;
+      return this;
+    }
+
+    /**
+     * Sets how often an elastic thread group decides whether to activate or retire a thread, see
+     * {@link #setElasticCpuBoundActorThreadCount(int, int)}. Defaults to 100ms.
+     */
+    public ActorSchedulerBuilder setElasticThreadsEvaluationInterval(
+        final Duration elasticThreadsEvaluationInterval) {
+      this.elasticThreadsEvaluationInterval = elasticThreadsEvaluationInterval;
+      return this;
+    }
+
+    /**
+     * Schedules the priority classes of the CPU bound actors by a {@link WeightedFairScheduler}
+     * instead of fixed time slices. The priority quotas are the initial weights, they can be
+     * changed at runtime with {@link ActorScheduler#getPriorityWeights()}.
+     */
+    public ActorSchedulerBuilder setWeightedFairScheduling(final boolean weightedFairScheduling) {
+      this.weightedFairScheduling = weightedFairScheduling;
+      return this;
+    }
+
     public ActorSchedulerBuilder setIoBoundActorThreadCount(final int ioBoundActorsThreadCount) {
       ioBoundThreadsCount = ioBoundActorsThreadCount;
       return this;
     }
 
+    /**
+     * Sets how an idle thread selects the thread it steals tasks from, defaults to {@link
+     * StealPolicy#RANDOM}.
+     */
+    public ActorSchedulerBuilder setStealPolicy(final StealPolicy stealPolicy) {
+      this.stealPolicy = stealPolicy;
+      return this;
+    }
+
+    /**
+     * If enabled, an idle thread steals half of the queued tasks of its victim instead of a single
+     * one and moves the surplus to its own queue, so it does not have to steal again right away
+     * under bursty load. Disabled by default.
+     */
+    public ActorSchedulerBuilder setStealHalf(final boolean stealHalf) {
+      this.stealHalf = stealHalf;
+      return this;
+    }
+
+    /**
+     * If enabled, an actor which is woken up from outside of its thread group (e.g. by an I/O or a
+     * non-actor thread) is submitted to the thread which executed it last instead of a random one,
+     * to keep its state in that thread's caches. Idle threads still steal it for balance. Disabled
+     * by default.
+     */
+    public ActorSchedulerBuilder setActorThreadAffinity(final boolean actorThreadAffinity) {
+      this.actorThreadAffinity = actorThreadAffinity;
+      return this;
+    }
+
+    /**
+     * Sets how the CPU bound threads wait for work. The supplier is called once per thread since
+     * idle strategies are stateful. Defaults to a back off from spinning over yielding to parking
+     * for up to 1ms. Strategies should park (not sleep) when idle, otherwise submitting work to an
+     * idle thread does not wake it up.
+     *
+     * @see org.agrona.concurrent.BusySpinIdleStrategy
+     * @see org.agrona.concurrent.YieldingIdleStrategy
+     * @see AdaptiveIdleStrategy
+     */
+    public ActorSchedulerBuilder setCpuBoundIdleStrategy(
+        final Supplier<IdleStrategy> cpuBoundIdleStrategy) {
+      this.cpuBoundIdleStrategy = cpuBoundIdleStrategy;
+      return this;
+    }
+
+    /**
+     * Sets how the I/O bound threads wait for work, see {@link #setCpuBoundIdleStrategy(Supplier)}.
+     */
+    public ActorSchedulerBuilder setIoBoundIdleStrategy(
+        final Supplier<IdleStrategy> ioBoundIdleStrategy) {
+      this.ioBoundIdleStrategy = ioBoundIdleStrategy;
+      return this;
+    }
+
     public ActorSchedulerBuilder setActorThreadFactory(
         final ActorThreadFactory actorThreadFactory) {
       this.actorThreadFactory = actorThreadFactory;
@@ -156,6 +400,80 @@ public class ActorScheduler {
       return this;
     }
 
+    /**
+     * Enables the per thread and per actor metrics, see {@link ActorScheduler#exportMetrics(
+     * SchedulerMetricsExporter)}. Disabled by default: recording costs a few timestamps per job.
+     */
+    public ActorSchedulerBuilder setMetricsEnabled(final boolean metricsEnabled) {
+      this.metricsEnabled = metricsEnabled;
+      return this;
+    }
+
+    /**
+     * Sets how many events the flight recorder of each actor thread keeps, see {@link
+     * ActorScheduler#dumpFlightRecorder(Appendable)}. Rounded up to a power of two, 0 disables the
+     * flight recorder. The default of 64k events takes about 1.5 MB per thread and covers a few
+     * seconds of a busy thread.
+     */
+    public ActorSchedulerBuilder setFlightRecorderCapacity(final int flightRecorderCapacity) {
+      if (flightRecorderCapacity < 0) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Expected a flight recorder capacity of at least 0, but got %d",
+                flightRecorderCapacity));
+      }
+      this.flightRecorderCapacity = flightRecorderCapacity;
+      return this;
+    }
+
+    /**
+     * Starts an {@link ActorStallWatchdog} which reports jobs that block their actor thread for
+     * longer than the given threshold, with the stack trace of the thread. {@link Duration#ZERO}
+     * (the default) disables the watchdog.
+     */
+    public ActorSchedulerBuilder setStallDetectionThreshold(
+        final Duration stallDetectionThreshold) {
+      if (stallDetectionThreshold.isNegative()) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Expected a stall detection threshold of at least 0, but got %s",
+                stallDetectionThreshold));
+      }
+      this.stallDetectionThreshold = stallDetectionThreshold;
+      return this;
+    }
+
+    /**
+     * Submits actors which are woken up from outside of the thread group to another thread while
+     * the selected thread is stalled, see {@link #setStallDetectionThreshold(Duration)}. Tasks
+     * already queued on a stalled thread can still be stolen by the other threads.
+     */
+    public ActorSchedulerBuilder setAvoidStalledThreads(final boolean avoidStalledThreads) {
+      this.avoidStalledThreads = avoidStalledThreads;
+      return this;
+    }
+
+    /**
+     * Runs blocking tasks ({@link ActorControl#runBlocking(Runnable)}) on a new virtual thread each
+     * instead of a pool of platform threads. A virtual thread blocked on I/O or locks costs a few
+     * kilobytes of heap instead of a platform thread with its own stack.
+     */
+    public ActorSchedulerBuilder setBlockingTasksOnVirtualThreads(
+        final boolean blockingTasksOnVirtualThreads) {
+      this.blockingTasksOnVirtualThreads = blockingTasksOnVirtualThreads;
+      return this;
+    }
+
+    /**
+     * Limits how many blocking tasks run at the same time if they run on virtual threads, 0 (the
+     * default) means unlimited. Tasks beyond the limit wait without blocking the submitting actor.
+     */
+    public ActorSchedulerBuilder setMaxConcurrentBlockingTasks(
+        final int maxConcurrentBlockingTasks) {
+      this.maxConcurrentBlockingTasks = maxConcurrentBlockingTasks;
+      return this;
+    }
+
     public ActorSchedulerBuilder setSchedulerName(final String schedulerName) {
       this.schedulerName = schedulerName;
       return this;
@@ -169,14 +487,44 @@ public class ActorScheduler {
       return actorClock;
     }
 
-    public ActorTimerQueue getActorTimerQueue() {
+    public TimerQueue getActorTimerQueue() {
       return actorTimerQueue;
     }
 
+    public Function<ActorClock, TimerQueue> getActorTimerQueueFactory() {
+      return actorTimerQueueFactory;
+    }
+
+    public int getTimerExpiryBudget() {
+      return timerExpiryBudget;
+    }
+
+    public int getJobIterationBudget() {
+      return jobIterationBudget;
+    }
+
+    public Duration getJobTimeBudget() {
+      return jobTimeBudget;
+    }
+
     public int getCpuBoundActorThreadCount() {
       return cpuBoundThreadsCount;
     }
 
+    /**
+     * @return the number of CPU bound threads which are always active, equals the CPU bound thread
+     *     count if the group is not elastic
+     */
+    public int getMinCpuBoundActorThreadCount() {
+      return minCpuBoundThreadsCount > 0
+          ? Math.min(minCpuBoundThreadsCount, cpuBoundThreadsCount)
+          : cpuBoundThreadsCount;
+    }
+
+    public Duration getElasticThreadsEvaluationInterval() {
+      return elasticThreadsEvaluationInterval;
+    }
+
     public int getIoBoundActorThreadCount() {
       return ioBoundThreadsCount;
     }
@@ -185,14 +533,67 @@ public class ActorScheduler {
       return Arrays.copyOf(priorityQuotas, priorityQuotas.length);
     }
 
+    public boolean isWeightedFairScheduling() {
+      return weightedFairScheduling;
+    }
+
+    /**
+     * @return the weights shared by the CPU bound threads, or null if weighted fair scheduling is
+     *     not enabled
+     */
+    public PriorityWeights getPriorityWeights() {
+      return priorityWeights;
+    }
+
+    public StealPolicy getStealPolicy() {
+      return stealPolicy;
+    }
+
+    public boolean isStealHalf() {
+      return stealHalf;
+    }
+
+    public boolean isActorThreadAffinity() {
+      return actorThreadAffinity;
+    }
+
+    public Supplier<IdleStrategy> getCpuBoundIdleStrategy() {
+      return cpuBoundIdleStrategy;
+    }
+
+    public Supplier<IdleStrategy> getIoBoundIdleStrategy() {
+      return ioBoundIdleStrategy;
+    }
+
     public ActorThreadFactory getActorThreadFactory() {
       return actorThreadFactory;
     }
 
+    /**
+     * @return the pool of platform threads which runs the blocking tasks, or null if they run on
+     *     virtual threads, see {@link #getBlockingTasksExecutor()}
+     */
     public ThreadPoolExecutor getBlockingTasksRunner() {
+      return blockingTasksRunner instanceof ThreadPoolExecutor
+          ? (ThreadPoolExecutor) blockingTasksRunner
+          : null;
+    }
+
+    /**
+     * @return the executor which runs the blocking tasks, on platform or on virtual threads
+     */
+    public ExecutorService getBlockingTasksExecutor() {
       return blockingTasksRunner;
     }
 
+    public boolean isBlockingTasksOnVirtualThreads() {
+      return blockingTasksOnVirtualThreads;
+    }
+
+    public int getMaxConcurrentBlockingTasks() {
+      return maxConcurrentBlockingTasks;
+    }
+
     public Duration getBlockingTasksShutdownTime() {
       return blockingTasksShutdownTime;
     }
@@ -201,6 +602,30 @@ public class ActorScheduler {
       return actorExecutor;
     }
 
+    public boolean isMetricsEnabled() {
+      return metricsEnabled;
+    }
+
+    public ActorSchedulerMetrics getMetrics() {
+      return metrics;
+    }
+
+    public int getFlightRecorderCapacity() {
+      return flightRecorderCapacity;
+    }
+
+    public Duration getStallDetectionThreshold() {
+      return stallDetectionThreshold;
+    }
+
+    public boolean isStallDetectionEnabled() {
+      return !stallDetectionThreshold.isZero();
+    }
+
+    public boolean isAvoidStalledThreads() {
+      return avoidStalledThreads;
+    }
+
     public ActorThreadGroup getCpuBoundActorThreads() {
       return cpuBoundActorGroup;
     }
@@ -215,8 +640,28 @@ public class ActorScheduler {
       }
     }
 
+    private void initMetrics() {
+      if (metricsEnabled && metrics == null) {
+        metrics = new ActorSchedulerMetrics();
+      }
+    }
+
     private void initBlockingTaskRunner() {
-      if (blockingTasksRunner == null) {
+      if (blockingTasksRunner == null && blockingTasksOnVirtualThreads) {
+        final ExecutorService virtualThreadsRunner =
+            Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual()
+                    .name("zb-blocking-task-runner-" + schedulerName + "-", 1)
+                    .factory());
+
+        blockingTasksRunner =
+            maxConcurrentBlockingTasks > 0
+                ? new ConcurrencyLimitedExecutorService(
+                    virtualThreadsRunner,
+                    maxConcurrentBlockingTasks,
+                    ActorSchedulerBuilder::onBlockingTaskRejected)
+                : virtualThreadsRunner;
+      } else if (blockingTasksRunner == null) {
         blockingTasksRunner =
             new ThreadPoolExecutor(
                 1,
@@ -228,6 +673,18 @@ public class ActorScheduler {
       }
     }
 
+    private static void onBlockingTaskRejected(final Runnable task) {
+      if (task instanceof BlockingPollSubscription) {
+        ((BlockingPollSubscription) task).onRejected();
+      }
+    }
+
+    private void initPriorityWeights() {
+      if (weightedFairScheduling && priorityWeights == null) {
+        priorityWeights = new PriorityWeights(priorityQuotas);
+      }
+    }
+
     private void initIoBoundActorThreadGroup() {
       if (ioBoundActorGroup == null) {
         ioBoundActorGroup = new IoThreadGroup(this);
@@ -248,7 +705,9 @@ public class ActorScheduler {
 
     public ActorScheduler build() {
       initActorThreadFactory();
+      initMetrics();
       initBlockingTaskRunner();
+      initPriorityWeights();
       initCpuBoundActorThreadGroup();
       initIoBoundActorThreadGroup();
       initActorExecutor();
@@ -263,7 +722,7 @@ public class ActorScheduler {
         ActorThreadGroup threadGroup,
         TaskScheduler taskScheduler,
         ActorClock clock,
-        ActorTimerQueue timerQueue);
+        TimerQueue timerQueue);
   }
 
   public static class DefaultActorThreadFactory implements ActorThreadFactory {
@@ -274,7 +733,7 @@ public class ActorScheduler {
         final ActorThreadGroup threadGroup,
         final TaskScheduler taskScheduler,
         final ActorClock clock,
-        final ActorTimerQueue timerQueue) {
+        final TimerQueue timerQueue) {
       return new ActorThread(name, id, threadGroup, taskScheduler, clock, timerQueue);
     }
   }
@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+import com.anyilanxin.toolkit.scheduler.recorder.FlightRecorder;
+import com.anyilanxin.toolkit.scheduler.recorder.FlightRecorderEvent;
+import com.anyilanxin.toolkit.util.Loggers;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Detects actor jobs which block their actor thread, e.g. by a synchronous call to a database
+ * inside {@link ActorControl#run(Runnable)}: everything queued on that thread waits behind them.
+ *
+ * <p>The watchdog samples the job sequence of each actor thread (see {@link
+ * ActorThread#getJobSequence()}) a few times per threshold. If a thread executes the same job for
+ * longer than the threshold, it logs the actor and the stack trace of the thread, counts the stall
+ * and marks the thread as stalled until the job ends. Recording the job sequence costs the actor
+ * threads two ordered stores per job and no timestamps.
+ */
+public final class ActorStallWatchdog implements Runnable {
+  private static final int SAMPLES_PER_THRESHOLD = 4;
+  private static final int LOGGED_FLIGHT_RECORDER_EVENTS = 16;
+
+  private final ActorThread[] threads;
+  private final long thresholdNanos;
+  private final long intervalNanos;
+
+  private final long[] lastSequences;
+  private final long[] jobSeenSinceNanos;
+
+  private final AtomicLong stalls = new AtomicLong();
+  private final Thread watchdogThread;
+  private volatile boolean running;
+
+  ActorStallWatchdog(
+      final String schedulerName, final ActorThread[] threads, final Duration threshold) {
+    this.threads = threads;
+    thresholdNanos = threshold.toNanos();
+    intervalNanos =
+        Math.max(TimeUnit.MILLISECONDS.toNanos(1), thresholdNanos / SAMPLES_PER_THRESHOLD);
+
+    lastSequences = new long[threads.length];
+    jobSeenSinceNanos = new long[threads.length];
+
+    watchdogThread = new Thread(this, String.format("%s-%s", schedulerName, "zb-stall-watchdog"));
+    watchdogThread.setDaemon(true);
+  }
+
+  void start() {
+    running = true;
+    watchdogThread.start();
+  }
+
+  void stop() {
+    running = false;
+    LockSupport.unpark(watchdogThread);
+  }
+
+  @Override
+  public void run() {
+    while (running) {
+      LockSupport.parkNanos(this, intervalNanos);
+      check(System.nanoTime());
+    }
+  }
+
+  /** samples all threads, reports the ones which execute the same job for too long */
+  void check(final long nowNanos) {
+    for (int i = 0; i < threads.length; i++) {
+      final ActorThread thread = threads[i];
+      final long sequence = thread.getJobSequence();
+
+      if (sequence != lastSequences[i]) {
+        // the thread made progress since the last sample
+        lastSequences[i] = sequence;
+        jobSeenSinceNanos[i] = nowNanos;
+        thread.setStalled(false);
+      } else if (ActorThread.isJobRunning(sequence)
+          && !thread.isStalled()
+          && nowNanos - jobSeenSinceNanos[i] >= thresholdNanos) {
+        thread.setStalled(true);
+        stalls.incrementAndGet();
+        reportStall(thread, nowNanos - jobSeenSinceNanos[i]);
+      }
+    }
+  }
+
+  private void reportStall(final ActorThread thread, final long stalledNanos) {
+    final ActorTask task = thread.getCurrentTask();
+    final StringBuilder message =
+        new StringBuilder()
+            .append("Actor '")
+            .append(task != null ? task.getName() : null)
+            .append("' blocks actor thread '")
+            .append(thread.getName())
+            .append("' for at least ")
+            .append(TimeUnit.NANOSECONDS.toMillis(stalledNanos))
+            .append(" ms, actors queued on this thread are delayed.");
+
+    final FlightRecorder flightRecorder = thread.getFlightRecorder();
+    if (flightRecorder != null) {
+      final List<FlightRecorderEvent> events = flightRecorder.snapshot();
+      message.append(" Last events of the thread:");
+      for (int i = Math.max(0, events.size() - LOGGED_FLIGHT_RECORDER_EVENTS);
+          i < events.size();
+          i++) {
+        message.append(System.lineSeparator()).append(events.get(i));
+      }
+    }
+
+    final Exception stackTrace = new Exception("Stack trace of " + thread.getName());
+    stackTrace.setStackTrace(thread.getStackTrace());
+    Loggers.ACTOR_LOGGER.warn(message.toString(), stackTrace);
+  }
+
+  /**
+   * @return how many stalls were detected, a job which blocks its thread counts once
+   */
+  public long getStallCount() {
+    return stalls.get();
+  }
+}
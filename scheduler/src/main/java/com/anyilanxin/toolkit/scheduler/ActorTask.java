@@ -16,15 +16,22 @@
  */
 package com.anyilanxin.toolkit.scheduler;
 
+import com.anyilanxin.toolkit.scheduler.channel.ActorConditions;
 import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
 import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import com.anyilanxin.toolkit.scheduler.jfr.JobExecutedEvent;
+import com.anyilanxin.toolkit.scheduler.jfr.SchedulerEvents;
+import com.anyilanxin.toolkit.scheduler.metrics.ActorSchedulerMetrics;
+import com.anyilanxin.toolkit.scheduler.metrics.ActorTaskMetrics;
 import com.anyilanxin.toolkit.util.Loggers;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Deque;
+import java.util.List;
 import java.util.Queue;
+import org.agrona.concurrent.ManyToOneConcurrentArrayQueue;
 import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
 
 /**
@@ -65,6 +72,10 @@ public class ActorTask {
 
   private static final VarHandle STATE_COUNT_VAR_HANDLE;
   private static final VarHandle SCHEDULING_STATE_VAR_HANDLE;
+  private static final VarHandle MAILBOX_SIZE_VAR_HANDLE;
+  private static final VarHandle MAILBOX_ABOVE_HIGH_WATERMARK_VAR_HANDLE;
+  private static final VarHandle PENDING_DEADLINE_JOBS_VAR_HANDLE;
+  private static final VarHandle DEADLINE_NANOS_VAR_HANDLE;
 
   static {
     try {
@@ -73,6 +84,15 @@ public class ActorTask {
       SCHEDULING_STATE_VAR_HANDLE =
           MethodHandles.lookup()
               .findVarHandle(ActorTask.class, "schedulingState", TaskSchedulingState.class);
+      MAILBOX_SIZE_VAR_HANDLE =
+          MethodHandles.lookup().findVarHandle(ActorTask.class, "mailboxSize", int.class);
+      MAILBOX_ABOVE_HIGH_WATERMARK_VAR_HANDLE =
+          MethodHandles.lookup()
+              .findVarHandle(ActorTask.class, "mailboxAboveHighWatermark", boolean.class);
+      PENDING_DEADLINE_JOBS_VAR_HANDLE =
+          MethodHandles.lookup().findVarHandle(ActorTask.class, "pendingDeadlineJobs", int.class);
+      DEADLINE_NANOS_VAR_HANDLE =
+          MethodHandles.lookup().findVarHandle(ActorTask.class, "deadlineNanos", long.class);
     } catch (final Exception e) {
       throw new RuntimeException(e);
     }
@@ -95,8 +115,43 @@ public class ActorTask {
    */
   private volatile Queue<ActorJob> submittedJobs = new ClosedQueue();
 
+  /**
+   * externally submitted jobs which must not be rejected (e.g. close requests), but did not fit
+   * into the ring buffer mailbox. The same queue as {@link #submittedJobs} for other mailboxes.
+   */
+  private volatile Queue<ActorJob> overflowJobs = submittedJobs;
+
+  /**
+   * the number of jobs which are left of the batch taken from the ring buffer mailbox. They are
+   * polled one by one instead of being moved to the fast lane, see {@link #pollNextJob()}.
+   */
+  private int mailboxBatchRemaining;
+
+  /**
+   * the number of jobs at the head of the fast lane which were inserted before the rest of the
+   * mailbox batch, e.g. by the actor itself
+   */
+  private int fastLaneHeadJobs;
+
   private Deque<ActorJob> fastLaneJobs = new ClosedQueue();
 
+  private MailboxSettings mailboxSettings = MailboxSettings.unbounded();
+
+  /** the number of submitted jobs, only tracked if the mailbox is bounded or has watermarks */
+  private volatile int mailboxSize;
+
+  private volatile boolean mailboxAboveHighWatermark;
+  private final ActorConditions mailboxListeners = new ActorConditions();
+
+  /** the number of externally submitted jobs with a deadline which were not started yet */
+  private volatile int pendingDeadlineJobs;
+
+  /**
+   * the earliest deadline of the pending deadline jobs. It is not raised when the earliest job is
+   * started, so it can be earlier than the deadline of the remaining jobs
+   */
+  private volatile long deadlineNanos;
+
   private ActorLifecyclePhase lifecyclePhase = ActorLifecyclePhase.CLOSED;
 
   volatile TaskSchedulingState schedulingState = null;
@@ -109,6 +164,18 @@ public class ActorTask {
 
   boolean shouldYield;
 
+  /**
+   * null if metrics are disabled. Read by submitting threads while the actor thread clears it on
+   * close, so read it once into a local.
+   */
+  private volatile ActorTaskMetrics metrics;
+
+  /** when the task was last woken up, only recorded if metrics are enabled */
+  private volatile long wakeupTimeNanos;
+
+  /** the id of the thread which executed this task last, -1 if it was not executed yet */
+  private volatile int lastRunnerId = -1;
+
   /**
    * the priority class of the task. Only set if the task is scheduled as non-blocking, CPU-bound
    */
@@ -123,6 +190,16 @@ public class ActorTask {
       final ActorExecutor actorExecutor, final ActorThreadGroup actorThreadGroup) {
     this.actorExecutor = actorExecutor;
     this.actorThreadGroup = actorThreadGroup;
+
+    final ActorSchedulerMetrics schedulerMetrics = actorExecutor.getMetrics();
+    if (schedulerMetrics != null) {
+      final ActorTaskMetrics previousMetrics = metrics;
+      if (previousMetrics != null) {
+        schedulerMetrics.removeTaskMetrics(previousMetrics);
+      }
+      metrics = schedulerMetrics.newTaskMetrics(getName());
+    }
+
     // reset previous state to allow re-scheduling
     closeFuture.close();
     closeFuture.setAwaitingResult();
@@ -136,9 +213,19 @@ public class ActorTask {
     jobStartingTaskFuture.close();
     jobStartingTaskFuture.setAwaitingResult();
 
-    submittedJobs = new ManyToOneConcurrentLinkedQueue<>();
+    if (mailboxSettings.isRingBuffer()) {
+      overflowJobs = new ManyToOneConcurrentLinkedQueue<>();
+      submittedJobs = new ManyToOneConcurrentArrayQueue<>(mailboxSettings.getCapacity());
+    } else {
+      submittedJobs = new ManyToOneConcurrentLinkedQueue<>();
+      overflowJobs = submittedJobs;
+    }
+    mailboxBatchRemaining = 0;
+    fastLaneHeadJobs = 0;
     fastLaneJobs = new ArrayDeque<>();
-    lifecyclePhase = ActorLifecyclePhase.STARTING;
+    mailboxSize = 0;
+    mailboxAboveHighWatermark = false;
+    setLifecyclePhase(ActorLifecyclePhase.STARTING);
 
     // create initial job to invoke on start callback
     final ActorJob j = new ActorJob();
@@ -153,36 +240,219 @@ public class ActorTask {
 
   /** Used to externally submit a job. */
   public void submit(final ActorJob job) {
+    if (mailboxSettings.isSizeTracked()) {
+      onMailboxSizeIncreased((int) MAILBOX_SIZE_VAR_HANDLE.getAndAdd(this, 1) + 1);
+    }
+
+    enqueue(job, true);
+  }
+
+  /**
+   * Used to externally submit a job if the mailbox has capacity left.
+   *
+   * @return false if the mailbox is full, the job is not submitted then
+   */
+  public boolean trySubmit(final ActorJob job) {
+    final int capacity = mailboxSettings.getCapacity();
+    if (capacity <= 0) {
+      submit(job);
+      return true;
+    }
+
+    final int size = (int) MAILBOX_SIZE_VAR_HANDLE.getAndAdd(this, 1) + 1;
+    if (size > capacity) {
+      MAILBOX_SIZE_VAR_HANDLE.getAndAdd(this, -1);
+
+      final ActorTaskMetrics metrics = this.metrics;
+      if (metrics != null) {
+        metrics.onJobRejected();
+      }
+      return false;
+    }
+
+    onMailboxSizeIncreased(size);
+    enqueue(job, false);
+    return true;
+  }
+
+  private void onMailboxSizeIncreased(final int size) {
+    final int highWatermark = mailboxSettings.getHighWatermark();
+    if (highWatermark > 0
+        && size >= highWatermark
+        && !mailboxAboveHighWatermark
+        && MAILBOX_ABOVE_HIGH_WATERMARK_VAR_HANDLE.compareAndSet(this, false, true)) {
+      mailboxListeners.signalConsumers();
+    }
+  }
+
+  private void onMailboxSizeDecreased(final int size) {
+    if (mailboxAboveHighWatermark
+        && size <= mailboxSettings.getLowWatermark()
+        && MAILBOX_ABOVE_HIGH_WATERMARK_VAR_HANDLE.compareAndSet(this, true, false)) {
+      mailboxListeners.signalConsumers();
+    }
+  }
+
+  /**
+   * Used to externally submit a batch of jobs if the mailbox has capacity left for all of them. The
+   * task is woken up only once for the whole batch.
+   *
+   * @return false if the mailbox can not take all jobs, none of them is submitted then
+   */
+  public boolean trySubmitAll(final List<ActorJob> jobs) {
+    final int count = jobs.size();
+    final int capacity = mailboxSettings.getCapacity();
+    if (capacity > 0) {
+      final int size = (int) MAILBOX_SIZE_VAR_HANDLE.getAndAdd(this, count) + count;
+      if (size > capacity) {
+        MAILBOX_SIZE_VAR_HANDLE.getAndAdd(this, -count);
+
+        final ActorTaskMetrics metrics = this.metrics;
+        if (metrics != null) {
+          metrics.onJobsRejected(count);
+        }
+        return false;
+      }
+
+      onMailboxSizeIncreased(size);
+    } else if (mailboxSettings.isSizeTracked()) {
+      onMailboxSizeIncreased((int) MAILBOX_SIZE_VAR_HANDLE.getAndAdd(this, count) + count);
+    }
+
+    boolean wakeup = false;
+    for (int i = 0; i < count; i++) {
+      wakeup |= offer(jobs.get(i), capacity <= 0);
+    }
+
+    if (wakeup) {
+      tryWakeup();
+    }
+    return true;
+  }
+
+  private void enqueue(final ActorJob job, final boolean uncapped) {
+    if (offer(job, uncapped)) {
+      // wakeup task if waiting
+      tryWakeup();
+    }
+  }
+
+  /**
+   * @return true if the job was added to the jobs queue and the task needs to be woken up
+   */
+  private boolean offer(final ActorJob job, final boolean uncapped) {
+    if (job.hasDeadline()) {
+      // before the job is visible, so the task is queued by its deadline when it is woken up
+      onDeadlineJobSubmitted(job.getDeadlineNanos());
+    }
+
     // get reference to jobs queue
-    final Queue<ActorJob> submittedJobs = this.submittedJobs;
+    Queue<ActorJob> submittedJobs = this.submittedJobs;
 
     // add job to queue
-    if (submittedJobs.offer(job)) {
-      if (submittedJobs != this.submittedJobs) {
+    boolean offered = submittedJobs.offer(job);
+    if (!offered && uncapped) {
+      // only the ring buffer can be full, but this job must not be rejected
+      submittedJobs = this.overflowJobs;
+      offered = submittedJobs.offer(job);
+    }
+
+    if (offered) {
+      final ActorTaskMetrics metrics = this.metrics;
+      if (metrics != null) {
+        metrics.onJobSubmitted();
+      }
+
+      if (submittedJobs != this.submittedJobs && submittedJobs != this.overflowJobs) {
         // jobs queue was replaced (see onClosed method)
         // in case the job was offer after the original queue was drained
         // we have to manually fail the job to make sure does not get lost
         failJob(job);
       } else {
-        // wakeup task if waiting
-        tryWakeup();
+        if (submittedJobs instanceof ClosedQueue) {
+          // the closed queue failed the job
+          discardDeadline(job);
+        }
+        return true;
       }
     } else {
+      discardDeadline(job);
       job.failFuture("Was not able to submit job to the actors queue.");
     }
+
+    return false;
+  }
+
+  private void setLifecyclePhase(final ActorLifecyclePhase lifecyclePhase) {
+    this.lifecyclePhase = lifecyclePhase;
+    SchedulerEvents.onActorPhaseChanged(this, lifecyclePhase);
+  }
+
+  private void onDeadlineJobSubmitted(final long deadlineNanos) {
+    // the deadline of the previous jobs is outdated if none of them is pending anymore
+    final boolean replace = (int) PENDING_DEADLINE_JOBS_VAR_HANDLE.getAndAdd(this, 1) == 0;
+
+    long currentDeadline;
+    do {
+      currentDeadline = this.deadlineNanos;
+      if (!replace && deadlineNanos - currentDeadline >= 0) {
+        return;
+      }
+    } while (!DEADLINE_NANOS_VAR_HANDLE.compareAndSet(this, currentDeadline, deadlineNanos));
+  }
+
+  private void onDeadlineJobStarted(final ActorJob job) {
+    job.clearDeadline();
+    PENDING_DEADLINE_JOBS_VAR_HANDLE.getAndAdd(this, -1);
+
+    final ActorTaskMetrics metrics = this.metrics;
+    if (metrics != null) {
+      metrics.onDeadlineJobStarted(System.nanoTime() - job.getDeadlineNanos());
+    }
   }
 
   public boolean execute(final ActorThread runner) {
     schedulingState = TaskSchedulingState.ACTIVE;
 
+    final ActorTaskMetrics metrics = this.metrics;
+    final long wakeupTimeNanos = this.wakeupTimeNanos;
+    if (metrics != null && wakeupTimeNanos != 0) {
+      metrics.onWokenUp(System.nanoTime() - wakeupTimeNanos);
+      this.wakeupTimeNanos = 0;
+    }
+
+    final int runnerId = runner.getRunnerId();
+    if (lastRunnerId != runnerId) {
+      if (metrics != null && lastRunnerId >= 0) {
+        metrics.onMigrated();
+      }
+      lastRunnerId = runnerId;
+    }
+
     boolean resubmit = false;
     while (!resubmit && (currentJob != null || poll())) {
-      currentJob.execute(runner);
+      if (currentJob.hasDeadline()) {
+        onDeadlineJobStarted(currentJob);
+      }
+
+      final JobExecutedEvent jobEvent = SchedulerEvents.beginJobExecution();
+      runner.onJobStarted();
+      if (metrics != null) {
+        final long startNanos = System.nanoTime();
+        currentJob.execute(runner);
+        metrics.onJobExecuted(System.nanoTime() - startNanos);
+      } else {
+        currentJob.execute(runner);
+      }
+      runner.onJobEnded();
+      if (jobEvent != null) {
+        SchedulerEvents.onJobExecuted(jobEvent, this);
+      }
 
       switch (currentJob.schedulingState) {
         case TERMINATED:
           final ActorJob terminatedJob = currentJob;
-          currentJob = fastLaneJobs.poll();
+          currentJob = pollNextJob();
 
           if (terminatedJob.isTriggeredBySubscription()) {
             final ActorSubscription subscription = terminatedJob.getSubscription();
@@ -223,20 +493,27 @@ public class ActorTask {
     return resubmit;
   }
 
+  void onJobPreempted() {
+    final ActorTaskMetrics metrics = this.metrics;
+    if (metrics != null) {
+      metrics.onJobPreempted();
+    }
+  }
+
   private boolean onAllJobsDone() {
     boolean resubmit = false;
 
     if (allPhaseSubscriptionsTriggered()) {
       switch (lifecyclePhase) {
         case STARTING:
-          lifecyclePhase = ActorLifecyclePhase.STARTED;
+          setLifecyclePhase(ActorLifecyclePhase.STARTED);
           submitStartedJob();
           startingFuture.completeWith(jobStartingTaskFuture);
           resubmit = true;
           break;
 
         case CLOSING:
-          lifecyclePhase = ActorLifecyclePhase.CLOSED;
+          setLifecyclePhase(ActorLifecyclePhase.CLOSED);
           submitClosedJob();
           resubmit = true;
           break;
@@ -246,7 +523,7 @@ public class ActorTask {
           break;
 
         case CLOSE_REQUESTED:
-          lifecyclePhase = ActorLifecyclePhase.CLOSING;
+          setLifecyclePhase(ActorLifecyclePhase.CLOSING);
           submitClosingJob();
           resubmit = true;
           break;
@@ -306,7 +583,11 @@ public class ActorTask {
     subscriptions = new ActorSubscription[0];
 
     final Queue<ActorJob> activeJobsQueue = submittedJobs;
-    submittedJobs = new ClosedQueue();
+    final Queue<ActorJob> activeOverflowJobsQueue = overflowJobs;
+    final ClosedQueue closedQueue = new ClosedQueue();
+    submittedJobs = closedQueue;
+    overflowJobs = closedQueue;
+    mailboxBatchRemaining = 0;
 
     ActorJob j;
 
@@ -314,9 +595,26 @@ public class ActorTask {
       // cancel and discard jobs
       failJob(j);
     }
+
+    while ((j = activeOverflowJobsQueue.poll()) != null) {
+      failJob(j);
+    }
+
+    if (mailboxSettings.isSizeTracked()) {
+      mailboxSize = 0;
+      onMailboxSizeDecreased(0);
+    }
+
+    final ActorTaskMetrics metrics = this.metrics;
+    if (metrics != null) {
+      actorExecutor.getMetrics().removeTaskMetrics(metrics);
+      this.metrics = null;
+    }
   }
 
   private void failJob(final ActorJob job) {
+    discardDeadline(job);
+
     try {
       job.failFuture("Actor is closed");
     } catch (final IllegalStateException e) {
@@ -324,9 +622,17 @@ public class ActorTask {
     }
   }
 
+  /** called for a job which fails without being started, its deadline is not pending anymore */
+  private void discardDeadline(final ActorJob job) {
+    if (job.hasDeadline()) {
+      job.clearDeadline();
+      PENDING_DEADLINE_JOBS_VAR_HANDLE.getAndAdd(this, -1);
+    }
+  }
+
   public void requestClose() {
     if (lifecyclePhase == ActorLifecyclePhase.STARTED) {
-      lifecyclePhase = ActorLifecyclePhase.CLOSE_REQUESTED;
+      setLifecyclePhase(ActorLifecyclePhase.CLOSE_REQUESTED);
 
       discardNextJobs();
 
@@ -340,7 +646,7 @@ public class ActorTask {
         Loggers.ACTOR_LOGGER.error(
             "Actor failed in phase 'STARTING'. Discard all jobs and stop immediatly.", failure);
 
-        lifecyclePhase = ActorLifecyclePhase.FAILED;
+        setLifecyclePhase(ActorLifecyclePhase.FAILED);
         discardNextJobs();
         startingFuture.completeExceptionally(failure);
         break;
@@ -349,7 +655,7 @@ public class ActorTask {
         Loggers.ACTOR_LOGGER.error(
             "Actor failed in phase 'CLOSING'. Discard all jobs and stop immediatly.", failure);
 
-        lifecyclePhase = ActorLifecyclePhase.FAILED;
+        setLifecyclePhase(ActorLifecyclePhase.FAILED);
         discardNextJobs();
         closeFuture.completeExceptionally(failure);
         break;
@@ -365,17 +671,59 @@ public class ActorTask {
   private void discardNextJobs() {
     // discard next jobs
     ActorJob next;
-    while ((next = fastLaneJobs.poll()) != null) {
+    while ((next = pollNextJob()) != null) {
       failJob(next);
     }
   }
 
-  boolean casStateCount(final long expectedCount) {
-    if (expectedCount == stateCount) {
-      stateCount = expectedCount + 1;
-      return true;
+  /**
+   * Polls the jobs in the same order as if the mailbox batch was moved to the fast lane: the jobs
+   * inserted at the head of the fast lane first, then the batch and then the jobs appended to the
+   * fast lane, e.g. by subscriptions.
+   */
+  private ActorJob pollNextJob() {
+    if (fastLaneHeadJobs > 0) {
+      fastLaneHeadJobs--;
+      return fastLaneJobs.poll();
     }
-    return false;
+
+    if (mailboxBatchRemaining > 0) {
+      final ActorJob job = pollMailboxBatch();
+      if (job != null) {
+        return job;
+      }
+    }
+    return fastLaneJobs.poll();
+  }
+
+  private ActorJob pollMailboxBatch() {
+    final ActorJob job = submittedJobs.poll();
+    if (job == null) {
+      // the size includes slots which are claimed by a producer but not written yet, stop the
+      // batch here to keep the order. The task is woken up again since the queue is not empty.
+      mailboxBatchRemaining = 0;
+      return null;
+    }
+
+    final ActorTaskMetrics metrics = this.metrics;
+    if (metrics != null) {
+      metrics.onJobPolled();
+    }
+
+    if (mailboxSettings.isSizeTracked()) {
+      // released one by one, the ring buffer has no space for more jobs before
+      onMailboxSizeDecreased((int) MAILBOX_SIZE_VAR_HANDLE.getAndAdd(this, -1) - 1);
+    }
+
+    if (--mailboxBatchRemaining == 0 && !overflowJobs.isEmpty()) {
+      // the overflow jobs are older than the jobs submitted to the ring buffer after this batch
+      drainSubmittedJobs(overflowJobs, false);
+    }
+    return job;
+  }
+
+  boolean casStateCount(final long expectedCount) {
+    return STATE_COUNT_VAR_HANDLE.compareAndSet(this, expectedCount, expectedCount + 1);
   }
 
   boolean casState(final TaskSchedulingState expectedState, final TaskSchedulingState newState) {
@@ -411,7 +759,7 @@ public class ActorTask {
      * yet in state waiting. After transitioning to waiting we check if we need to wake
      * up right away.
      */
-    if ((lifecyclePhase == ActorLifecyclePhase.STARTED && !submittedJobs.isEmpty())
+    if ((lifecyclePhase == ActorLifecyclePhase.STARTED && hasSubmittedJobs())
         || pollSubscriptionsWithoutAddingJobs(subscriptionsCopy)) {
       // could be that another thread already woke up this task
       if (casState(TaskSchedulingState.WAITING, TaskSchedulingState.WAKING_UP)) {
@@ -426,6 +774,16 @@ public class ActorTask {
     boolean didWakeup = false;
 
     if (casState(TaskSchedulingState.WAITING, TaskSchedulingState.WAKING_UP)) {
+      // before the task is resubmitted, the thread which executes it reads the time
+      if (this.metrics != null) {
+        wakeupTimeNanos = System.nanoTime();
+      }
+
+      final ActorThread current = ActorThread.current();
+      if (current != null) {
+        current.onTaskWokenUp(this);
+      }
+      SchedulerEvents.onActorWokenUp(this);
       resubmit();
       didWakeup = true;
     }
@@ -487,13 +845,53 @@ public class ActorTask {
     return allTriggered;
   }
 
+  private boolean hasSubmittedJobs() {
+    return !submittedJobs.isEmpty() || !overflowJobs.isEmpty();
+  }
+
   private boolean pollSubmittedJobs() {
+    final Queue<ActorJob> submittedJobs = this.submittedJobs;
+    if (submittedJobs == overflowJobs) {
+      return drainSubmittedJobs(submittedJobs, true);
+    }
+
+    if (lifecyclePhase == ActorLifecyclePhase.STARTED) {
+      // take a batch of the ring buffer without copying it, see pollNextJob()
+      mailboxBatchRemaining = submittedJobs.size();
+      if (mailboxBatchRemaining > 0) {
+        final ActorJob job = pollMailboxBatch();
+        if (job != null) {
+          if (currentJob == null) {
+            currentJob = job;
+          } else {
+            insertJob(job);
+          }
+          return true;
+        }
+      }
+    }
+
+    return drainSubmittedJobs(overflowJobs, true);
+  }
+
+  /**
+   * @param mayTakeCurrentJob if false, all jobs are appended to the fast lane
+   */
+  private boolean drainSubmittedJobs(
+      final Queue<ActorJob> submittedJobs, final boolean mayTakeCurrentJob) {
+    final ActorTaskMetrics metrics = this.metrics;
     boolean hasJobs = false;
+    int polledJobs = 0;
 
     while (lifecyclePhase == ActorLifecyclePhase.STARTED && !submittedJobs.isEmpty()) {
       final ActorJob job = submittedJobs.poll();
       if (job != null) {
-        if (currentJob == null) {
+        polledJobs++;
+        if (metrics != null) {
+          metrics.onJobPolled();
+        }
+
+        if (currentJob == null && mayTakeCurrentJob) {
           currentJob = job;
         } else {
           fastLaneJobs.offer(job);
@@ -503,6 +901,11 @@ public class ActorTask {
       }
     }
 
+    if (polledJobs > 0 && mailboxSettings.isSizeTracked()) {
+      onMailboxSizeDecreased(
+          (int) MAILBOX_SIZE_VAR_HANDLE.getAndAdd(this, -polledJobs) - polledJobs);
+    }
+
     return hasJobs;
   }
 
@@ -523,6 +926,13 @@ public class ActorTask {
     return stateCount;
   }
 
+  /**
+   * @return the id of the thread which executed this task last or -1 if it was not executed yet
+   */
+  public int getLastRunnerId() {
+    return lastRunnerId;
+  }
+
   public ActorThreadGroup getActorThreadGroup() {
     return actorThreadGroup;
   }
@@ -539,6 +949,22 @@ public class ActorTask {
     return lifecyclePhase == ActorLifecyclePhase.CLOSING;
   }
 
+  /**
+   * @return true if jobs with a deadline were submitted which did not start yet, the task is
+   *     scheduled by its deadline then (see {@link ActorControl#run(Runnable, java.time.Duration)})
+   */
+  public boolean hasPendingDeadlineJobs() {
+    return pendingDeadlineJobs > 0;
+  }
+
+  /**
+   * @return the earliest deadline ({@link System#nanoTime()}) of the pending deadline jobs, only
+   *     meaningful if {@link #hasPendingDeadlineJobs()}
+   */
+  public long getDeadlineNanos() {
+    return deadlineNanos;
+  }
+
   public int getPriority() {
     return priority;
   }
@@ -547,6 +973,35 @@ public class ActorTask {
     this.priority = priority;
   }
 
+  public MailboxSettings getMailboxSettings() {
+    return mailboxSettings;
+  }
+
+  /** Must be set before the task is scheduled. */
+  public void setMailboxSettings(final MailboxSettings mailboxSettings) {
+    this.mailboxSettings = mailboxSettings;
+  }
+
+  /**
+   * @return the number of externally submitted jobs which are not yet picked up, only tracked if
+   *     the mailbox is bounded or has watermarks
+   */
+  public int getMailboxSize() {
+    return Math.max(0, mailboxSize);
+  }
+
+  public boolean isMailboxAboveHighWatermark() {
+    return mailboxAboveHighWatermark;
+  }
+
+  public void registerMailboxListener(final ActorCondition listener) {
+    mailboxListeners.registerConsumer(listener);
+  }
+
+  public void removeMailboxListener(final ActorCondition listener) {
+    mailboxListeners.removeConsumer(listener);
+  }
+
   public ActorExecutor getActorExecutor() {
     return actorExecutor;
   }
@@ -555,6 +1010,13 @@ public class ActorTask {
     return lifecyclePhase;
   }
 
+  /**
+   * @return the metrics of this actor or null if metrics are disabled or the actor is closed
+   */
+  public ActorTaskMetrics getMetrics() {
+    return metrics;
+  }
+
   public CompletableActorFuture<Void> getStartingFuture() {
     return startingFuture;
   }
@@ -609,5 +1071,8 @@ public class ActorTask {
 
   public void insertJob(final ActorJob job) {
     fastLaneJobs.addFirst(job);
+    if (mailboxBatchRemaining > 0) {
+      fastLaneHeadJobs++;
+    }
   }
 }
@@ -20,44 +20,6 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
 
-@SuppressWarnings("restriction")
-class ActorTaskQueueNode {
-  protected static final VarHandle PREV_VAR_HANDLE;
-  protected static final VarHandle NEXT_VAR_HANDLE;
-
-  static {
-    try {
-      final MethodHandles.Lookup lookup = MethodHandles.lookup();
-      PREV_VAR_HANDLE =
-          lookup.findVarHandle(ActorTaskQueueNode.class, "prev", ActorTaskQueueNode.class);
-      NEXT_VAR_HANDLE =
-          lookup.findVarHandle(ActorTaskQueueNode.class, "next", ActorTaskQueueNode.class);
-    } catch (final Exception ex) {
-      throw new RuntimeException(ex);
-    }
-  }
-
-  volatile ActorTaskQueueNode next;
-  volatile ActorTaskQueueNode prev;
-
-  long stateCount;
-  ActorTask task;
-
-  void nextOrdered(final ActorTaskQueueNode t) {
-    assert t != this;
-    NEXT_VAR_HANDLE.setRelease(this, t);
-  }
-
-  void prevOrdered(final ActorTaskQueueNode t) {
-    assert t != this;
-    PREV_VAR_HANDLE.setRelease(this, t);
-  }
-
-  public void setTask(final ActorTask task) {
-    this.task = task;
-  }
-}
-
 @SuppressWarnings("restriction")
 class ActorTaskQueuePadding1 {
   protected static final VarHandle HEAD_VAR_HANDLE;
@@ -65,6 +27,8 @@ class ActorTaskQueuePadding1 {
   protected static final VarHandle PREV_VAR_HANDLE;
   protected static final VarHandle NEXT_VAR_HANDLE;
   protected static final VarHandle STATE_COUNT_VAR_HANDLE;
+  protected static final VarHandle APPEND_COUNT_VAR_HANDLE;
+  protected static final VarHandle POLL_COUNT_VAR_HANDLE;
 
   static {
     try {
@@ -78,6 +42,10 @@ class ActorTaskQueuePadding1 {
       NEXT_VAR_HANDLE =
           lookup.findVarHandle(ActorTaskQueueNode.class, "next", ActorTaskQueueNode.class);
       STATE_COUNT_VAR_HANDLE = lookup.findVarHandle(ActorTask.class, "stateCount", long.class);
+      APPEND_COUNT_VAR_HANDLE =
+          lookup.findVarHandle(ActorTaskQueueTail.class, "appendCount", long.class);
+      POLL_COUNT_VAR_HANDLE =
+          lookup.findVarHandle(ActorTaskQueueHead.class, "pollCount", long.class);
     } catch (final Exception ex) {
       throw new RuntimeException(ex);
     }
@@ -90,6 +58,9 @@ class ActorTaskQueuePadding1 {
 /** Value for the tail that is expected to be padded. */
 class ActorTaskQueueTail extends ActorTaskQueuePadding1 {
   protected volatile ActorTaskQueueNode tail;
+
+  /** on the cache line of the tail which the appenders write anyway */
+  protected volatile long appendCount;
 }
 
 /** Pad out a cache line between the tail and the head to prevent false sharing. */
@@ -101,6 +72,9 @@ class ActorTaskQueuePadding2 extends ActorTaskQueueTail {
 /** Value for the head that is expected to be padded. */
 class ActorTaskQueueHead extends ActorTaskQueuePadding2 {
   protected volatile ActorTaskQueueNode head;
+
+  /** only written by the consumer */
+  protected volatile long pollCount;
 }
 
 /** Adapted from Agrona's {@link ManyToOneConcurrentLinkedQueue}. */
@@ -110,21 +84,36 @@ public class ActorTaskQueue extends ActorTaskQueueHead {
   protected long p31, p32, p33, p34, p35, p36, p37, p38, p39, p40, p41, p42, p43, p44, p45;
 
   private final ActorTaskQueueNode empty = new ActorTaskQueueNode();
+  private final boolean sizeTracked;
 
   public ActorTaskQueue() {
+    this(true);
+  }
+
+  /**
+   * @param sizeTracked if false, {@link #sizeHint()} is always 0, which saves appenders an atomic
+   *     increment on the contended tail
+   */
+  public ActorTaskQueue(final boolean sizeTracked) {
+    this.sizeTracked = sizeTracked;
     headOrdered(empty);
     TAIL_VAR_HANDLE.setRelease(this, empty);
   }
 
-  /** appends a task at the end (tail) of the list */
+  /**
+   * appends a task at the end (tail) of the list. The node is taken from the pool of the current
+   * {@link ActorThread}, so appending from an actor thread does not produce garbage.
+   */
   public void append(final ActorTask task) {
-    // TODO: make garbage free again
-    final ActorTaskQueueNode tail = new ActorTaskQueueNode();
-    tail.task = task;
-    tail.stateCount = task.getStateCount();
+    final ActorTaskQueueNode tail = newNode();
+    tail.init(task, task.getStateCount());
+    if (sizeTracked) {
+      APPEND_COUNT_VAR_HANDLE.getAndAdd(this, 1L);
+    }
     final ActorTaskQueueNode previousTail = swapTail(tail);
-    previousTail.nextOrdered(tail);
+    // link prev before next: once the node is reachable from the head, its prev is set
     tail.prevOrdered(previousTail);
+    previousTail.nextOrdered(tail);
   }
 
   /**
@@ -137,17 +126,78 @@ public class ActorTaskQueue extends ActorTaskQueueHead {
     ActorTaskQueueNode node = tail;
 
     while (node != null && node != empty) {
+      final int sequence = node.sequence;
       final ActorTask task = node.task;
-      if (task.claim(node.stateCount)) {
+      final long stateCount = node.stateCount;
+      final ActorTaskQueueNode prev = node.prev;
+
+      VarHandle.loadLoadFence();
+      if ((sequence & 1) != 0 || sequence != node.sequence || task == null) {
+        // the node was recycled while reading it, give up for this round
+        return null;
+      }
+
+      if (task.claim(stateCount)) {
         return task;
       }
 
-      node = node.prev;
+      node = prev;
     }
 
     return null;
   }
 
+  /**
+   * Steals up to {@code maxTasks} tasks, starting at the tail. The first task is returned to be
+   * executed by the thief, the others are appended to the thief's own queue.
+   *
+   * @param maxTasks the maximum number of tasks to steal
+   * @param thiefQueue the queue of the thief, must be owned by the current thread
+   * @return the first stolen task or null if no task could be stolen
+   */
+  public ActorTask trySteal(final int maxTasks, final ActorTaskQueue thiefQueue) {
+    ActorTask firstTask = null;
+    int stolenTasks = 0;
+    ActorTaskQueueNode node = tail;
+
+    while (node != null && node != empty && stolenTasks < maxTasks) {
+      final int sequence = node.sequence;
+      final ActorTask task = node.task;
+      final long stateCount = node.stateCount;
+      final ActorTaskQueueNode prev = node.prev;
+
+      VarHandle.loadLoadFence();
+      if ((sequence & 1) != 0 || sequence != node.sequence || task == null) {
+        // the node was recycled while reading it, keep what we have so far
+        break;
+      }
+
+      if (task.claim(stateCount)) {
+        if (firstTask == null) {
+          firstTask = task;
+        } else {
+          // the task is claimed by us, re-queue it with its new state count
+          thiefQueue.append(task);
+        }
+        stolenTasks++;
+      }
+
+      node = prev;
+    }
+
+    return firstTask;
+  }
+
+  /**
+   * @return the number of entries in the queue at some recent point in time. Includes entries of
+   *     tasks which were stolen or scheduled again in the meantime, hence only a hint. Always 0 if
+   *     the size is not tracked.
+   */
+  public int sizeHint() {
+    final long size = appendCount - pollCount;
+    return (int) Math.max(0, Math.min(Integer.MAX_VALUE, size));
+  }
+
   public ActorTask pop() {
     ActorTask task = null;
     ActorTaskQueueNode node = null;
@@ -157,7 +207,14 @@ public class ActorTaskQueue extends ActorTaskQueueHead {
 
       if (node != empty && node != null) {
         final ActorTask t = node.task;
-        if (t.claim(node.stateCount)) {
+        final boolean claimed = t.claim(node.stateCount);
+
+        if (node != head) {
+          // the queue was reset to empty, the node is not linked anymore
+          recycleNode(node);
+        }
+
+        if (claimed) {
           task = t;
           break;
         }
@@ -174,8 +231,13 @@ public class ActorTaskQueue extends ActorTaskQueueHead {
 
     if (null != next) {
       value = next;
+      if (sizeTracked) {
+        POLL_COUNT_VAR_HANDLE.setRelease(this, pollCount + 1);
+      }
       head.prevOrdered(null);
       head.nextOrdered(null);
+      // the new head must not point back to the node which is recycled below
+      next.prevOrdered(null);
 
       if (null == next.next) {
         final ActorTaskQueueNode tail = this.tail;
@@ -185,11 +247,28 @@ public class ActorTaskQueue extends ActorTaskQueueHead {
       }
 
       headOrdered(next);
+
+      if (head != empty) {
+        recycleNode(head);
+      }
     }
 
     return value;
   }
 
+  private static ActorTaskQueueNode newNode() {
+    final ActorThread current = ActorThread.current();
+    return current != null ? current.newTaskQueueNode() : new ActorTaskQueueNode();
+  }
+
+  private static void recycleNode(final ActorTaskQueueNode node) {
+    final ActorThread current = ActorThread.current();
+    if (current != null) {
+      node.clear();
+      current.recycleTaskQueueNode(node);
+    }
+  }
+
   public ActorTaskQueueNode peek() {
     final ActorTaskQueueNode next = head.next;
     return next == empty ? null : next;
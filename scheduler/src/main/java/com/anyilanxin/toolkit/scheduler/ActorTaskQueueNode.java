@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+@SuppressWarnings("restriction")
+class ActorTaskQueueNode {
+  protected static final VarHandle PREV_VAR_HANDLE;
+  protected static final VarHandle NEXT_VAR_HANDLE;
+
+  static {
+    try {
+      final MethodHandles.Lookup lookup = MethodHandles.lookup();
+      PREV_VAR_HANDLE =
+          lookup.findVarHandle(ActorTaskQueueNode.class, "prev", ActorTaskQueueNode.class);
+      NEXT_VAR_HANDLE =
+          lookup.findVarHandle(ActorTaskQueueNode.class, "next", ActorTaskQueueNode.class);
+    } catch (final Exception ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  volatile ActorTaskQueueNode next;
+  volatile ActorTaskQueueNode prev;
+
+  /**
+   * incremented before and after the node is re-initialized (odd while the fields are written).
+   * Nodes are recycled, so a thief which still holds a reference to a recycled node uses the
+   * sequence to detect that it read the fields of a different incarnation.
+   */
+  volatile int sequence;
+
+  long stateCount;
+  ActorTask task;
+
+  void init(final ActorTask task, final long stateCount) {
+    final int sequence = this.sequence;
+    this.sequence = sequence + 1;
+    VarHandle.storeStoreFence();
+
+    this.task = task;
+    this.stateCount = stateCount;
+    NEXT_VAR_HANDLE.setRelease(this, null);
+    PREV_VAR_HANDLE.setRelease(this, null);
+
+    this.sequence = sequence + 2;
+  }
+
+  /** called before the node is pooled, so the pool does not keep the task reachable */
+  void clear() {
+    final int sequence = this.sequence;
+    this.sequence = sequence + 1;
+    VarHandle.storeStoreFence();
+
+    task = null;
+
+    this.sequence = sequence + 2;
+  }
+
+  void nextOrdered(final ActorTaskQueueNode t) {
+    assert t != this;
+    NEXT_VAR_HANDLE.setRelease(this, t);
+  }
+
+  void prevOrdered(final ActorTaskQueueNode t) {
+    assert t != this;
+    PREV_VAR_HANDLE.setRelease(this, t);
+  }
+
+  public void setTask(final ActorTask task) {
+    this.task = task;
+  }
+}
@@ -32,16 +32,18 @@
  */
 package com.anyilanxin.toolkit.scheduler;
 
+import com.anyilanxin.toolkit.scheduler.ActorTask.ActorLifecyclePhase;
 import com.anyilanxin.toolkit.scheduler.clock.ActorClock;
 import com.anyilanxin.toolkit.scheduler.clock.DefaultActorClock;
+import com.anyilanxin.toolkit.scheduler.metrics.ActorThreadMetrics;
+import com.anyilanxin.toolkit.scheduler.recorder.FlightRecorder;
 import com.anyilanxin.toolkit.util.BoundedArrayQueue;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
-import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
 import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
 import org.slf4j.MDC;
 
@@ -51,6 +53,7 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
   private volatile ActorThreadState state;
 
   private static final VarHandle STATE_VAR_HANDLE;
+  private static final VarHandle JOB_SEQUENCE_VAR_HANDLE;
 
   private final CompletableFuture<Void> terminationFuture = new CompletableFuture<>();
 
@@ -63,6 +66,8 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
     try {
       STATE_VAR_HANDLE =
           MethodHandles.lookup().findVarHandle(ActorThread.class, "state", ActorThreadState.class);
+      JOB_SEQUENCE_VAR_HANDLE =
+          MethodHandles.lookup().findVarHandle(ActorThread.class, "jobSequence", long.class);
     } catch (final Exception e) {
       throw new RuntimeException(e);
     }
@@ -72,29 +77,61 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
 
   private final TaskScheduler taskScheduler;
 
-  protected final ActorTimerQueue timerJobQueue;
+  protected final TimerQueue timerJobQueue;
 
   private final BoundedArrayQueue<ActorJob> jobs = new BoundedArrayQueue<>(2048);
+  private final BoundedArrayQueue<ActorTaskQueueNode> taskQueueNodes =
+      new BoundedArrayQueue<>(2048);
   private final ActorThreadGroup actorThreadGroup;
 
-  protected ActorTaskRunnerIdleStrategy idleStrategy = new ActorTaskRunnerIdleStrategy();
+  protected ActorTaskRunnerIdleStrategy idleStrategy;
 
   ActorTask currentTask;
 
+  /** null if metrics are disabled */
+  private ActorThreadMetrics metrics;
+
+  /** null if the flight recorder is disabled */
+  private FlightRecorder flightRecorder;
+
+  /** how long a job which runs until done may loop before it is re-enqueued, 0 if unlimited */
+  int jobIterationBudget;
+
+  long jobTimeBudgetNanos;
+
+  /** whether the job sequence is recorded for the {@link ActorStallWatchdog} */
+  private boolean stallDetection;
+
+  /**
+   * incremented when a job starts and when it ends, so it is odd while a job is executed; written
+   * by this thread only
+   */
+  private volatile long jobSequence;
+
+  /** set by the {@link ActorStallWatchdog} while the current job blocks this thread */
+  private volatile boolean stalled;
+
   public ActorThread(
       final String name,
       final int id,
       final ActorThreadGroup threadGroup,
       final TaskScheduler taskScheduler,
       final ActorClock clock,
-      final ActorTimerQueue timerQueue) {
+      final TimerQueue timerQueue) {
     setName(name);
     state = ActorThreadState.NEW;
     threadId = id;
     this.clock = clock != null ? clock : new DefaultActorClock();
-    timerJobQueue = timerQueue != null ? timerQueue : new ActorTimerQueue(this.clock);
+    if (timerQueue != null) {
+      timerJobQueue = timerQueue;
+    } else if (threadGroup != null) {
+      timerJobQueue = threadGroup.newTimerQueue(this.clock);
+    } else {
+      timerJobQueue = new ActorTimerQueue(this.clock);
+    }
     actorThreadGroup = threadGroup;
     this.taskScheduler = taskScheduler;
+    idleStrategy = new ActorTaskRunnerIdleStrategy();
   }
 
   @Override
@@ -117,16 +154,27 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
   private void doWork() {
     submittedCallbacks.drain(this);
 
-    if (clock.update()) {
+    if (clock.update() || timerJobQueue.hasExpiryBacklog()) {
       timerJobQueue.processExpiredTimers(clock);
     }
 
+    if (threadId == 0 && actorThreadGroup != null && actorThreadGroup.isElastic()) {
+      actorThreadGroup.evaluateActiveThreads(clock.getNanoTime());
+    }
+
     currentTask = taskScheduler.getNextTask(clock);
 
     if (currentTask != null) {
+      final long startNanos = clock.getNanoTime();
+      final ActorLifecyclePhase phase = currentTask.getLifecyclePhase();
       try {
         executeCurrentTask();
       } finally {
+        // the clock is updated after the execution
+        if (flightRecorder != null) {
+          flightRecorder.onTaskExecuted(
+              currentTask, phase, startNanos, clock.getNanoTime() - startNanos);
+        }
         taskScheduler.onTaskReleased(currentTask);
       }
     } else {
@@ -138,6 +186,10 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
     MDC.put("actor-name", currentTask.getName());
     idleStrategy.onTaskExecuted();
 
+    if (metrics != null) {
+      metrics.onTaskExecuted();
+    }
+
     boolean resubmit = false;
 
     try {
@@ -164,17 +216,39 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
     idleStrategy.hintWorkAvailable();
   }
 
+  /**
+   * @return true if the thread found no task on its last attempt
+   */
+  boolean isIdle() {
+    return idleStrategy.isIdle;
+  }
+
+  /**
+   * @return false if the thread is retired by its elastic thread group, it does not steal tasks
+   *     then
+   */
+  boolean isActive() {
+    return actorThreadGroup == null || actorThreadGroup.isActive(threadId);
+  }
+
   protected class ActorTaskRunnerIdleStrategy {
-    final BackoffIdleStrategy backoff =
-        new BackoffIdleStrategy(100, 100, 1, TimeUnit.MILLISECONDS.toNanos(1));
-    boolean isIdle;
+    final IdleStrategy backoff;
+    volatile boolean isIdle;
+
+    protected ActorTaskRunnerIdleStrategy() {
+      backoff =
+          actorThreadGroup != null
+              ? actorThreadGroup.newIdleStrategy()
+              : ActorThreadGroup.newDefaultIdleStrategy();
+    }
 
     long idleTimeStart;
     long busyTimeStart;
 
     void init() {
       isIdle = true;
-      idleTimeStart = System.nanoTime();
+      clock.update();
+      idleTimeStart = clock.getNanoTime();
     }
 
     public void hintWorkAvailable() {
@@ -186,6 +260,10 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
         clock.update();
         idleTimeStart = clock.getNanoTime();
         isIdle = true;
+
+        if (metrics != null) {
+          metrics.onBusyPeriodEnded(idleTimeStart - busyTimeStart);
+        }
       }
 
       backoff.idle();
@@ -197,6 +275,10 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
       if (isIdle) {
         busyTimeStart = clock.getNanoTime();
         isIdle = false;
+
+        if (metrics != null) {
+          metrics.onIdlePeriodEnded(busyTimeStart - idleTimeStart);
+        }
       }
     }
   }
@@ -246,6 +328,108 @@ public class ActorThread extends Thread implements Consumer<Runnable> {
     jobs.offer(j);
   }
 
+  ActorTaskQueueNode newTaskQueueNode() {
+    ActorTaskQueueNode node = taskQueueNodes.poll();
+
+    if (node == null) {
+      node = new ActorTaskQueueNode();
+    }
+
+    return node;
+  }
+
+  void recycleTaskQueueNode(final ActorTaskQueueNode node) {
+    taskQueueNodes.offer(node);
+  }
+
+  void onTaskStolen(final ActorTask task) {
+    if (metrics != null) {
+      metrics.onTaskStolen();
+    }
+    if (flightRecorder != null) {
+      flightRecorder.onTaskStolen(task, clock.getNanoTime());
+    }
+  }
+
+  void onTaskWokenUp(final ActorTask task) {
+    if (flightRecorder != null) {
+      flightRecorder.onTaskWokenUp(task, clock.getNanoTime());
+    }
+  }
+
+  void setJobBudget(final int iterations, final long timeNanos) {
+    jobIterationBudget = iterations;
+    jobTimeBudgetNanos = timeNanos;
+  }
+
+  void onJobStarted() {
+    if (stallDetection) {
+      incrementJobSequence();
+    }
+  }
+
+  void onJobEnded() {
+    if (stallDetection) {
+      incrementJobSequence();
+    }
+  }
+
+  private void incrementJobSequence() {
+    // only this thread writes the sequence, the watchdog needs no stronger ordering
+    JOB_SEQUENCE_VAR_HANDLE.setRelease(this, (long) JOB_SEQUENCE_VAR_HANDLE.getOpaque(this) + 1);
+  }
+
+  long getJobSequence() {
+    return jobSequence;
+  }
+
+  static boolean isJobRunning(final long jobSequence) {
+    return (jobSequence & 1) == 1;
+  }
+
+  void setStallDetection(final boolean stallDetection) {
+    this.stallDetection = stallDetection;
+  }
+
+  void setStalled(final boolean stalled) {
+    if (this.stalled != stalled) {
+      this.stalled = stalled;
+      if (stalled && metrics != null) {
+        metrics.onStallDetected();
+      }
+    }
+  }
+
+  /**
+   * @return true if the {@link ActorStallWatchdog} detected that the current job blocks this thread
+   */
+  public boolean isStalled() {
+    return stalled;
+  }
+
+  void setMetrics(final ActorThreadMetrics metrics) {
+    this.metrics = metrics;
+    timerJobQueue.setMetrics(metrics);
+  }
+
+  void setFlightRecorder(final FlightRecorder flightRecorder) {
+    this.flightRecorder = flightRecorder;
+  }
+
+  /**
+   * @return the flight recorder of this thread or null if it is disabled
+   */
+  public FlightRecorder getFlightRecorder() {
+    return flightRecorder;
+  }
+
+  /**
+   * @return the metrics of this thread or null if metrics are disabled
+   */
+  public ActorThreadMetrics getMetrics() {
+    return metrics;
+  }
+
   public int getRunnerId() {
     return threadId;
   }
@@ -17,14 +17,25 @@
 package com.anyilanxin.toolkit.scheduler;
 
 import com.anyilanxin.toolkit.scheduler.ActorScheduler.ActorSchedulerBuilder;
+import com.anyilanxin.toolkit.scheduler.clock.ActorClock;
+import com.anyilanxin.toolkit.scheduler.metrics.ActorSchedulerMetrics;
+import com.anyilanxin.toolkit.scheduler.recorder.FlightRecorder;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
 
 /**
  * A thread group is a group of threads which process the same kind of tasks (ie. blocking I/O vs.
  * CPU bound).
  */
 public abstract class ActorThreadGroup {
+  private static final int RETIRE_AFTER_IDLE_EVALUATIONS = 3;
+
   protected final String groupName;
 
   protected int numOfThreads;
@@ -32,17 +43,72 @@ public abstract class ActorThreadGroup {
   protected final ActorThread[] threads;
   protected final MultiLevelWorkstealingGroup tasks;
 
+  private final Supplier<IdleStrategy> idleStrategySupplier;
+  private final Function<ActorClock, TimerQueue> timerQueueFactory;
+  private final boolean actorThreadAffinity;
+  private final boolean avoidStalledThreads;
+
+  /**
+   * the threads with an id below take tasks, the others are retired (see {@link
+   * ActorSchedulerBuilder#setElasticCpuBoundActorThreadCount(int, int)})
+   */
+  private volatile int activeThreads;
+
+  private final int minActiveThreads;
+  private final long evaluationIntervalNanos;
+
+  // only accessed by the thread with id 0, which evaluates the number of active threads
+  private long nextEvaluationNanos;
+  private int idleEvaluations;
+
+  public ActorThreadGroup(
+      final String groupName,
+      final int numOfThreads,
+      final int numOfQueuesPerThread,
+      final ActorSchedulerBuilder builder) {
+    this(groupName, numOfThreads, numOfThreads, numOfQueuesPerThread, builder);
+  }
+
+  /**
+   * @param minActiveThreadCount the number of threads which are always active, the others are
+   *     activated on demand
+   */
   public ActorThreadGroup(
       final String groupName,
       final int numOfThreads,
+      final int minActiveThreadCount,
       final int numOfQueuesPerThread,
       final ActorSchedulerBuilder builder) {
     this.groupName = groupName;
     this.numOfThreads = numOfThreads;
 
-    tasks = new MultiLevelWorkstealingGroup(numOfThreads, numOfQueuesPerThread);
+    minActiveThreads = Math.max(1, Math.min(numOfThreads, minActiveThreadCount));
+    activeThreads = minActiveThreads;
+
+    // the elastic sizing reads the size hint of the queues
+    tasks =
+        new MultiLevelWorkstealingGroup(
+            numOfThreads,
+            numOfQueuesPerThread,
+            builder.getStealPolicy(),
+            builder.isStealHalf(),
+            isElastic());
+
+    final Supplier<IdleStrategy> idleStrategySupplier = getIdleStrategySupplier(builder);
+    this.idleStrategySupplier =
+        idleStrategySupplier != null
+            ? idleStrategySupplier
+            : ActorThreadGroup::newDefaultIdleStrategy;
+
+    final Function<ActorClock, TimerQueue> timerQueueFactory = builder.getActorTimerQueueFactory();
+    this.timerQueueFactory = timerQueueFactory != null ? timerQueueFactory : ActorTimerQueue::new;
+    actorThreadAffinity = builder.isActorThreadAffinity();
+    avoidStalledThreads = builder.isStallDetectionEnabled() && builder.isAvoidStalledThreads();
+
+    evaluationIntervalNanos = builder.getElasticThreadsEvaluationInterval().toNanos();
 
     threads = new ActorThread[numOfThreads];
+    final ActorSchedulerMetrics metrics = builder.getMetrics();
 
     for (int t = 0; t < numOfThreads; t++) {
       final String threadName = String.format("%s-%d", groupName, t);
@@ -59,6 +125,22 @@ public abstract class ActorThreadGroup {
                   builder.getActorClock(),
                   builder.getActorTimerQueue());
 
+      if (metrics != null) {
+        thread.setMetrics(metrics.newThreadMetrics(threadName));
+      }
+
+      if (builder.getFlightRecorderCapacity() > 0) {
+        thread.setFlightRecorder(
+            new FlightRecorder(threadName, builder.getFlightRecorderCapacity()));
+      }
+
+      if (builder.getTimerExpiryBudget() > 0) {
+        thread.timerJobQueue.setExpiryBudget(builder.getTimerExpiryBudget());
+      }
+
+      thread.setJobBudget(builder.getJobIterationBudget(), builder.getJobTimeBudget().toNanos());
+      thread.setStallDetection(builder.isStallDetectionEnabled());
+
       threads[t] = thread;
     }
   }
@@ -70,17 +152,141 @@ public abstract class ActorThreadGroup {
     final int level = getLevel(actorTask);
 
     final ActorThread current = ActorThread.current();
-    if (current != null && current.getActorThreadGroup() == this) {
+    if (current != null
+        && current.getActorThreadGroup() == this
+        && isActive(current.getRunnerId())) {
       tasks.submit(actorTask, level, current.getRunnerId());
     } else {
-      final int threadId = ThreadLocalRandom.current().nextInt(numOfThreads);
+      final int threadId = getThreadIdForExternalSubmit(actorTask);
       tasks.submit(actorTask, level, threadId);
       threads[threadId].hintWorkAvailable();
     }
   }
 
+  private int getThreadIdForExternalSubmit(final ActorTask actorTask) {
+    final int activeThreads = this.activeThreads;
+
+    int threadId = -1;
+    if (actorThreadAffinity) {
+      // prefer the thread which ran the actor before, its caches are still warm; other threads
+      // can steal the task if that thread is busy
+      final int lastRunnerId = actorTask.getLastRunnerId();
+      if (lastRunnerId >= 0 && lastRunnerId < activeThreads) {
+        threadId = lastRunnerId;
+      }
+    }
+
+    if (threadId < 0) {
+      threadId = ThreadLocalRandom.current().nextInt(activeThreads);
+    }
+
+    return avoidStalledThreads ? skipStalledThreads(threadId, activeThreads) : threadId;
+  }
+
+  /**
+   * @return the given thread or the next active one which is not stalled; the given thread if all
+   *     of them are stalled
+   */
+  private int skipStalledThreads(final int threadId, final int activeThreads) {
+    for (int i = 0; i < activeThreads; i++) {
+      final int candidate = (threadId + i) % activeThreads;
+      if (!threads[candidate].isStalled()) {
+        return candidate;
+      }
+    }
+    return threadId;
+  }
+
+  /**
+   * @return false if the thread is retired: it still executes the tasks of its own queue, but does
+   *     not steal and is not selected for new tasks
+   */
+  boolean isActive(final int threadId) {
+    return threadId < activeThreads;
+  }
+
+  public int getActiveThreadCount() {
+    return activeThreads;
+  }
+
+  boolean isElastic() {
+    return minActiveThreads < numOfThreads;
+  }
+
+  /**
+   * Called by the thread with id 0 on each iteration. Activates one more thread if tasks queue up
+   * while all active threads are busy, or retires one if the queues were empty and at least half of
+   * the active threads were idle on the last evaluations.
+   */
+  void evaluateActiveThreads(final long nowNanos) {
+    if (nowNanos < nextEvaluationNanos) {
+      return;
+    }
+    nextEvaluationNanos = nowNanos + evaluationIntervalNanos;
+
+    final int active = activeThreads;
+    final int queuedTasks = tasks.sizeHint();
+    int idleThreads = 0;
+    for (int t = 0; t < active; t++) {
+      if (threads[t].isIdle()) {
+        idleThreads++;
+      }
+    }
+
+    if (queuedTasks > active && idleThreads == 0 && active < numOfThreads) {
+      activeThreads = active + 1;
+      idleEvaluations = 0;
+      threads[active].hintWorkAvailable();
+    } else if (queuedTasks == 0 && idleThreads * 2 >= active && active > minActiveThreads) {
+      if (++idleEvaluations >= RETIRE_AFTER_IDLE_EVALUATIONS) {
+        // the retired thread drains its queue on its own, others may steal from it meanwhile
+        activeThreads = active - 1;
+        idleEvaluations = 0;
+      }
+    } else {
+      idleEvaluations = 0;
+    }
+  }
+
   protected abstract int getLevel(ActorTask actorTask);
 
+  /**
+   * @return the idle strategy configured for this group or null for the default one
+   */
+  protected Supplier<IdleStrategy> getIdleStrategySupplier(final ActorSchedulerBuilder builder) {
+    return null;
+  }
+
+  /**
+   * @return a new idle strategy for one of the threads of this group
+   */
+  IdleStrategy newIdleStrategy() {
+    return idleStrategySupplier.get();
+  }
+
+  /**
+   * @return a new timer queue for one of the threads of this group
+   */
+  TimerQueue newTimerQueue(final ActorClock clock) {
+    return timerQueueFactory.apply(clock);
+  }
+
+  static IdleStrategy newDefaultIdleStrategy() {
+    return new BackoffIdleStrategy(100, 100, 1, TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  /**
+   * @param recorders receives the flight recorders of the threads of this group, if enabled
+   */
+  void collectFlightRecorders(final List<FlightRecorder> recorders) {
+    for (final ActorThread thread : threads) {
+      final FlightRecorder recorder = thread.getFlightRecorder();
+      if (recorder != null) {
+        recorders.add(recorder);
+      }
+    }
+  }
+
   public String getGroupName() {
     return groupName;
   }
@@ -17,13 +17,15 @@
 package com.anyilanxin.toolkit.scheduler;
 
 import com.anyilanxin.toolkit.scheduler.clock.ActorClock;
+import com.anyilanxin.toolkit.scheduler.metrics.ActorThreadMetrics;
 import java.util.concurrent.TimeUnit;
 import org.agrona.DeadlineTimerWheel;
 import org.agrona.collections.Long2ObjectHashMap;
 
-public class ActorTimerQueue extends DeadlineTimerWheel {
+public class ActorTimerQueue extends DeadlineTimerWheel implements TimerQueue {
   private static final int DEFAULT_TICKS_PER_WHEEL = 32;
   private final Long2ObjectHashMap<TimerSubscription> timerJobMap = new Long2ObjectHashMap<>();
+  private final TimerExpiry expiry = new TimerExpiry();
 
   private final TimerHandler timerHandler =
       new TimerHandler() {
@@ -32,7 +34,7 @@ public class ActorTimerQueue extends DeadlineTimerWheel {
           final TimerSubscription timer = timerJobMap.remove(timerId);
 
           if (timer != null) {
-            timer.onTimerExpired(timeUnit, now);
+            expiry.expire(timer, now);
           }
 
           return true;
@@ -47,24 +49,58 @@ public class ActorTimerQueue extends DeadlineTimerWheel {
     super(TimeUnit.MILLISECONDS, clock.getTimeMillis(), 1, ticksPerWheel);
   }
 
+  @Override
   public void processExpiredTimers(final ActorClock clock) {
+    final long now = clock.getTimeMillis();
+    int remainingBudget = expiry.getBudget();
+
     int timersProcessed = 0;
+    boolean tickAdvanced = false;
 
+    // a poll scans the current tick and then advances the wheel by at most one tick, keep polling
+    // until it caught up with now
     do {
-      timersProcessed = poll(clock.getTimeMillis(), timerHandler, Integer.MAX_VALUE);
-    } while (timersProcessed > 0);
+      tickAdvanced = currentTickTime() <= now;
+      timersProcessed = poll(now, timerHandler, remainingBudget);
+      remainingBudget -= timersProcessed;
+    } while (remainingBudget > 0 && timerCount() > 0 && (timersProcessed > 0 || tickAdvanced));
+
+    if (timerCount() == 0 && currentTickTime() <= now) {
+      // nothing to expire in between, no need to walk there tick by tick
+      resetStartTime(now);
+    }
+
+    expiry.onBudgetRemaining(remainingBudget);
+  }
+
+  @Override
+  public boolean hasExpiryBacklog() {
+    return expiry.hasBacklog();
+  }
+
+  @Override
+  public void setExpiryBudget(final int expiryBudget) {
+    expiry.setBudget(expiryBudget);
+  }
+
+  @Override
+  public void setMetrics(final ActorThreadMetrics metrics) {
+    expiry.setMetrics(metrics);
   }
 
+  @Override
   public void schedule(final TimerSubscription timer, final ActorClock now) {
     final long deadline =
         now.getTimeMillis() + timeUnit().convert(timer.getDeadline(), timer.getTimeUnit());
 
     final long timerId = scheduleTimer(deadline);
     timer.setTimerId(timerId);
+    timer.timerDeadlineMillis = deadline;
 
     timerJobMap.put(timerId, timer);
   }
 
+  @Override
   public void remove(final TimerSubscription timer) {
     final long timerId = timer.getTimerId();
 
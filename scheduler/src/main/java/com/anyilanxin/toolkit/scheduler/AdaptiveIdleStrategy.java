@@ -0,0 +1,144 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.agrona.concurrent.IdleStrategy;
+
+/**
+ * Idle strategy which spins as long as new work is expected to arrive soon and parks otherwise.
+ *
+ * <p>It keeps a moving average of how long the thread stayed idle before work arrived (the
+ * inter-arrival time of work as seen by the thread). If that is shorter than the maximum spin time,
+ * the thread spins for up to twice the average before it starts parking, so it does not pay the
+ * park/unpark latency when work arrives at a high rate. If work arrives rarely, it spins only for
+ * the minimum time and parks right after, which saves CPU. Park times grow exponentially up to the
+ * maximum.
+ *
+ * <p>Not thread safe, every thread needs its own instance.
+ */
+public final class AdaptiveIdleStrategy implements IdleStrategy {
+  public static final long DEFAULT_MIN_SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+  public static final long DEFAULT_MAX_SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+  public static final long DEFAULT_MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+  public static final long DEFAULT_MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  /** weight of a new sample in the moving average, as a shift: 1/8 */
+  private static final int AVERAGE_SHIFT = 3;
+
+  private final long minSpinNanos;
+  private final long maxSpinNanos;
+  private final long minParkNanos;
+  private final long maxParkNanos;
+
+  private long idleStartNanos;
+  private boolean isIdle;
+  private long averageIdleNanos;
+  private long parkNanos;
+
+  public AdaptiveIdleStrategy() {
+    this(
+        DEFAULT_MIN_SPIN_NANOS,
+        DEFAULT_MAX_SPIN_NANOS,
+        DEFAULT_MIN_PARK_NANOS,
+        DEFAULT_MAX_PARK_NANOS);
+  }
+
+  public AdaptiveIdleStrategy(
+      final long minSpinNanos,
+      final long maxSpinNanos,
+      final long minParkNanos,
+      final long maxParkNanos) {
+    if (minSpinNanos < 0 || maxSpinNanos < minSpinNanos) {
+      throw new IllegalArgumentException(
+          "Expected 0 <= minSpinNanos <= maxSpinNanos, but got "
+              + minSpinNanos
+              + " and "
+              + maxSpinNanos);
+    }
+    if (minParkNanos <= 0 || maxParkNanos < minParkNanos) {
+      throw new IllegalArgumentException(
+          "Expected 0 < minParkNanos <= maxParkNanos, but got "
+              + minParkNanos
+              + " and "
+              + maxParkNanos);
+    }
+
+    this.minSpinNanos = minSpinNanos;
+    this.maxSpinNanos = maxSpinNanos;
+    this.minParkNanos = minParkNanos;
+    this.maxParkNanos = maxParkNanos;
+    // start optimistic: spin for the full time until the first samples are in
+    averageIdleNanos = maxSpinNanos / 2;
+  }
+
+  @Override
+  public void idle(final int workCount) {
+    if (workCount > 0) {
+      reset();
+    } else {
+      idle();
+    }
+  }
+
+  @Override
+  public void idle() {
+    final long now = System.nanoTime();
+
+    if (!isIdle) {
+      isIdle = true;
+      idleStartNanos = now;
+      parkNanos = minParkNanos;
+    }
+
+    if (now - idleStartNanos < getSpinNanos()) {
+      Thread.onSpinWait();
+    } else {
+      LockSupport.parkNanos(parkNanos);
+      parkNanos = Math.min(parkNanos << 1, maxParkNanos);
+    }
+  }
+
+  @Override
+  public void reset() {
+    if (isIdle) {
+      isIdle = false;
+      final long idleNanos = System.nanoTime() - idleStartNanos;
+      averageIdleNanos += (idleNanos - averageIdleNanos) >> AVERAGE_SHIFT;
+    }
+  }
+
+  /**
+   * @return how long the thread spins before parking, based on the observed idle times
+   */
+  public long getSpinNanos() {
+    final long average = averageIdleNanos;
+
+    if (average > maxSpinNanos) {
+      // work arrives rarely, spinning would only burn CPU
+      return minSpinNanos;
+    }
+
+    return Math.max(minSpinNanos, Math.min(maxSpinNanos, average << 1));
+  }
+
+  @Override
+  public String alias() {
+    return "adaptive";
+  }
+}
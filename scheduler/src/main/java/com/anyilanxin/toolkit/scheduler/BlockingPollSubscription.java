@@ -16,6 +16,10 @@
  */
 package com.anyilanxin.toolkit.scheduler;
 
+import com.anyilanxin.toolkit.scheduler.jfr.BlockingTaskEvent;
+import com.anyilanxin.toolkit.scheduler.jfr.SchedulerEvents;
+import java.util.concurrent.RejectedExecutionException;
+
 public class BlockingPollSubscription implements ActorSubscription, Runnable {
   private final ActorJob subscriptionJob;
   private final Runnable blockingAction;
@@ -52,16 +56,36 @@ public class BlockingPollSubscription implements ActorSubscription, Runnable {
 
   @Override
   public void run() {
+    final BlockingTaskEvent event = SchedulerEvents.beginBlockingTask();
     try {
       blockingAction.run();
     } catch (final Exception e) {
       e.printStackTrace();
       // TODO: what now?
     } finally {
+      if (event != null) {
+        SchedulerEvents.onBlockingTaskCompleted(event, subscriptionJob.getTask());
+      }
       onBlockingActionCompleted();
     }
   }
 
+  /**
+   * Called instead of {@link #run()} if the blocking tasks runner is shut down before the action
+   * started. The action is completed with a {@link RejectedExecutionException}, so the actor is not
+   * left waiting for it.
+   */
+  public void onRejected() {
+    if (blockingAction instanceof RunnableAdapter) {
+      ((RunnableAdapter<?>) blockingAction)
+          .setException(
+              new RejectedExecutionException(
+                  "Expected to run the blocking action, but the blocking tasks runner was shut"
+                      + " down"));
+    }
+    onBlockingActionCompleted();
+  }
+
   private void onBlockingActionCompleted() {
     isDone = true;
     subscriptionJob.getTask().tryWakeup();
@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Limits how many tasks of the wrapped executor run at the same time. Submitting never blocks: the
+ * permit is acquired by the task itself once it is started, which is meant for executors which
+ * start a virtual thread per task. Tasks beyond the limit wait as parked virtual threads. A task
+ * which is interrupted while waiting, e.g. by {@link #shutdownNow()}, is not run but passed to the
+ * rejected task handler.
+ */
+public class ConcurrencyLimitedExecutorService extends AbstractExecutorService {
+  private final ExecutorService delegate;
+  private final Semaphore permits;
+  private final Consumer<Runnable> rejectedTaskHandler;
+
+  /** Cancels the rejected tasks which are futures, e.g. of {@link #submit(Runnable)}. */
+  public ConcurrencyLimitedExecutorService(
+      final ExecutorService delegate, final int maxConcurrentTasks) {
+    this(delegate, maxConcurrentTasks, ConcurrencyLimitedExecutorService::cancelIfFuture);
+  }
+
+  /**
+   * @param rejectedTaskHandler called on the thread of a task which is interrupted while waiting
+   *     for a permit, instead of running the task
+   */
+  public ConcurrencyLimitedExecutorService(
+      final ExecutorService delegate,
+      final int maxConcurrentTasks,
+      final Consumer<Runnable> rejectedTaskHandler) {
+    if (maxConcurrentTasks <= 0) {
+      throw new IllegalArgumentException(
+          "Expected maxConcurrentTasks to be greater than 0, but got " + maxConcurrentTasks);
+    }
+
+    this.delegate = delegate;
+    this.rejectedTaskHandler = rejectedTaskHandler;
+    permits = new Semaphore(maxConcurrentTasks);
+  }
+
+  @Override
+  public void execute(final Runnable command) {
+    delegate.execute(() -> runWithPermit(command));
+  }
+
+  private void runWithPermit(final Runnable command) {
+    try {
+      permits.acquire();
+    } catch (final InterruptedException e) {
+      // executor is shut down, the task is not run
+      Thread.currentThread().interrupt();
+      rejectedTaskHandler.accept(command);
+      return;
+    }
+
+    try {
+      command.run();
+    } finally {
+      permits.release();
+    }
+  }
+
+  private static void cancelIfFuture(final Runnable task) {
+    if (task instanceof Future) {
+      ((Future<?>) task).cancel(false);
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return delegate.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(final long timeout, final TimeUnit unit)
+      throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+}
@@ -17,6 +17,8 @@
 package com.anyilanxin.toolkit.scheduler;
 
 import com.anyilanxin.toolkit.scheduler.ActorScheduler.ActorSchedulerBuilder;
+import java.util.function.Supplier;
+import org.agrona.concurrent.IdleStrategy;
 
 /** Thread group for the non-blocking, CPU bound, tasks. */
 public class CpuThreadGroup extends ActorThreadGroup {
@@ -25,6 +27,7 @@ public class CpuThreadGroup extends ActorThreadGroup {
     super(
         String.format("%s-%s", builder.getSchedulerName(), "zb-actors"),
         builder.getCpuBoundActorThreadCount(),
+        builder.getMinCpuBoundActorThreadCount(),
         builder.getPriorityQuotas().length,
         builder);
   }
@@ -32,11 +35,22 @@ public class CpuThreadGroup extends ActorThreadGroup {
   @Override
   protected TaskScheduler createTaskScheduler(
       final MultiLevelWorkstealingGroup tasks, final ActorSchedulerBuilder builder) {
-    return new PriorityScheduler(tasks::getNextTask, builder.getPriorityQuotas());
+    final PriorityWeights priorityWeights = builder.getPriorityWeights();
+    final TaskScheduler priorityScheduler =
+        priorityWeights != null
+            ? new WeightedFairScheduler(tasks::getNextTask, priorityWeights)
+            : new PriorityScheduler(tasks::getNextTask, builder.getPriorityQuotas());
+
+    return new DeadlineScheduler(tasks, priorityScheduler);
   }
 
   @Override
   protected int getLevel(final ActorTask actorTask) {
-    return actorTask.getPriority();
+    return actorTask.hasPendingDeadlineJobs() ? tasks.getDeadlineLevel() : actorTask.getPriority();
+  }
+
+  @Override
+  protected Supplier<IdleStrategy> getIdleStrategySupplier(final ActorSchedulerBuilder builder) {
+    return builder.getCpuBoundIdleStrategy();
   }
 }
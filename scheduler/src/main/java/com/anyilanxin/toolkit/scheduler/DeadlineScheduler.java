@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+import com.anyilanxin.toolkit.scheduler.clock.ActorClock;
+
+/**
+ * Executes the tasks of the deadline level of a {@link MultiLevelWorkstealingGroup} earliest
+ * deadline first, before any task of the other levels, which are scheduled by the given scheduler.
+ * Each {@link ActorThread} maintains a local instance of this class.
+ */
+public class DeadlineScheduler implements TaskScheduler {
+  private final MultiLevelWorkstealingGroup tasks;
+  private final TaskScheduler delegate;
+
+  /** true if the task which is executed was taken from the deadline level */
+  private boolean deadlineTaskRunning;
+
+  public DeadlineScheduler(final MultiLevelWorkstealingGroup tasks, final TaskScheduler delegate) {
+    this.tasks = tasks;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public ActorTask getNextTask(final ActorClock clock) {
+    // the deadline level is shared, a thread retired by its elastic group leaves it to the others
+    if (ActorThread.current().isActive()) {
+      final ActorTask task = tasks.getNextTask(tasks.getDeadlineLevel());
+      if (task != null) {
+        deadlineTaskRunning = true;
+        return task;
+      }
+    }
+
+    return delegate.getNextTask(clock);
+  }
+
+  @Override
+  public void onTaskReleased(final ActorTask task) {
+    if (deadlineTaskRunning) {
+      deadlineTaskRunning = false;
+    } else {
+      delegate.onTaskReleased(task);
+    }
+  }
+}
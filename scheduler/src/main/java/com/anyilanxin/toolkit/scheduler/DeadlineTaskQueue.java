@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+import static com.anyilanxin.toolkit.scheduler.ActorTask.TaskSchedulingState.QUEUED;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The level of a {@link MultiLevelWorkstealingGroup} for tasks with pending deadline jobs (see
+ * {@link ActorControl#run(Runnable, java.time.Duration)}). Unlike the other levels, it is a single
+ * queue shared by all threads, ordered earliest deadline first, so there is nothing to steal.
+ *
+ * <p>Each submission allocates an entry and, like each poll, takes the lock of the queue for one
+ * O(log n) sift. Tasks only enter this queue when they are woken up by a job with a deadline, so it
+ * sees far fewer operations than the per-thread queues. The entry is small compared to the garbage
+ * of the job submission itself, see the {@code DeadlineSubmitBenchmark}, which compares waking up
+ * actors with and without a deadline.
+ */
+final class DeadlineTaskQueue {
+  private final PriorityBlockingQueue<Entry> entries =
+      new PriorityBlockingQueue<>(16, DeadlineTaskQueue::compareDeadlines);
+
+  /** tracked separately, so the threads can check for tasks without taking the lock */
+  private final AtomicInteger size = new AtomicInteger();
+
+  void submit(final ActorTask task) {
+    task.schedulingState = QUEUED;
+    entries.add(new Entry(task, task.getStateCount(), task.getDeadlineNanos()));
+    size.incrementAndGet();
+  }
+
+  /**
+   * @return the task with the earliest deadline or null if no task is available
+   */
+  ActorTask poll() {
+    while (size.get() > 0) {
+      final Entry entry = entries.poll();
+      if (entry == null) {
+        // the entry is counted after it is added
+        return null;
+      }
+      size.decrementAndGet();
+
+      if (entry.task.claim(entry.stateCount)) {
+        return entry.task;
+      }
+    }
+
+    return null;
+  }
+
+  int sizeHint() {
+    return size.get();
+  }
+
+  private static int compareDeadlines(final Entry entry, final Entry other) {
+    // nano times may overflow, only their difference is meaningful
+    return Long.signum(entry.deadlineNanos - other.deadlineNanos);
+  }
+
+  private record Entry(ActorTask task, long stateCount, long deadlineNanos) {}
+}
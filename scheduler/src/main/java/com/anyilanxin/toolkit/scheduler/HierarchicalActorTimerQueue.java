@@ -0,0 +1,270 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+import com.anyilanxin.toolkit.scheduler.clock.ActorClock;
+import com.anyilanxin.toolkit.scheduler.metrics.ActorThreadMetrics;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hierarchical timer wheel for many outstanding timers with long and spread out deadlines (e.g. per
+ * entity timeouts).
+ *
+ * <p>Each level has 64 slots, a slot of level {@code n} spans {@code 64^n} ticks. A timer is put
+ * into the level which covers the distance to its deadline and moved down a level ("cascaded") when
+ * the wheel reaches its slot, until it expires in level 0. Timers beyond the top level wait in the
+ * top level and are re-inserted every time its slot comes around. The {@link TimerSubscription} is
+ * linked into the slot directly, so scheduling and cancelling are O(1) and garbage free. A bit set
+ * per level tracks the non-empty slots, which lets the wheel skip over stretches without timers
+ * instead of visiting every tick.
+ *
+ * <p>Must only be used by the owning {@link ActorThread}.
+ */
+public class HierarchicalActorTimerQueue implements TimerQueue {
+  public static final int DEFAULT_LEVELS = 5;
+
+  private static final int SLOT_BITS = 6;
+  private static final int SLOTS_PER_LEVEL = 1 << SLOT_BITS;
+  private static final int SLOT_MASK = SLOTS_PER_LEVEL - 1;
+
+  private final TimerExpiry expiry = new TimerExpiry();
+  private final long tickMillis;
+  private final int levels;
+
+  /** heads of the slot lists, the last one holds the timers which are already due */
+  private final TimerSubscription[] slots;
+
+  private final int dueSlot;
+
+  /** per level, bit {@code i} is set if slot {@code i} is not empty */
+  private final long[] occupiedSlots;
+
+  private long currentTick;
+  private int timerCount;
+  private int remainingBudget;
+  private long nowMillis;
+
+  public HierarchicalActorTimerQueue(final ActorClock clock) {
+    this(clock, 1);
+  }
+
+  public HierarchicalActorTimerQueue(final ActorClock clock, final long tickMillis) {
+    this(clock, tickMillis, DEFAULT_LEVELS);
+  }
+
+  /**
+   * @param clock the clock of the owning thread
+   * @param tickMillis the resolution of the wheel, timers expire at most this late
+   * @param levels the number of levels, the wheel spans {@code tickMillis * 64^levels} milliseconds
+   *     before timers need to be re-inserted
+   */
+  public HierarchicalActorTimerQueue(
+      final ActorClock clock, final long tickMillis, final int levels) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException(
+          "Expected tickMillis to be greater than 0, but got " + tickMillis);
+    }
+    // at least two levels: timers beyond the top level must be cascaded, not expired
+    if (levels < 2 || levels * SLOT_BITS >= Long.SIZE) {
+      throw new IllegalArgumentException(
+          "Expected levels to be between 2 and " + (Long.SIZE - 1) / SLOT_BITS + ", got " + levels);
+    }
+
+    this.tickMillis = tickMillis;
+    this.levels = levels;
+    slots = new TimerSubscription[levels * SLOTS_PER_LEVEL + 1];
+    dueSlot = levels * SLOTS_PER_LEVEL;
+    occupiedSlots = new long[levels];
+    currentTick = clock.getTimeMillis() / tickMillis;
+  }
+
+  @Override
+  public void processExpiredTimers(final ActorClock clock) {
+    remainingBudget = expiry.getBudget();
+    nowMillis = clock.getTimeMillis();
+
+    // timers left over from the last call if it ran out of budget
+    expireSlot(dueSlot);
+    expireSlot((int) (currentTick & SLOT_MASK));
+
+    advanceTo(nowMillis / tickMillis);
+
+    expiry.onBudgetRemaining(remainingBudget);
+  }
+
+  @Override
+  public boolean hasExpiryBacklog() {
+    return expiry.hasBacklog();
+  }
+
+  @Override
+  public void setExpiryBudget(final int expiryBudget) {
+    expiry.setBudget(expiryBudget);
+  }
+
+  @Override
+  public void setMetrics(final ActorThreadMetrics metrics) {
+    expiry.setMetrics(metrics);
+  }
+
+  @Override
+  public void schedule(final TimerSubscription timer, final ActorClock now) {
+    final long nowMillis = now.getTimeMillis();
+    final long deadlineMillis =
+        nowMillis + TimeUnit.MILLISECONDS.convert(timer.getDeadline(), timer.getTimeUnit());
+
+    if (timerCount == 0) {
+      // nothing to expire in between, no need to walk there
+      currentTick = Math.max(currentTick, nowMillis / tickMillis);
+    }
+
+    timer.timerDeadlineMillis = deadlineMillis;
+    // round up: never expire early
+    timer.timerDeadlineTick = (deadlineMillis + tickMillis - 1) / tickMillis;
+    insert(timer);
+    timerCount++;
+  }
+
+  @Override
+  public void remove(final TimerSubscription timer) {
+    if (timer.timerSlot >= 0) {
+      unlink(timer);
+      timerCount--;
+    }
+  }
+
+  /**
+   * @return the number of timers which are scheduled and not yet expired
+   */
+  public int getTimerCount() {
+    return timerCount;
+  }
+
+  private void advanceTo(final long targetTick) {
+    while (currentTick < targetTick && remainingBudget > 0) {
+      if (timerCount == 0) {
+        currentTick = targetTick;
+        return;
+      }
+
+      // skip to the next tick on which something can happen: the next slot of the lowest level
+      // which has timers
+      int level = 0;
+      while (level < levels - 1 && occupiedSlots[level] == 0) {
+        level++;
+      }
+
+      final int shift = SLOT_BITS * level;
+      final long nextTick = ((currentTick >>> shift) + 1) << shift;
+
+      if (nextTick > targetTick) {
+        currentTick = targetTick;
+        return;
+      }
+
+      currentTick = nextTick;
+      cascade(nextTick);
+      expireSlot((int) (nextTick & SLOT_MASK));
+      expireSlot(dueSlot);
+    }
+  }
+
+  /** moves the timers of the slots which are reached on this tick to the lower levels */
+  private void cascade(final long tick) {
+    // the higher levels first, their timers may move into the lower slots cascaded on this tick
+    for (int level = levels - 1; level >= 1; level--) {
+      final int shift = SLOT_BITS * level;
+      if ((tick & ((1L << shift) - 1)) != 0) {
+        continue;
+      }
+
+      final int slotIndex = (int) ((tick >>> shift) & SLOT_MASK);
+      final int slot = level * SLOTS_PER_LEVEL + slotIndex;
+      TimerSubscription timer = slots[slot];
+
+      // detach the whole list first: timers beyond the top level are re-inserted into it
+      slots[slot] = null;
+      occupiedSlots[level] &= ~(1L << slotIndex);
+
+      while (timer != null) {
+        final TimerSubscription next = timer.timerNext;
+        insert(timer);
+        timer = next;
+      }
+    }
+  }
+
+  private void expireSlot(final int slot) {
+    TimerSubscription timer;
+    while (remainingBudget > 0 && (timer = slots[slot]) != null) {
+      unlink(timer);
+      timerCount--;
+      remainingBudget--;
+      expiry.expire(timer, nowMillis);
+    }
+  }
+
+  private void insert(final TimerSubscription timer) {
+    final long deadlineTick = timer.timerDeadlineTick;
+    final int slot;
+
+    if (deadlineTick <= currentTick) {
+      slot = dueSlot;
+    } else {
+      // the level is given by the highest bit in which deadline and current tick differ
+      final int highestDifferentBit = 63 - Long.numberOfLeadingZeros(deadlineTick ^ currentTick);
+      final int level = Math.min(highestDifferentBit / SLOT_BITS, levels - 1);
+      final int slotIndex = (int) ((deadlineTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+      slot = level * SLOTS_PER_LEVEL + slotIndex;
+      occupiedSlots[level] |= 1L << slotIndex;
+    }
+
+    final TimerSubscription head = slots[slot];
+    timer.timerNext = head;
+    timer.timerPrev = null;
+    if (head != null) {
+      head.timerPrev = timer;
+    }
+    slots[slot] = timer;
+    timer.timerSlot = slot;
+  }
+
+  private void unlink(final TimerSubscription timer) {
+    final int slot = timer.timerSlot;
+    final TimerSubscription prev = timer.timerPrev;
+    final TimerSubscription next = timer.timerNext;
+
+    if (prev != null) {
+      prev.timerNext = next;
+    } else {
+      slots[slot] = next;
+
+      if (next == null && slot != dueSlot) {
+        occupiedSlots[slot / SLOTS_PER_LEVEL] &= ~(1L << (slot & SLOT_MASK));
+      }
+    }
+
+    if (next != null) {
+      next.timerPrev = prev;
+    }
+
+    timer.timerNext = null;
+    timer.timerPrev = null;
+    timer.timerSlot = -1;
+  }
+}
@@ -17,6 +17,8 @@
 package com.anyilanxin.toolkit.scheduler;
 
 import com.anyilanxin.toolkit.scheduler.ActorScheduler.ActorSchedulerBuilder;
+import java.util.function.Supplier;
+import org.agrona.concurrent.IdleStrategy;
 
 public class IoThreadGroup extends ActorThreadGroup {
 
@@ -38,4 +40,9 @@ public class IoThreadGroup extends ActorThreadGroup {
   protected int getLevel(final ActorTask actorTask) {
     return 0;
   }
+
+  @Override
+  protected Supplier<IdleStrategy> getIdleStrategySupplier(final ActorSchedulerBuilder builder) {
+    return builder.getIoBoundIdleStrategy();
+  }
 }
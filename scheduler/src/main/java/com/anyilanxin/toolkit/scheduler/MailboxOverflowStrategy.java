@@ -0,0 +1,30 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+/** What happens to a job which is submitted to an actor whose mailbox is full. */
+public enum MailboxOverflowStrategy {
+  /** the submitting method throws a {@link java.util.concurrent.RejectedExecutionException} */
+  REJECT,
+
+  /**
+   * the job is discarded and its future is completed exceptionally with a {@link
+   * java.util.concurrent.RejectedExecutionException}. Jobs without a future (e.g. submitted with
+   * {@link ActorControl#run(Runnable)}) are silently dropped.
+   */
+  FAIL_FUTURE
+}
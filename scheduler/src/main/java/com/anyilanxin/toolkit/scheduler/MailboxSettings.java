@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+/**
+ * Limits the number of jobs which can be submitted to an actor externally (from other actors or
+ * non-actor threads) and are not yet picked up by it. Jobs an actor submits to itself are never
+ * limited.
+ *
+ * <p>Optionally, producers can be notified when the mailbox fills up beyond a high watermark and
+ * when it is drained below a low watermark again, see {@link
+ * ActorControl#registerMailboxListener(ActorCondition)}.
+ */
+public final class MailboxSettings {
+  private static final MailboxSettings UNBOUNDED =
+      new MailboxSettings(0, MailboxOverflowStrategy.REJECT, 0, 0, false);
+
+  private final int capacity;
+  private final MailboxOverflowStrategy overflowStrategy;
+  private final int lowWatermark;
+  private final int highWatermark;
+  private final boolean ringBuffer;
+
+  private MailboxSettings(
+      final int capacity,
+      final MailboxOverflowStrategy overflowStrategy,
+      final int lowWatermark,
+      final int highWatermark,
+      final boolean ringBuffer) {
+    this.capacity = capacity;
+    this.overflowStrategy = overflowStrategy;
+    this.lowWatermark = lowWatermark;
+    this.highWatermark = highWatermark;
+    this.ringBuffer = ringBuffer;
+  }
+
+  /**
+   * @return settings without a capacity limit and without watermarks, the default
+   */
+  public static MailboxSettings unbounded() {
+    return UNBOUNDED;
+  }
+
+  public static MailboxSettings bounded(
+      final int capacity, final MailboxOverflowStrategy overflowStrategy) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException(
+          String.format("Expected capacity to be greater than 0, but got %d", capacity));
+    }
+
+    return new MailboxSettings(capacity, overflowStrategy, 0, 0, false);
+  }
+
+  /**
+   * @param lowWatermark the mailbox size at or below which the mailbox is considered drained again
+   * @param highWatermark the mailbox size at or above which the mailbox is considered full
+   * @return new settings with the given watermarks
+   */
+  public MailboxSettings withWatermarks(final int lowWatermark, final int highWatermark) {
+    if (lowWatermark < 0 || highWatermark <= lowWatermark) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected 0 <= low watermark < high watermark, but got %d and %d",
+              lowWatermark, highWatermark));
+    }
+    if (capacity > 0 && highWatermark > capacity) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected high watermark to be at most the capacity %d, but got %d",
+              capacity, highWatermark));
+    }
+
+    return new MailboxSettings(capacity, overflowStrategy, lowWatermark, highWatermark, ringBuffer);
+  }
+
+  /**
+   * Keeps the jobs in a preallocated array (rounded up to the next power of two of the capacity)
+   * instead of a linked queue, so submitting a job does not allocate a queue node and the actor
+   * takes the jobs in batches right from the array. Only for bounded mailboxes, since the array is
+   * allocated upfront.
+   *
+   * @return new settings which use a ring buffer
+   */
+  public MailboxSettings withRingBuffer() {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Expected a bounded mailbox to use a ring buffer");
+    }
+
+    return new MailboxSettings(capacity, overflowStrategy, lowWatermark, highWatermark, true);
+  }
+
+  /**
+   * @return the maximum number of jobs in the mailbox, 0 if unbounded
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public MailboxOverflowStrategy getOverflowStrategy() {
+    return overflowStrategy;
+  }
+
+  public int getLowWatermark() {
+    return lowWatermark;
+  }
+
+  /**
+   * @return the high watermark, 0 if no watermarks are set
+   */
+  public int getHighWatermark() {
+    return highWatermark;
+  }
+
+  public boolean isRingBuffer() {
+    return ringBuffer;
+  }
+
+  boolean isSizeTracked() {
+    return capacity > 0 || highWatermark > 0;
+  }
+}
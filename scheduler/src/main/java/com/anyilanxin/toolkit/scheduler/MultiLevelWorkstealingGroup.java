@@ -19,22 +19,74 @@ package com.anyilanxin.toolkit.scheduler;
 /**
  * Maintains multiple levels of queues for each thread. Levels can be used for priorities (each
  * thread maintains a queue for each priority) or other things like IO-devices.
+ *
+ * <p>On top of the given levels, there is a dedicated level for tasks with deadlines (see {@link
+ * #getDeadlineLevel()}), which is ordered earliest deadline first.
  */
 public class MultiLevelWorkstealingGroup {
   private final WorkStealingGroup[] workStealingGroups;
+  private final DeadlineTaskQueue deadlineTasks = new DeadlineTaskQueue();
 
   public MultiLevelWorkstealingGroup(final int numOfThreads, final int levels) {
+    this(numOfThreads, levels, StealPolicy.RANDOM, false);
+  }
+
+  public MultiLevelWorkstealingGroup(
+      final int numOfThreads,
+      final int levels,
+      final StealPolicy stealPolicy,
+      final boolean stealHalf) {
+    this(numOfThreads, levels, stealPolicy, stealHalf, false);
+  }
+
+  /**
+   * @param sizeHintRequired if true, the queues track their size for {@link #sizeHint()} even if
+   *     the steal policy does not need it
+   */
+  public MultiLevelWorkstealingGroup(
+      final int numOfThreads,
+      final int levels,
+      final StealPolicy stealPolicy,
+      final boolean stealHalf,
+      final boolean sizeHintRequired) {
     workStealingGroups = new WorkStealingGroup[levels];
     for (int i = 0; i < levels; i++) {
-      workStealingGroups[i] = new WorkStealingGroup(numOfThreads);
+      workStealingGroups[i] =
+          new WorkStealingGroup(numOfThreads, stealPolicy, stealHalf, sizeHintRequired);
     }
   }
 
   public ActorTask getNextTask(final int level) {
+    if (level == workStealingGroups.length) {
+      return deadlineTasks.poll();
+    }
     return workStealingGroups[level].getNextTask();
   }
 
   public void submit(final ActorTask task, final int level, final int threadId) {
-    workStealingGroups[level].submit(task, threadId);
+    if (level == workStealingGroups.length) {
+      deadlineTasks.submit(task);
+    } else {
+      workStealingGroups[level].submit(task, threadId);
+    }
+  }
+
+  /**
+   * @return the level of the tasks with deadlines, which follows the given levels. Its tasks are
+   *     ordered by {@link ActorTask#getDeadlineNanos()} and shared by all threads.
+   */
+  public int getDeadlineLevel() {
+    return workStealingGroups.length;
+  }
+
+  /**
+   * @return the approximate number of queued tasks of all levels and threads
+   */
+  public int sizeHint() {
+    int size = deadlineTasks.sizeHint();
+    for (final WorkStealingGroup group : workStealingGroups) {
+      size += group.sizeHint();
+    }
+    return size;
   }
 }
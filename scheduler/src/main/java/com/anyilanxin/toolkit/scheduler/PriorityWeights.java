@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The weights of the priority classes for the {@link WeightedFairScheduler}, shared by all threads
+ * of a thread group. The weights can be changed while the scheduler is running, the threads pick up
+ * a change at the start of their next scheduling round.
+ *
+ * <p>Also records the time the threads spent executing tasks of each priority class, which gives
+ * the CPU share a priority class actually achieved.
+ */
+public class PriorityWeights {
+  /** replaced on every change, so a thread always reads a consistent set of weights */
+  private volatile double[] weights;
+
+  private final AtomicLongArray executionTimeNanos;
+
+  /**
+   * @param weights the initial weight by priority class, the index in the array denotes the
+   *     priority class. A weight must be greater than 0; only the ratio between the weights
+   *     matters.
+   */
+  public PriorityWeights(final double[] weights) {
+    if (weights.length == 0) {
+      throw new IllegalArgumentException(
+          "Expected at least one priority class, but got no weights");
+    }
+
+    for (int priority = 0; priority < weights.length; priority++) {
+      ensureValidWeight(priority, weights[priority]);
+    }
+
+    this.weights = Arrays.copyOf(weights, weights.length);
+    executionTimeNanos = new AtomicLongArray(weights.length);
+  }
+
+  public int getPriorityCount() {
+    return executionTimeNanos.length();
+  }
+
+  public double getWeight(final int priority) {
+    return weights[priority];
+  }
+
+  /** Changes the weight of the given priority class, see {@link #PriorityWeights(double[])}. */
+  public synchronized void setWeight(final int priority, final double weight) {
+    if (priority < 0 || priority >= getPriorityCount()) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected priority between 0 and %d, but got %d", getPriorityCount() - 1, priority));
+    }
+    ensureValidWeight(priority, weight);
+
+    final double[] newWeights = Arrays.copyOf(weights, weights.length);
+    newWeights[priority] = weight;
+    weights = newWeights;
+  }
+
+  /**
+   * @return the time all threads spent executing tasks of the given priority class since the
+   *     scheduler was started
+   */
+  public long getExecutionTimeNanos(final int priority) {
+    return executionTimeNanos.get(priority);
+  }
+
+  /**
+   * @return the fraction (between 0 and 1) of the execution time of all priority classes which was
+   *     spent on tasks of the given priority class, or 0 if no task was executed yet
+   */
+  public double getCpuShare(final int priority) {
+    long total = 0;
+    for (int p = 0; p < getPriorityCount(); p++) {
+      total += executionTimeNanos.get(p);
+    }
+
+    return total > 0 ? (double) executionTimeNanos.get(priority) / total : 0;
+  }
+
+  double[] getWeights() {
+    return weights;
+  }
+
+  void onTaskExecuted(final int priority, final long executionTimeNanos) {
+    this.executionTimeNanos.addAndGet(priority, executionTimeNanos);
+  }
+
+  private static void ensureValidWeight(final int priority, final double weight) {
+    if (!(weight > 0)) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected weight of priority %d to be greater than 0, but got %s", priority, weight));
+    }
+  }
+}
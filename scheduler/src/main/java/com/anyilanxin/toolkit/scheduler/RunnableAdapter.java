@@ -39,6 +39,11 @@ public class RunnableAdapter<T> implements Runnable {
     }
   }
 
+  /** completes the adapter with the given failure without calling the callable */
+  void setException(final Throwable exception) {
+    this.exception = exception;
+  }
+
   public static <T> RunnableAdapter<T> wrapCallable(final Callable<T> callable) {
     return new RunnableAdapter<>(callable);
   }
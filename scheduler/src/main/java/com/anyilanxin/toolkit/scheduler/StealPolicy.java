@@ -0,0 +1,29 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+/** How an idle actor thread selects the thread ("victim") it steals tasks from. */
+public enum StealPolicy {
+  /** tries all other threads in turn, starting at a random one */
+  RANDOM,
+
+  /**
+   * tries the thread with the most queued tasks first, according to the size hint of its queue.
+   * Falls back to {@link #RANDOM} if nothing could be stolen from it.
+   */
+  MOST_LOADED
+}
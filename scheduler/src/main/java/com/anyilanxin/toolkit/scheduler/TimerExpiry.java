@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+import com.anyilanxin.toolkit.scheduler.jfr.SchedulerEvents;
+import com.anyilanxin.toolkit.scheduler.metrics.ActorThreadMetrics;
+import java.util.concurrent.TimeUnit;
+
+/** The expiry budget and the expiry of the timers, shared by the {@link TimerQueue}s. */
+final class TimerExpiry {
+  /** how many timers may expire per call of {@link TimerQueue#processExpiredTimers} */
+  private int budget = Integer.MAX_VALUE;
+
+  /** true if the last call ran out of budget and there may be more expired timers */
+  private boolean hasBacklog;
+
+  /** null if metrics are disabled */
+  private ActorThreadMetrics metrics;
+
+  int getBudget() {
+    return budget;
+  }
+
+  void setBudget(final int budget) {
+    if (budget <= 0) {
+      throw new IllegalArgumentException(
+          "Expected expiry budget to be greater than 0, but got " + budget);
+    }
+
+    this.budget = budget;
+  }
+
+  boolean hasBacklog() {
+    return hasBacklog;
+  }
+
+  void setMetrics(final ActorThreadMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  void expire(final TimerSubscription timer, final long nowMillis) {
+    if (metrics != null) {
+      metrics.onTimerExpired(nowMillis - timer.timerDeadlineMillis);
+    }
+    SchedulerEvents.onTimerFired(timer.getJob().getTask(), nowMillis - timer.timerDeadlineMillis);
+
+    timer.onTimerExpired(TimeUnit.MILLISECONDS, nowMillis);
+  }
+
+  void onBudgetRemaining(final int remainingBudget) {
+    hasBacklog = remainingBudget <= 0;
+
+    if (hasBacklog && metrics != null) {
+      metrics.onTimerExpiryBudgetExhausted();
+    }
+  }
+}
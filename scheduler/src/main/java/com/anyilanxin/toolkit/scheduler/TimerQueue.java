@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+import com.anyilanxin.toolkit.scheduler.clock.ActorClock;
+import com.anyilanxin.toolkit.scheduler.metrics.ActorThreadMetrics;
+
+/**
+ * The timers of an {@link ActorThread}, see {@link ActorTimerQueue} and {@link
+ * HierarchicalActorTimerQueue}. Must only be used by the owning thread.
+ */
+public interface TimerQueue {
+
+  /**
+   * Expires the timers which are due, but at most as many as the expiry budget allows. If the
+   * budget is used up, the remaining timers are carried over to the next call, see {@link
+   * #hasExpiryBacklog()}.
+   */
+  void processExpiredTimers(ActorClock clock);
+
+  /**
+   * @return true if the expiry budget was used up on the last call of {@link
+   *     #processExpiredTimers(ActorClock)}, it should be called again without waiting for the clock
+   *     to advance
+   */
+  boolean hasExpiryBacklog();
+
+  /**
+   * Limits how many timers expire per call of {@link #processExpiredTimers(ActorClock)}, so that a
+   * mass expiry (e.g. after a GC pause or a clock jump) is spread over several iterations of the
+   * actor thread instead of delaying the execution of tasks.
+   */
+  void setExpiryBudget(int expiryBudget);
+
+  void setMetrics(ActorThreadMetrics metrics);
+
+  void schedule(TimerSubscription timer, ActorClock now);
+
+  void remove(TimerSubscription timer);
+}
@@ -31,6 +31,14 @@ public class TimerSubscription implements ActorSubscription, ScheduledTimer, Run
   private long timerId = -1L;
   private ActorThread thread;
 
+  long timerDeadlineMillis;
+
+  // links into the slot of a HierarchicalActorTimerQueue
+  TimerSubscription timerNext;
+  TimerSubscription timerPrev;
+  long timerDeadlineTick;
+  int timerSlot = -1;
+
   public TimerSubscription(
       final ActorJob job, final long deadline, final TimeUnit timeUnit, final boolean isRecurring) {
     this.job = job;
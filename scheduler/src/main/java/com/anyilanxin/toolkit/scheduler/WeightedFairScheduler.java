@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler;
+
+import com.anyilanxin.toolkit.scheduler.clock.ActorClock;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Deficit round robin over the priority classes, as an alternative to the fixed time slices of the
+ * {@link PriorityScheduler}. Each {@link ActorThread} maintains a local instance of this class.
+ *
+ * <p>Every round, each priority class is credited its share of {@link #ROUND_LENGTH_NS} according
+ * to the current {@link PriorityWeights}. A priority class is served until its credit is used up by
+ * the measured execution time of its tasks, then the next priority class is served. A priority
+ * class without tasks loses its credit, so it can not save up time while idle. A new round starts
+ * as soon as no priority class with credit left has tasks, so no thread idles while there is work.
+ */
+public class WeightedFairScheduler implements TaskScheduler {
+  static final long ROUND_LENGTH_NS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  /**
+   * charged for a task whose execution time is below the resolution of the clock, so that a
+   * priority class with cheap tasks still gives way to the others
+   */
+  static final long MIN_TASK_COST_NS = TimeUnit.MICROSECONDS.toNanos(1);
+
+  /** the function used to acquire a task for a given priority */
+  private final IntFunction<ActorTask> getTaskFn;
+
+  private final PriorityWeights weights;
+
+  /** the credit left in the current round by priority class, can become negative */
+  private final long[] deficits;
+
+  /** the priority class which is currently served */
+  private int currentPriority;
+
+  private ActorClock clock;
+  private int runningPriority = -1;
+  private long runningSinceNs;
+
+  /**
+   * @param getTaskFn function which can be used to get a task by a given priority class.
+   * @param weights the weights by priority class, may be shared with the schedulers of other
+   *     threads
+   */
+  public WeightedFairScheduler(
+      final IntFunction<ActorTask> getTaskFn, final PriorityWeights weights) {
+    this.getTaskFn = getTaskFn;
+    this.weights = weights;
+    deficits = new long[weights.getPriorityCount()];
+  }
+
+  /** calculates and returns the next task to execute or null if no such task can be determined. */
+  @Override
+  public ActorTask getNextTask(final ActorClock clock) {
+    ActorTask task = pollTask(clock, true);
+
+    if (task == null) {
+      // no priority class with credit left has tasks
+      startRound();
+      task = pollTask(clock, true);
+    }
+
+    if (task == null) {
+      // the priority classes which were not polled yet are overdrawn, serve them rather than idle
+      task = pollTask(clock, false);
+    }
+
+    return task;
+  }
+
+  private ActorTask pollTask(final ActorClock clock, final boolean withCredit) {
+    final int priorityCount = deficits.length;
+
+    for (int i = 0; i < priorityCount; i++) {
+      final int priority = (currentPriority + i) % priorityCount;
+
+      final long deficit = deficits[priority];
+      if (withCredit ? deficit > 0 : deficit < 0) {
+        final ActorTask task = getTaskFn.apply(priority);
+
+        if (task != null) {
+          currentPriority = priority;
+          this.clock = clock;
+          runningPriority = priority;
+          runningSinceNs = clock.getNanoTime();
+          return task;
+        } else if (withCredit) {
+          deficits[priority] = 0;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  @Override
+  public void onTaskReleased(final ActorTask task) {
+    if (runningPriority >= 0) {
+      // the actor thread updates the clock after executing the task
+      final long executionTime = clock.getNanoTime() - runningSinceNs;
+      deficits[runningPriority] -= Math.max(executionTime, MIN_TASK_COST_NS);
+      weights.onTaskExecuted(runningPriority, Math.max(executionTime, 0));
+      runningPriority = -1;
+    }
+  }
+
+  private void startRound() {
+    final double[] currentWeights = weights.getWeights();
+
+    double totalWeight = 0;
+    for (final double weight : currentWeights) {
+      totalWeight += weight;
+    }
+
+    for (int priority = 0; priority < deficits.length; priority++) {
+      // keep an overdraft, so a long running task is paid for in the next round
+      deficits[priority] =
+          Math.min(deficits[priority], 0)
+              + Math.max(1, (long) (ROUND_LENGTH_NS * currentWeights[priority] / totalWeight));
+    }
+  }
+}
@@ -18,18 +18,50 @@ package com.anyilanxin.toolkit.scheduler;
 
 import static com.anyilanxin.toolkit.scheduler.ActorTask.TaskSchedulingState.QUEUED;
 
+import com.anyilanxin.toolkit.scheduler.jfr.SchedulerEvents;
 import java.util.concurrent.ThreadLocalRandom;
 
 /** Workstealing group maintains a queue per thread. */
 public class WorkStealingGroup {
   private final int numOfThreads;
   private final ActorTaskQueue[] taskQueues;
+  private final StealPolicy stealPolicy;
+  private final boolean stealHalf;
 
   public WorkStealingGroup(final int numOfThreads) {
+    this(numOfThreads, StealPolicy.RANDOM, false);
+  }
+
+  /**
+   * @param numOfThreads the number of threads, each gets its own queue
+   * @param stealPolicy how the victim is selected
+   * @param stealHalf if true, a thief takes half of the victim's tasks instead of one, the tasks
+   *     which it does not execute right away are moved to its own queue
+   */
+  public WorkStealingGroup(
+      final int numOfThreads, final StealPolicy stealPolicy, final boolean stealHalf) {
+    this(numOfThreads, stealPolicy, stealHalf, false);
+  }
+
+  /**
+   * @param sizeHintRequired if true, the queues track their size for {@link #sizeHint()} even if
+   *     the steal policy does not need it
+   */
+  public WorkStealingGroup(
+      final int numOfThreads,
+      final StealPolicy stealPolicy,
+      final boolean stealHalf,
+      final boolean sizeHintRequired) {
     this.numOfThreads = numOfThreads;
+    this.stealPolicy = stealPolicy;
+    this.stealHalf = stealHalf;
+
+    // only stealing from the most loaded queue or half of a queue reads the size on its own
+    final boolean sizeTracked =
+        sizeHintRequired || stealHalf || stealPolicy == StealPolicy.MOST_LOADED;
     taskQueues = new ActorTaskQueue[numOfThreads];
     for (int i = 0; i < numOfThreads; i++) {
-      taskQueues[i] = new ActorTaskQueue();
+      taskQueues[i] = new ActorTaskQueue(sizeTracked);
     }
   }
 
@@ -53,7 +85,7 @@ public class WorkStealingGroup {
     final ActorThread currentThread = ActorThread.current();
     ActorTask nextTask = taskQueues[currentThread.getRunnerId()].pop();
 
-    if (nextTask == null) {
+    if (nextTask == null && currentThread.isActive()) {
       nextTask = trySteal(currentThread);
     }
 
@@ -68,6 +100,20 @@ public class WorkStealingGroup {
    * there is more work to do than there is resources (threads) to run it.
    */
   private ActorTask trySteal(final ActorThread currentThread) {
+    final int thiefId = currentThread.getRunnerId();
+
+    if (stealPolicy == StealPolicy.MOST_LOADED) {
+      final int victimId = findMostLoadedVictim(thiefId);
+
+      if (victimId >= 0) {
+        final ActorTask stolenActor = trySteal(currentThread, victimId);
+
+        if (stolenActor != null) {
+          return stolenActor;
+        }
+      }
+    }
+
     /*
      * This implementation uses a random offset into the runner array. The idea is to
      *
@@ -80,16 +126,15 @@ public class WorkStealingGroup {
      *    this potentially increase the probability to find work on the first attempt
      *
      * However, the calculation of the random and the handling also needs additional compute time.
-     * Experimental verification of the effectiveness of the optimization has not been conducted yet.
-     * Also, the optimization only makes sense if the system uses at least 3 runners.
+     * See WorkStealingBenchmark for a comparison with the MOST_LOADED policy.
      */
     final int offset = ThreadLocalRandom.current().nextInt(numOfThreads);
 
     for (int i = offset; i < offset + numOfThreads; i++) {
       final int runnerId = i % numOfThreads;
 
-      if (runnerId != currentThread.getRunnerId()) {
-        final ActorTask stolenActor = taskQueues[runnerId].trySteal();
+      if (runnerId != thiefId) {
+        final ActorTask stolenActor = trySteal(currentThread, runnerId);
 
         if (stolenActor != null) {
           return stolenActor;
@@ -99,4 +144,55 @@ public class WorkStealingGroup {
 
     return null;
   }
+
+  private ActorTask trySteal(final ActorThread currentThread, final int victimId) {
+    final ActorTaskQueue victimQueue = taskQueues[victimId];
+    final ActorTask stolenActor;
+
+    if (stealHalf) {
+      final int maxTasks = Math.max(1, victimQueue.sizeHint() / 2);
+      stolenActor = victimQueue.trySteal(maxTasks, taskQueues[currentThread.getRunnerId()]);
+    } else {
+      stolenActor = victimQueue.trySteal();
+    }
+
+    if (stolenActor != null) {
+      currentThread.onTaskStolen(stolenActor);
+      SchedulerEvents.onTaskStolen(stolenActor, victimId);
+    }
+
+    return stolenActor;
+  }
+
+  /**
+   * @return the approximate number of queued tasks of all threads
+   */
+  public int sizeHint() {
+    int size = 0;
+    for (final ActorTaskQueue taskQueue : taskQueues) {
+      size += taskQueue.sizeHint();
+    }
+    return size;
+  }
+
+  /**
+   * @return the id of the thread with the most queued tasks or -1 if all queues are empty
+   */
+  private int findMostLoadedVictim(final int thiefId) {
+    int victimId = -1;
+    int maxSize = 0;
+
+    for (int i = 0; i < numOfThreads; i++) {
+      if (i != thiefId) {
+        final int size = taskQueues[i].sizeHint();
+
+        if (size > maxSize) {
+          maxSize = size;
+          victimId = i;
+        }
+      }
+    }
+
+    return victimId;
+  }
 }
@@ -17,8 +17,14 @@
 package com.anyilanxin.toolkit.scheduler.channel;
 
 import com.anyilanxin.toolkit.scheduler.ActorCondition;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * The consumers of a channel. Channels either signal them on every change with {@link
+ * #signalConsumers()} or coalesce the signals with {@link #armSignal()} and {@link
+ * #signalConsumersIfArmed()}.
+ */
 public class ActorConditions {
 
   /**
@@ -31,6 +37,9 @@ public class ActorConditions {
 
   private final AtomicReference<ActorCondition[]> arrayRef = new AtomicReference<>(EMPTY_ARRAY);
 
+  /** set by consumers which found the channel empty, cleared by the producer which signals */
+  private final AtomicBoolean signalArmed = new AtomicBoolean(true);
+
   public void registerConsumer(final ActorCondition item) {
     if (null == item) {
       throw new NullPointerException("null items are not supported in this collection");
@@ -83,6 +92,25 @@ public class ActorConditions {
     }
   }
 
+  /**
+   * Called by a consumer which found the channel empty. It must check the channel again afterwards:
+   * either that check sees an element which is added concurrently or the producer sees the armed
+   * signal.
+   */
+  public void armSignal() {
+    signalArmed.set(true);
+  }
+
+  /**
+   * Called by a producer after it added to the channel: signals the consumers if one of them found
+   * the channel empty since the last signal. While the consumers are busy, this is a single read.
+   */
+  public void signalConsumersIfArmed() {
+    if (signalArmed.get() && signalArmed.compareAndSet(true, false)) {
+      signalConsumers();
+    }
+  }
+
   private static int find(final ActorCondition[] array, final ActorCondition condition) {
     for (int i = 0; i < array.length; i++) {
       if (condition.equals(array[i])) {
@@ -28,7 +28,7 @@ public class ChannelConsumerCondition
     implements ActorCondition, ActorSubscription, ChannelSubscription {
   private static final VarHandle TRIGGER_COUNT_VAR_HANDLE;
 
-  private final long triggerCount = 0;
+  private volatile long triggerCount = 0;
   private long processedTiggersCount = 0;
 
   private final ConsumableChannel channel;
@@ -22,7 +22,14 @@ import java.util.Iterator;
 import java.util.Queue;
 import java.util.function.Consumer;
 
-/** Wraps a {@link Queue} as {@link ConsumableChannel}. */
+/**
+ * Wraps a {@link Queue} as {@link ConsumableChannel}.
+ *
+ * <p>The consumers are signalled only when the channel becomes available again: a consumer arms the
+ * signal when {@link #hasAvailable()} finds the channel empty, and the next producer which adds an
+ * element disarms it and signals. While the consumers are busy, producers add elements without
+ * waking anyone up.
+ */
 public class ConcurrentQueueChannel<E> implements Queue<E>, ConsumableChannel {
   private final ActorConditions actorConditions = new ActorConditions();
 
@@ -34,13 +41,18 @@ public class ConcurrentQueueChannel<E> implements Queue<E>, ConsumableChannel {
 
   @Override
   public boolean hasAvailable() {
-    return !isEmpty();
+    if (!wrapped.isEmpty()) {
+      return true;
+    }
+
+    actorConditions.armSignal();
+    return !wrapped.isEmpty();
   }
 
   @Override
   public boolean add(E e) {
     if (wrapped.add(e)) {
-      actorConditions.signalConsumers();
+      actorConditions.signalConsumersIfArmed();
       return true;
     }
     return false;
@@ -49,12 +61,52 @@ public class ConcurrentQueueChannel<E> implements Queue<E>, ConsumableChannel {
   @Override
   public boolean offer(E e) {
     if (wrapped.offer(e)) {
-      actorConditions.signalConsumers();
+      actorConditions.signalConsumersIfArmed();
       return true;
     }
     return false;
   }
 
+  /**
+   * Offers the elements in order until the wrapped queue rejects one, and signals the consumers at
+   * most once.
+   *
+   * @return the number of elements which were added
+   */
+  public int offerAll(final Collection<? extends E> elements) {
+    int added = 0;
+    for (final E element : elements) {
+      if (!wrapped.offer(element)) {
+        break;
+      }
+      added++;
+    }
+
+    if (added > 0) {
+      actorConditions.signalConsumersIfArmed();
+    }
+    return added;
+  }
+
+  /**
+   * Removes up to {@code limit} elements and passes them to the consumer, e.g. to process a batch
+   * per consumer job instead of a single element.
+   *
+   * @return the number of elements which were passed to the consumer
+   */
+  public int drainTo(final Consumer<? super E> consumer, final int limit) {
+    int drained = 0;
+    while (drained < limit) {
+      final E element = wrapped.poll();
+      if (element == null) {
+        break;
+      }
+      consumer.accept(element);
+      drained++;
+    }
+    return drained;
+  }
+
   @Override
   public int size() {
     return wrapped.size();
@@ -117,7 +169,17 @@ public class ConcurrentQueueChannel<E> implements Queue<E>, ConsumableChannel {
 
   @Override
   public boolean addAll(Collection<? extends E> c) {
-    throw new UnsupportedOperationException();
+    boolean changed = false;
+    try {
+      for (final E element : c) {
+        changed |= wrapped.add(element);
+      }
+    } finally {
+      if (changed) {
+        actorConditions.signalConsumersIfArmed();
+      }
+    }
+    return changed;
   }
 
   @Override
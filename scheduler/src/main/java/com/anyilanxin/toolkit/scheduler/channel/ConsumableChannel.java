@@ -19,6 +19,10 @@ package com.anyilanxin.toolkit.scheduler.channel;
 import com.anyilanxin.toolkit.scheduler.ActorCondition;
 
 public interface ConsumableChannel {
+  /**
+   * Checked by the consumers before they wait. Implementations may signal the consumers only after
+   * this returned false, so a consumer must not wait while it did not see the channel empty.
+   */
   boolean hasAvailable();
 
   void registerConsumer(ActorCondition onDataAvailable);
@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.channel;
+
+import com.anyilanxin.toolkit.scheduler.ActorCondition;
+import com.anyilanxin.toolkit.util.CloseableSilently;
+import com.anyilanxin.toolkit.util.allocation.AllocatedBuffer;
+import com.anyilanxin.toolkit.util.allocation.BufferAllocators;
+import com.anyilanxin.toolkit.util.buffer.BufferWriter;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.ManyToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RecordDescriptor;
+import org.agrona.concurrent.ringbuffer.RingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
+
+/**
+ * A {@link ConsumableChannel} for binary messages, backed by a {@link ManyToOneRingBuffer} in an
+ * off-heap buffer. Producers on any thread write their messages (e.g. msgpack encoded records)
+ * straight into the ring buffer with {@link #write(int, BufferWriter)}, and the consuming actor
+ * reads them in place with {@link #read(MessageHandler, int)}: no object is allocated per message.
+ *
+ * <p>Only one actor may consume the channel. The consumers are signalled like in {@link
+ * ConcurrentQueueChannel}, only when the channel becomes available again.
+ */
+public class RingBufferChannel implements ConsumableChannel, CloseableSilently {
+  private final ActorConditions actorConditions = new ActorConditions();
+
+  private final AllocatedBuffer allocatedBuffer;
+  private final RingBuffer ringBuffer;
+
+  /**
+   * @param capacity the capacity for messages in bytes, must be a power of two; each message takes
+   *     its length plus a header of 8 bytes, aligned to 8 bytes
+   */
+  public RingBufferChannel(final int capacity) {
+    if (!BitUtil.isPowerOfTwo(capacity)) {
+      throw new IllegalArgumentException(
+          String.format("Expected a capacity which is a power of two, but got %d", capacity));
+    }
+
+    allocatedBuffer =
+        BufferAllocators.allocateDirect(capacity + RingBufferDescriptor.TRAILER_LENGTH);
+    ringBuffer = new ManyToOneRingBuffer(new UnsafeBuffer(allocatedBuffer.getRawBuffer()));
+  }
+
+  /**
+   * Claims space for the message and lets the writer encode it in place.
+   *
+   * @param msgTypeId an application defined type of the message, must be greater than 0
+   * @return false if the channel has not enough free space for the message
+   * @throws IllegalArgumentException if the message is longer than {@link #maxMessageLength()}
+   */
+  public boolean write(final int msgTypeId, final BufferWriter writer) {
+    final int index = ringBuffer.tryClaim(msgTypeId, writer.getLength());
+    if (index < 0) {
+      return false;
+    }
+
+    try {
+      writer.write(ringBuffer.buffer(), index);
+    } catch (final RuntimeException e) {
+      ringBuffer.abort(index);
+      throw e;
+    }
+
+    ringBuffer.commit(index);
+    actorConditions.signalConsumersIfArmed();
+    return true;
+  }
+
+  /**
+   * Copies the message into the channel.
+   *
+   * @param msgTypeId an application defined type of the message, must be greater than 0
+   * @return false if the channel has not enough free space for the message
+   * @throws IllegalArgumentException if the message is longer than {@link #maxMessageLength()}
+   */
+  public boolean write(
+      final int msgTypeId, final DirectBuffer buffer, final int offset, final int length) {
+    if (ringBuffer.write(msgTypeId, buffer, offset, length)) {
+      actorConditions.signalConsumersIfArmed();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Passes up to {@code limit} messages to the handler, in the order they were written. The handler
+   * gets a view on the ring buffer: the message must be copied if it is needed after the handler
+   * returns, the space is released for the producers afterwards.
+   *
+   * @return the number of messages which were read
+   */
+  public int read(final MessageHandler handler, final int limit) {
+    return ringBuffer.read(handler, limit);
+  }
+
+  /**
+   * @return true if a message was written; a message which is still being written by {@link
+   *     #write(int, BufferWriter)} is not available yet, the consumers are signalled once it is
+   *     complete
+   */
+  @Override
+  public boolean hasAvailable() {
+    if (isNotEmpty()) {
+      return true;
+    }
+
+    actorConditions.armSignal();
+    return isNotEmpty();
+  }
+
+  private boolean isNotEmpty() {
+    // a claimed record has a negative length until it is committed, the consumed space is zeroed
+    final int recordIndex = (int) ringBuffer.consumerPosition() & (ringBuffer.capacity() - 1);
+    return ringBuffer.buffer().getIntVolatile(RecordDescriptor.lengthOffset(recordIndex)) > 0;
+  }
+
+  /**
+   * @return the number of bytes of the written messages, including their headers
+   */
+  public int size() {
+    return ringBuffer.size();
+  }
+
+  public int capacity() {
+    return ringBuffer.capacity();
+  }
+
+  public int maxMessageLength() {
+    return ringBuffer.maxMsgLength();
+  }
+
+  @Override
+  public void registerConsumer(final ActorCondition onDataAvailable) {
+    actorConditions.registerConsumer(onDataAvailable);
+  }
+
+  @Override
+  public void removeConsumer(final ActorCondition onDataAvailable) {
+    actorConditions.removeConsumer(onDataAvailable);
+  }
+
+  /** Releases the off-heap buffer, the channel must not be used afterwards. */
+  @Override
+  public void close() {
+    allocatedBuffer.close();
+  }
+}
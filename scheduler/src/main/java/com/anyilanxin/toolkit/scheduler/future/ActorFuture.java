@@ -17,7 +17,11 @@
 package com.anyilanxin.toolkit.scheduler.future;
 
 import com.anyilanxin.toolkit.scheduler.ActorTask;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /** interface for actor futures */
 public interface ActorFuture<V> extends Future<V> {
@@ -35,4 +39,133 @@ public interface ActorFuture<V> extends Future<V> {
   boolean isCompletedExceptionally();
 
   Throwable getException();
+
+  /**
+   * Calls the consumer with the result or the failure when the future is completed. If the executor
+   * is an actor ({@link com.anyilanxin.toolkit.scheduler.ActorControl}) and the future is completed
+   * by this actor, or is already completed when called from within this actor, the consumer is
+   * called inline. Otherwise, the consumer is handed to the executor, e.g. submitted as job to the
+   * actor.
+   *
+   * <p>Unlike {@code actor.runOnCompletion(...)}, the consumer does not depend on the lifecycle
+   * phase of the actor.
+   *
+   * @param consumer the consumer of the result. The throwable is <code>null</code> when the future
+   *     is completed successfully.
+   * @param executor the executor to call the consumer on
+   * @throws UnsupportedOperationException by the default implementation, if this future is not
+   *     completed yet; implementations which support continuations override this method
+   */
+  default void onComplete(final BiConsumer<V, Throwable> consumer, final Executor executor) {
+    if (!isDone()) {
+      throw new UnsupportedOperationException(
+          String.format(
+              "Expected a completed future or an implementation with continuations, but got %s",
+              getClass().getName()));
+    }
+
+    final V value = isCompletedExceptionally() ? null : join();
+    final Throwable failure = isCompletedExceptionally() ? getException() : null;
+    executor.execute(() -> consumer.accept(value, failure));
+  }
+
+  /**
+   * @return a future which is completed with the result of the mapper, called on the executor (see
+   *     {@link #onComplete(BiConsumer, Executor)}), or with the failure of this future
+   */
+  default <U> ActorFuture<U> map(
+      final Function<? super V, ? extends U> mapper, final Executor executor) {
+    final CompletableActorFuture<U> next = new CompletableActorFuture<>();
+    onComplete(
+        (value, failure) -> {
+          if (failure != null) {
+            next.completeExceptionally(failure);
+            return;
+          }
+
+          final U mapped;
+          try {
+            mapped = mapper.apply(value);
+          } catch (final Throwable e) {
+            next.completeExceptionally(e);
+            return;
+          }
+          next.complete(mapped);
+        },
+        executor);
+    return next;
+  }
+
+  /**
+   * @return a future which is completed like the future returned by the given function, called on
+   *     the executor (see {@link #onComplete(BiConsumer, Executor)}), or with the failure of this
+   *     future
+   */
+  default <U> ActorFuture<U> thenCompose(
+      final Function<? super V, ? extends ActorFuture<U>> next, final Executor executor) {
+    final CompletableActorFuture<U> composed = new CompletableActorFuture<>();
+    onComplete(
+        (value, failure) -> {
+          if (failure != null) {
+            composed.completeExceptionally(failure);
+            return;
+          }
+
+          final ActorFuture<U> nextFuture;
+          try {
+            nextFuture = next.apply(value);
+          } catch (final Throwable e) {
+            composed.completeExceptionally(e);
+            return;
+          }
+          nextFuture.onComplete(
+              (nextValue, nextFailure) -> {
+                if (nextFailure != null) {
+                  composed.completeExceptionally(nextFailure);
+                } else {
+                  composed.complete(nextValue);
+                }
+              },
+              executor);
+        },
+        executor);
+    return composed;
+  }
+
+  /**
+   * Like {@link #thenCompose(Function, Executor)}, for a next step which does not need the result
+   * of this future.
+   */
+  default <U> ActorFuture<U> andThen(
+      final Supplier<? extends ActorFuture<U>> next, final Executor executor) {
+    return thenCompose(ignored -> next.get(), executor);
+  }
+
+  /**
+   * @return a future which is completed with the result of this future, or with the result of the
+   *     recovery function, called on the executor (see {@link #onComplete(BiConsumer, Executor)}),
+   *     if this future is completed exceptionally
+   */
+  default ActorFuture<V> onError(
+      final Function<Throwable, ? extends V> recovery, final Executor executor) {
+    final CompletableActorFuture<V> recovered = new CompletableActorFuture<>();
+    onComplete(
+        (value, failure) -> {
+          if (failure == null) {
+            recovered.complete(value);
+            return;
+          }
+
+          final V recoveredValue;
+          try {
+            recoveredValue = recovery.apply(failure);
+          } catch (final Throwable e) {
+            recovered.completeExceptionally(e);
+            return;
+          }
+          recovered.complete(recoveredValue);
+        },
+        executor);
+    return recovered;
+  }
 }
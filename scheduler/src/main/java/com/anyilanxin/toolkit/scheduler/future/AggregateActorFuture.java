@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.future;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collection;
+
+/**
+ * A future which is completed when all of the given futures are completed. It only counts the
+ * completions, so an actor which waits on it needs one subscription regardless of the number of
+ * futures.
+ */
+public final class AggregateActorFuture extends CompletableActorFuture<Void> {
+  private static final VarHandle PENDING_VAR_HANDLE;
+
+  static {
+    try {
+      PENDING_VAR_HANDLE =
+          MethodHandles.lookup().findVarHandle(AggregateActorFuture.class, "pending", int.class);
+    } catch (final Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private final boolean failFast;
+
+  /** the number of futures which are not completed yet, or -1 if completed on a failure */
+  private volatile int pending;
+
+  private volatile Throwable lastFailure;
+
+  private AggregateActorFuture(final int pending, final boolean failFast) {
+    this.pending = pending;
+    this.failFast = failFast;
+  }
+
+  /**
+   * @return a future which is completed when all futures are completed successfully, or completed
+   *     exceptionally as soon as the first future is completed exceptionally
+   */
+  public static ActorFuture<Void> allOf(final Collection<? extends ActorFuture<?>> futures) {
+    return aggregate(futures, true);
+  }
+
+  /**
+   * @return a future which is completed when all futures are completed, exceptionally with the
+   *     failure of the last future which was completed exceptionally, if any
+   */
+  public static ActorFuture<Void> allCompleted(final Collection<? extends ActorFuture<?>> futures) {
+    return aggregate(futures, false);
+  }
+
+  private static ActorFuture<Void> aggregate(
+      final Collection<? extends ActorFuture<?>> futures, final boolean failFast) {
+    final AggregateActorFuture aggregate = new AggregateActorFuture(futures.size(), failFast);
+    if (futures.isEmpty()) {
+      aggregate.complete(null);
+    }
+
+    for (final ActorFuture<?> future : futures) {
+      future.onComplete((result, failure) -> aggregate.onFutureCompleted(failure), CALLING_THREAD);
+    }
+
+    return aggregate;
+  }
+
+  private void onFutureCompleted(final Throwable failure) {
+    if (failure != null) {
+      if (failFast) {
+        if ((int) PENDING_VAR_HANDLE.getAndSet(this, -1) > 0) {
+          completeExceptionally(failure);
+        }
+        return;
+      }
+
+      lastFailure = failure;
+    }
+
+    if ((int) PENDING_VAR_HANDLE.getAndAdd(this, -1) == 1) {
+      final Throwable lastFailure = this.lastFailure;
+      if (lastFailure != null) {
+        completeExceptionally(lastFailure);
+      } else {
+        complete(null);
+      }
+    }
+  }
+}
@@ -16,36 +16,47 @@
  */
 package com.anyilanxin.toolkit.scheduler.future;
 
+import com.anyilanxin.toolkit.scheduler.ActorControl;
 import com.anyilanxin.toolkit.scheduler.ActorTask;
 import com.anyilanxin.toolkit.scheduler.ActorThread;
 import com.anyilanxin.toolkit.scheduler.FutureUtil;
+import com.anyilanxin.toolkit.util.Loggers;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
-import java.util.Queue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
-import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
 
-/** Completable future implementation that is garbage free and reusable */
+/**
+ * Completable future implementation that is garbage free and reusable.
+ *
+ * <p>The future holds no lock. Actor tasks and threads which wait for the completion are pushed
+ * onto a lock-free stack of {@link Waiter}s, which is only allocated when someone waits and is
+ * drained on completion.
+ */
 @SuppressWarnings("restriction")
 public class CompletableActorFuture<V> implements ActorFuture<V> {
   private static final VarHandle STATE_VAR_HANDLE;
+  private static final VarHandle WAITERS_VAR_HANDLE;
   private static final int AWAITING_RESULT = 1;
   private static final int COMPLETING = 2;
   private static final int COMPLETED = 3;
   private static final int COMPLETED_EXCEPTIONALLY = 4;
   private static final int CLOSED = 5;
 
-  private final ManyToOneConcurrentLinkedQueue<ActorTask> blockedTasks =
-      new ManyToOneConcurrentLinkedQueue<>();
+  /**
+   * calls continuations on the thread which completes the future, for consumers which are thread
+   * safe and cheap (see {@link AggregateActorFuture})
+   */
+  static final Executor CALLING_THREAD = Runnable::run;
 
   private volatile int state = CLOSED;
 
-  private final ReentrantLock completionLock = new ReentrantLock();
-  private Condition isDoneCondition;
+  /** the top of the stack of tasks and threads waiting for the completion, or null */
+  private volatile Waiter waiters;
 
   protected V value;
   protected String failure;
@@ -55,6 +66,9 @@ public class CompletableActorFuture<V> implements ActorFuture<V> {
     try {
       STATE_VAR_HANDLE =
           MethodHandles.lookup().findVarHandle(CompletableActorFuture.class, "state", int.class);
+      WAITERS_VAR_HANDLE =
+          MethodHandles.lookup()
+              .findVarHandle(CompletableActorFuture.class, "waiters", Waiter.class);
     } catch (final Exception ex) {
       throw new RuntimeException(ex);
     }
@@ -84,7 +98,6 @@ public class CompletableActorFuture<V> implements ActorFuture<V> {
 
   public void setAwaitingResult() {
     state = AWAITING_RESULT;
-    isDoneCondition = completionLock.newCondition();
   }
 
   public static <V> CompletableActorFuture<V> completed(final V result) {
@@ -122,7 +135,17 @@ public class CompletableActorFuture<V> implements ActorFuture<V> {
 
   @Override
   public void block(final ActorTask onCompletion) {
-    blockedTasks.add(onCompletion);
+    pushWaiter(new Waiter(onCompletion, null));
+  }
+
+  @Override
+  public void onComplete(final BiConsumer<V, Throwable> consumer, final Executor executor) {
+    pushWaiter(new Continuation(consumer, executor));
+
+    if (isDone()) {
+      // completed before the continuation was pushed, the completing thread may not see it
+      notifyBlockedTasks();
+    }
   }
 
   @Override
@@ -145,18 +168,8 @@ public class CompletableActorFuture<V> implements ActorFuture<V> {
       }
     } else {
       // blocking get for non-actor threads
-      completionLock.lock();
-      try {
-        long remaining = unit.toNanos(timeout);
-
-        while (!isDone()) {
-          if (remaining <= 0) {
-            throw new TimeoutException("Timeout after: " + timeout + " " + unit);
-          }
-          remaining = isDoneCondition.awaitNanos(unit.toNanos(timeout));
-        }
-      } finally {
-        completionLock.unlock();
+      if (!isDone()) {
+        awaitCompletion(timeout, unit);
       }
     }
 
@@ -212,24 +225,85 @@ public class CompletableActorFuture<V> implements ActorFuture<V> {
     completeExceptionally(throwable.getMessage(), throwable);
   }
 
-  private void notifyBlockedTasks() {
-    notifyAllInQueue(blockedTasks);
+  private void awaitCompletion(final long timeout, final TimeUnit unit)
+      throws TimeoutException, InterruptedException {
+    // the waiter is pushed before the state is checked again, and the state is changed before the
+    // waiters are notified, so either the completion is seen here or this thread is unparked
+    final Waiter waiter = new Waiter(null, Thread.currentThread());
+    pushWaiter(waiter);
+
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (!isDone()) {
+      if (Thread.interrupted()) {
+        cancelWaiter(waiter);
+        throw new InterruptedException();
+      }
 
-    try {
-      completionLock.lock();
-      isDoneCondition.signalAll();
-    } finally {
-      completionLock.unlock();
+      final long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        cancelWaiter(waiter);
+        throw new TimeoutException("Timeout after: " + timeout + " " + unit);
+      }
+      LockSupport.parkNanos(this, remaining);
     }
   }
 
-  private void notifyAllInQueue(final Queue<ActorTask> tasks) {
-    while (!tasks.isEmpty()) {
-      final ActorTask task = tasks.poll();
+  /**
+   * Removes the waiter of a thread which gave up waiting, so polling with a timeout does not grow
+   * the stack. Interior nodes are unlinked by pointing their predecessor past them: only the top of
+   * the stack is changed by other threads, so no waiter which is still waiting can be skipped.
+   */
+  private void cancelWaiter(final Waiter waiter) {
+    waiter.cancelled = true;
 
-      if (task != null) {
-        task.tryWakeup();
+    while (!tryUnlinkCancelledWaiters()) {
+      // the top of the stack changed concurrently, retry
+    }
+  }
+
+  private boolean tryUnlinkCancelledWaiters() {
+    Waiter predecessor = null;
+    Waiter current = waiters;
+    while (current != null) {
+      final Waiter next = current.next;
+      if (!current.cancelled) {
+        predecessor = current;
+      } else if (predecessor == null) {
+        if (!WAITERS_VAR_HANDLE.compareAndSet(this, current, next)) {
+          return false;
+        }
+      } else {
+        predecessor.next = next;
       }
+      current = next;
+    }
+    return true;
+  }
+
+  /**
+   * @return the number of tasks, threads and continuations waiting for the completion
+   */
+  int getWaiterCount() {
+    int count = 0;
+    for (Waiter waiter = waiters; waiter != null; waiter = waiter.next) {
+      count++;
+    }
+    return count;
+  }
+
+  private void pushWaiter(final Waiter waiter) {
+    Waiter top;
+    do {
+      top = waiters;
+      waiter.next = top;
+    } while (!WAITERS_VAR_HANDLE.compareAndSet(this, top, waiter));
+  }
+
+  private void notifyBlockedTasks() {
+    Waiter waiter = (Waiter) WAITERS_VAR_HANDLE.getAndSet(this, null);
+    while (waiter != null) {
+      waiter.wakeUp();
+      waiter = waiter.next;
     }
   }
 
@@ -240,7 +314,7 @@ public class CompletableActorFuture<V> implements ActorFuture<V> {
 
   /** future is reusable after close */
   public boolean close() {
-    final int prevState = (int) STATE_VAR_HANDLE.getAndAdd(this, CLOSED);
+    final int prevState = (int) STATE_VAR_HANDLE.getAndSet(this, CLOSED);
 
     if (prevState != CLOSED) {
       value = null;
@@ -287,4 +361,103 @@ public class CompletableActorFuture<V> implements ActorFuture<V> {
             : " not completed (state " + state + ")")
         + "}";
   }
+
+  /** A task or thread which waits for the completion of the future. */
+  private static class Waiter {
+    private final ActorTask task;
+    private final Thread thread;
+    private volatile Waiter next;
+
+    /** set when the thread stopped waiting before the completion */
+    private volatile boolean cancelled;
+
+    private Waiter(final ActorTask task, final Thread thread) {
+      this.task = task;
+      this.thread = thread;
+    }
+
+    void wakeUp() {
+      if (task != null) {
+        task.tryWakeup();
+      } else {
+        LockSupport.unpark(thread);
+      }
+    }
+  }
+
+  /**
+   * A consumer which is registered by {@link #onComplete(BiConsumer, Executor)}. It is called
+   * inline if the future is completed by the actor which is the executor, otherwise it is handed to
+   * the executor.
+   */
+  private final class Continuation extends Waiter {
+    private final BiConsumer<V, Throwable> consumer;
+    private final Executor executor;
+
+    private Continuation(final BiConsumer<V, Throwable> consumer, final Executor executor) {
+      super(null, null);
+      this.consumer = consumer;
+      this.executor = executor;
+    }
+
+    @Override
+    void wakeUp() {
+      if (!isDone()) {
+        // the future was closed without being completed
+        return;
+      }
+
+      final V value = CompletableActorFuture.this.value;
+      final Throwable failure = isCompletedExceptionally() ? failureCause : null;
+
+      if (executor == CALLING_THREAD) {
+        accept(value, failure);
+      } else if (executor instanceof ActorControl) {
+        handOverToActor((ActorControl) executor, value, failure);
+      } else {
+        try {
+          executor.execute(() -> accept(value, failure));
+        } catch (final RuntimeException e) {
+          // the consumer must not be lost, e.g. it completes a derived future which is joined
+          accept(null, e);
+        }
+      }
+    }
+
+    /**
+     * Submits the consumer as job to the actor. If the job is rejected by a full mailbox or dropped
+     * because the actor is closed, the consumer is called with that failure on the current thread
+     * instead.
+     */
+    private void handOverToActor(final ActorControl actor, final V value, final Throwable failure) {
+      if (actor.isCalledFromWithinActor()) {
+        accept(value, failure);
+        return;
+      }
+
+      final ActorFuture<Void> handOver;
+      try {
+        handOver = actor.call(() -> accept(value, failure));
+      } catch (final RuntimeException e) {
+        accept(null, e);
+        return;
+      }
+
+      handOver.onComplete(
+          (ignored, dropped) -> {
+            if (dropped != null) {
+              accept(null, dropped);
+            }
+          },
+          CALLING_THREAD);
+    }
+
+    private void accept(final V value, final Throwable failure) {
+      try {
+        consumer.accept(value, failure);
+      } catch (final Throwable e) {
+        Loggers.ACTOR_LOGGER.error("Continuing on future completion failed", e);
+      }
+    }
+  }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.jfr;
+
+import com.anyilanxin.toolkit.scheduler.ActorTask;
+import com.anyilanxin.toolkit.scheduler.ActorTask.ActorLifecyclePhase;
+
+/**
+ * Emits the Java Flight Recorder events of the scheduler, so actor work can be correlated with GC,
+ * I/O and other JVM events in one timeline. The events are named {@code
+ * com.anyilanxin.toolkit.scheduler.*} and can be configured in a recording like any other event.
+ *
+ * <p>Each method checks whether its event is enabled before it looks up the actor name or starts
+ * the event. The event object itself is only allocated while the check runs, so the JIT can
+ * eliminate it while no recording is running, and the event types are registered lazily on first
+ * use.
+ */
+public final class SchedulerEvents {
+  static final String NAME_PREFIX = "com.anyilanxin.toolkit.scheduler.";
+  static final String CATEGORY = "Actor Scheduler";
+
+  private SchedulerEvents() {}
+
+  /**
+   * @return the started event or null if it is not enabled, pass it to {@link
+   *     #onJobExecuted(JobExecutedEvent, ActorTask)} after the job was executed
+   */
+  public static JobExecutedEvent beginJobExecution() {
+    final JobExecutedEvent event = new JobExecutedEvent();
+    if (!event.isEnabled()) {
+      return null;
+    }
+
+    event.begin();
+    return event;
+  }
+
+  public static void onJobExecuted(final JobExecutedEvent event, final ActorTask task) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.actor = task.getName();
+      event.commit();
+    }
+  }
+
+  /**
+   * @return the started event or null if it is not enabled, pass it to {@link
+   *     #onBlockingTaskCompleted(BlockingTaskEvent, ActorTask)} after the task ran
+   */
+  public static BlockingTaskEvent beginBlockingTask() {
+    final BlockingTaskEvent event = new BlockingTaskEvent();
+    if (!event.isEnabled()) {
+      return null;
+    }
+
+    event.begin();
+    return event;
+  }
+
+  public static void onBlockingTaskCompleted(final BlockingTaskEvent event, final ActorTask task) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.actor = task.getName();
+      event.commit();
+    }
+  }
+
+  public static void onActorWokenUp(final ActorTask task) {
+    final ActorWokenUpEvent event = new ActorWokenUpEvent();
+    if (event.isEnabled()) {
+      event.actor = task.getName();
+      event.commit();
+    }
+  }
+
+  public static void onTaskStolen(final ActorTask task, final int victimThreadId) {
+    final TaskStolenEvent event = new TaskStolenEvent();
+    if (event.isEnabled()) {
+      event.actor = task.getName();
+      event.victimThreadId = victimThreadId;
+      event.commit();
+    }
+  }
+
+  public static void onTimerFired(final ActorTask task, final long latenessMillis) {
+    final TimerFiredEvent event = new TimerFiredEvent();
+    if (event.isEnabled()) {
+      event.actor = task.getName();
+      event.lateness = latenessMillis;
+      event.commit();
+    }
+  }
+
+  public static void onActorPhaseChanged(final ActorTask task, final ActorLifecyclePhase phase) {
+    final ActorPhaseChangedEvent event = new ActorPhaseChangedEvent();
+    if (event.isEnabled()) {
+      event.actor = task.getName();
+      event.phase = phase.name();
+      event.commit();
+    }
+  }
+}
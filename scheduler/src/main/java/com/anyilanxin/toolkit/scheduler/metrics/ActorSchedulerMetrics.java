@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.metrics;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds the metrics of all threads and the currently scheduled actors of one scheduler. Only
+ * created if metrics are enabled on the builder, otherwise no metrics are recorded at all.
+ */
+public final class ActorSchedulerMetrics {
+  private final List<ActorThreadMetrics> threads = new CopyOnWriteArrayList<>();
+  private final Set<ActorTaskMetrics> actors = ConcurrentHashMap.newKeySet();
+
+  public ActorThreadMetrics newThreadMetrics(final String threadName) {
+    final ActorThreadMetrics metrics = new ActorThreadMetrics(threadName);
+    threads.add(metrics);
+    return metrics;
+  }
+
+  public ActorTaskMetrics newTaskMetrics(final String actorName) {
+    final ActorTaskMetrics metrics = new ActorTaskMetrics(actorName);
+    actors.add(metrics);
+    return metrics;
+  }
+
+  public void removeTaskMetrics(final ActorTaskMetrics metrics) {
+    actors.remove(metrics);
+  }
+
+  public void export(final SchedulerMetricsExporter exporter) {
+    for (final ActorThreadMetrics thread : threads) {
+      exporter.exportThread(thread);
+    }
+
+    for (final ActorTaskMetrics actor : actors) {
+      exporter.exportActor(actor);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Metrics of a single actor, created when the actor is submitted to the scheduler. */
+public final class ActorTaskMetrics {
+  private final String actorName;
+
+  private final AtomicLong mailboxDepth = new AtomicLong();
+  private final Histogram jobExecutionTime = new Histogram();
+  private final Histogram wakeupLatency = new Histogram();
+  private final Histogram deadlineLateness = new Histogram();
+
+  /** written only by the thread executing the actor */
+  private volatile long migrations;
+
+  private volatile long jobPreemptions;
+
+  private volatile long deadlineJobs;
+
+  private final AtomicLong jobsRejected = new AtomicLong();
+
+  public ActorTaskMetrics(final String actorName) {
+    this.actorName = actorName;
+  }
+
+  public void onJobSubmitted() {
+    mailboxDepth.incrementAndGet();
+  }
+
+  public void onJobPolled() {
+    mailboxDepth.decrementAndGet();
+  }
+
+  public void onJobExecuted(final long durationNanos) {
+    jobExecutionTime.record(durationNanos);
+  }
+
+  public void onWokenUp(final long latencyNanos) {
+    wakeupLatency.record(latencyNanos);
+  }
+
+  public void onMigrated() {
+    migrations++;
+  }
+
+  public void onJobPreempted() {
+    jobPreemptions++;
+  }
+
+  public void onJobRejected() {
+    jobsRejected.incrementAndGet();
+  }
+
+  public void onJobsRejected(final int count) {
+    jobsRejected.addAndGet(count);
+  }
+
+  /**
+   * @param latenessNanos how long after its deadline the job started, negative if it started in
+   *     time
+   */
+  public void onDeadlineJobStarted(final long latenessNanos) {
+    deadlineJobs++;
+    if (latenessNanos > 0) {
+      deadlineLateness.record(latenessNanos);
+    }
+  }
+
+  public String getActorName() {
+    return actorName;
+  }
+
+  /**
+   * @return the number of jobs which were submitted externally and are not yet picked up
+   */
+  public long getMailboxDepth() {
+    // the producer counts after offering, so the consumer may briefly be ahead
+    return Math.max(0, mailboxDepth.get());
+  }
+
+  /**
+   * @return how often the actor was executed by a different thread than the one before
+   */
+  public long getMigrations() {
+    return migrations;
+  }
+
+  /**
+   * @return how often a job which runs until done used up its budget and was re-enqueued
+   */
+  public long getJobPreemptions() {
+    return jobPreemptions;
+  }
+
+  /**
+   * @return how many jobs were not accepted because the mailbox of the actor was full
+   */
+  public long getJobsRejected() {
+    return jobsRejected.get();
+  }
+
+  /**
+   * @return how many jobs with a deadline were started
+   */
+  public long getDeadlineJobs() {
+    return deadlineJobs;
+  }
+
+  /**
+   * @return how many jobs with a deadline started after their deadline
+   */
+  public long getDeadlineMisses() {
+    return deadlineLateness.getCount();
+  }
+
+  /**
+   * @return how long after their deadline the jobs which missed it started, in nanoseconds
+   */
+  public Histogram getDeadlineLateness() {
+    return deadlineLateness;
+  }
+
+  /**
+   * @return the time one invocation of a job took, in nanoseconds
+   */
+  public Histogram getJobExecutionTime() {
+    return jobExecutionTime;
+  }
+
+  /**
+   * @return the time between waking up the waiting actor and starting to execute it, in nanoseconds
+   */
+  public Histogram getWakeupLatency() {
+    return wakeupLatency;
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.metrics;
+
+/**
+ * Metrics of a single actor thread. All values are written by the owning thread only, hence the
+ * plain increments of the volatile fields; except for the stalls, which are written by the stall
+ * watchdog only.
+ */
+public final class ActorThreadMetrics {
+  private final String threadName;
+
+  private volatile long busyTimeNanos;
+  private volatile long idleTimeNanos;
+  private volatile long tasksExecuted;
+  private volatile long tasksStolen;
+  private volatile long timerExpiryBudgetExhausted;
+  private volatile long stalls;
+
+  private final Histogram timerExpiryLag = new Histogram();
+
+  public ActorThreadMetrics(final String threadName) {
+    this.threadName = threadName;
+  }
+
+  public void onBusyPeriodEnded(final long durationNanos) {
+    busyTimeNanos = busyTimeNanos + durationNanos;
+  }
+
+  public void onIdlePeriodEnded(final long durationNanos) {
+    idleTimeNanos = idleTimeNanos + durationNanos;
+  }
+
+  public void onTaskExecuted() {
+    tasksExecuted = tasksExecuted + 1;
+  }
+
+  public void onTaskStolen() {
+    tasksStolen = tasksStolen + 1;
+  }
+
+  public void onTimerExpired(final long lagMillis) {
+    timerExpiryLag.record(lagMillis);
+  }
+
+  public void onTimerExpiryBudgetExhausted() {
+    timerExpiryBudgetExhausted = timerExpiryBudgetExhausted + 1;
+  }
+
+  public void onStallDetected() {
+    stalls = stalls + 1;
+  }
+
+  public String getThreadName() {
+    return threadName;
+  }
+
+  /**
+   * @return the time spent executing tasks, counted when the thread becomes idle
+   */
+  public long getBusyTimeNanos() {
+    return busyTimeNanos;
+  }
+
+  /**
+   * @return the time spent idle, counted when the thread picks up a task again
+   */
+  public long getIdleTimeNanos() {
+    return idleTimeNanos;
+  }
+
+  /**
+   * @return the share of time spent executing tasks between 0 and 1
+   */
+  public double getBusyRatio() {
+    final long busy = busyTimeNanos;
+    final long total = busy + idleTimeNanos;
+    return total == 0 ? 0 : (double) busy / total;
+  }
+
+  public long getTasksExecuted() {
+    return tasksExecuted;
+  }
+
+  /**
+   * @return the number of tasks this thread took from the queue of another thread
+   */
+  public long getTasksStolen() {
+    return tasksStolen;
+  }
+
+  /**
+   * @return how late timers expired, in milliseconds after their deadline
+   */
+  public Histogram getTimerExpiryLag() {
+    return timerExpiryLag;
+  }
+
+  /**
+   * @return how often the timer expiry budget was used up and expired timers were carried over
+   */
+  public long getTimerExpiryBudgetExhausted() {
+    return timerExpiryBudgetExhausted;
+  }
+
+  /**
+   * @return how often a job blocked this thread for longer than the stall detection threshold
+   */
+  public long getStalls() {
+    return stalls;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram with power-of-two buckets: bucket {@code i} counts the values in {@code [2^(i-1),
+ * 2^i)}, bucket 0 counts the value 0. Recording is constant time and garbage free, the precision is
+ * good enough to tell microseconds from milliseconds.
+ *
+ * <p>Single writer: values must only be recorded by one thread at a time (e.g. the thread which
+ * currently executes the actor). Any thread may read.
+ */
+public final class Histogram {
+  public static final int BUCKET_COUNT = 64;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+  private volatile long count;
+  private volatile long sum;
+  private volatile long max;
+
+  public void record(final long value) {
+    final long v = Math.max(0, value);
+    final int bucket = Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(v));
+
+    buckets.lazySet(bucket, buckets.get(bucket) + 1);
+    sum = sum + v;
+    if (v > max) {
+      max = v;
+    }
+    count = count + 1;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getSum() {
+    return sum;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  public double getMean() {
+    final long count = this.count;
+    return count == 0 ? 0 : (double) sum / count;
+  }
+
+  public long getBucketCount(final int bucket) {
+    return buckets.get(bucket);
+  }
+
+  /**
+   * @return the largest value which is counted in the given bucket
+   */
+  public static long getBucketUpperBound(final int bucket) {
+    return bucket == 0 ? 0 : bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+  }
+
+  /**
+   * Returns an upper bound of the value at the given percentile, i.e. the upper bound of the bucket
+   * which contains it.
+   *
+   * @param percentile the percentile between 0 and 100
+   * @return the upper bound of the value at the percentile or 0 if nothing was recorded
+   */
+  public long getValueAtPercentile(final double percentile) {
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      total += buckets.get(i);
+    }
+
+    final long rank = (long) Math.ceil(total * Math.min(100.0, percentile) / 100.0);
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += buckets.get(i);
+      if (seen >= rank && seen > 0) {
+        return Math.min(getBucketUpperBound(i), max);
+      }
+    }
+
+    return 0;
+  }
+}
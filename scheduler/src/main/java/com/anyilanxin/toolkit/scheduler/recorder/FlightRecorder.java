@@ -0,0 +1,185 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.recorder;
+
+import com.anyilanxin.toolkit.scheduler.ActorTask;
+import com.anyilanxin.toolkit.scheduler.ActorTask.ActorLifecyclePhase;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import org.agrona.BitUtil;
+
+/**
+ * Records the last events of one actor thread in a ring buffer: which actor it executed, when and
+ * for how long, which actors it stole and woke up. Recording is garbage free as long as the names
+ * of the actors are, and takes no extra timestamps: the events are stamped with the clock of the
+ * thread. Only the names of the actors are kept, so closed actors are not retained by the recorder.
+ *
+ * <p>Single writer: only the owning thread records. Any thread may take a {@link #snapshot()}, it
+ * only contains the events which were not overwritten while it was taken.
+ */
+public final class FlightRecorder {
+  private static final VarHandle POSITION_VAR_HANDLE;
+  private static final ActorLifecyclePhase[] PHASES = ActorLifecyclePhase.values();
+  private static final FlightRecorderEventType[] TYPES = FlightRecorderEventType.values();
+
+  static {
+    try {
+      POSITION_VAR_HANDLE =
+          MethodHandles.lookup().findVarHandle(FlightRecorder.class, "position", long.class);
+    } catch (final Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private final String threadName;
+  private final int mask;
+
+  private final long[] timestamps;
+  private final long[] values;
+  private final byte[] types;
+  private final byte[] phases;
+  private final String[] actorNames;
+
+  /** the number of recorded events, the next event is written at {@code position & mask} */
+  private volatile long position;
+
+  /**
+   * @param threadName the name of the thread which records
+   * @param capacity the number of events which are kept, rounded up to the next power of two
+   */
+  public FlightRecorder(final String threadName, final int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException(
+          String.format("Expected a capacity greater than 0, but got %d", capacity));
+    }
+
+    this.threadName = threadName;
+
+    final int size = BitUtil.findNextPositivePowerOfTwo(capacity);
+    mask = size - 1;
+    timestamps = new long[size];
+    values = new long[size];
+    types = new byte[size];
+    phases = new byte[size];
+    actorNames = new String[size];
+  }
+
+  public void onTaskExecuted(
+      final ActorTask task,
+      final ActorLifecyclePhase phase,
+      final long startNanos,
+      final long durationNanos) {
+    record(FlightRecorderEventType.EXECUTED, task, phase, startNanos, durationNanos);
+  }
+
+  public void onTaskStolen(final ActorTask task, final long nowNanos) {
+    record(FlightRecorderEventType.STOLEN, task, null, nowNanos, 0);
+  }
+
+  public void onTaskWokenUp(final ActorTask task, final long nowNanos) {
+    record(FlightRecorderEventType.WOKEN_UP, task, null, nowNanos, 0);
+  }
+
+  private void record(
+      final FlightRecorderEventType type,
+      final ActorTask task,
+      final ActorLifecyclePhase phase,
+      final long timestampNanos,
+      final long value) {
+    final long position = this.position;
+    final int index = (int) position & mask;
+
+    timestamps[index] = timestampNanos;
+    values[index] = value;
+    types[index] = (byte) type.ordinal();
+    phases[index] = (byte) (phase != null ? phase.ordinal() : -1);
+    actorNames[index] = task.getName();
+
+    POSITION_VAR_HANDLE.setRelease(this, position + 1);
+  }
+
+  public int getCapacity() {
+    return mask + 1;
+  }
+
+  public String getThreadName() {
+    return threadName;
+  }
+
+  /**
+   * @return the recorded events, oldest first. Once the ring buffer is full, it contains at most
+   *     {@code capacity - 1} events: the oldest slot is left out, since the writer may be
+   *     overwriting it
+   */
+  public List<FlightRecorderEvent> snapshot() {
+    final int capacity = getCapacity();
+    final long end = (long) POSITION_VAR_HANDLE.getAcquire(this);
+    final long start = Math.max(0, end - capacity);
+    final int count = (int) (end - start);
+
+    final long[] timestamps = new long[count];
+    final long[] values = new long[count];
+    final byte[] types = new byte[count];
+    final byte[] phases = new byte[count];
+    final String[] actorNames = new String[count];
+
+    for (int i = 0; i < count; i++) {
+      final int index = (int) (start + i) & mask;
+      timestamps[i] = this.timestamps[index];
+      values[i] = this.values[index];
+      types[i] = this.types[index];
+      phases[i] = this.phases[index];
+      actorNames[i] = this.actorNames[index];
+    }
+
+    // events which the writer overwrote or started to overwrite while copying are torn
+    VarHandle.loadLoadFence();
+    final long newEnd = (long) POSITION_VAR_HANDLE.getAcquire(this);
+    final long firstIntact = Math.max(start, newEnd - capacity + 1);
+
+    final List<FlightRecorderEvent> events = new ArrayList<>(count);
+    for (int i = (int) (firstIntact - start); i < count; i++) {
+      events.add(
+          new FlightRecorderEvent(
+              threadName,
+              timestamps[i],
+              TYPES[types[i]],
+              actorNames[i],
+              phases[i] >= 0 ? PHASES[phases[i]] : null,
+              values[i]));
+    }
+
+    return events;
+  }
+
+  /**
+   * @return the events of all given recorders, ordered by their timestamp
+   */
+  public static List<FlightRecorderEvent> snapshot(final Collection<FlightRecorder> recorders) {
+    final List<FlightRecorderEvent> events = new ArrayList<>();
+    for (final FlightRecorder recorder : recorders) {
+      events.addAll(recorder.snapshot());
+    }
+
+    events.sort(Comparator.comparingLong(FlightRecorderEvent::timestampNanos));
+    return events;
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.recorder;
+
+import com.anyilanxin.toolkit.scheduler.ActorTask.ActorLifecyclePhase;
+
+/**
+ * An event of a {@link FlightRecorder}.
+ *
+ * @param threadName the name of the actor thread which recorded the event
+ * @param timestampNanos the time of the clock of the thread, which is updated once per execution
+ * @param type the kind of the event
+ * @param actorName the name of the actor the event is about
+ * @param phase the lifecycle phase of the actor when it was executed, which tells whether it ran
+ *     its start or close jobs or regular ones; null for other events
+ * @param value the duration for {@link FlightRecorderEventType#EXECUTED}, otherwise 0
+ */
+public record FlightRecorderEvent(
+    String threadName,
+    long timestampNanos,
+    FlightRecorderEventType type,
+    String actorName,
+    ActorLifecyclePhase phase,
+    long value) {
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%d %s %s %s%s%s",
+        timestampNanos,
+        threadName,
+        type,
+        actorName,
+        phase != null ? " " + phase : "",
+        type == FlightRecorderEventType.EXECUTED ? " " + value + "ns" : "");
+  }
+}
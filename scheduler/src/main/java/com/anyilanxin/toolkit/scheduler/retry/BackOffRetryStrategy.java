@@ -20,21 +20,28 @@ import com.anyilanxin.toolkit.scheduler.ActorControl;
 import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
 import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 
+/**
+ * Retries with an exponential back off which starts at one second and doubles up to the max back
+ * off. See {@link JitteredBackOffRetryStrategy} if many actors may retry at the same time.
+ */
 public class BackOffRetryStrategy implements RetryStrategy {
+  private static final long INITIAL_BACK_OFF_NANOS = TimeUnit.SECONDS.toNanos(1);
 
   private final ActorControl actor;
-  private final Duration maxBackOff;
+  private final long maxBackOffNanos;
+  private final Runnable runAttempt = this::run;
 
-  private Duration backOffDuration;
+  private long backOffNanos;
   private CompletableActorFuture<Boolean> currentFuture;
   private BooleanSupplier currentTerminateCondition;
   private OperationToRetry currentCallable;
 
   public BackOffRetryStrategy(final ActorControl actor, final Duration maxBackOff) {
     this.actor = actor;
-    this.maxBackOff = maxBackOff;
+    maxBackOffNanos = maxBackOff.toNanos();
   }
 
   @Override
@@ -48,9 +55,9 @@ public class BackOffRetryStrategy implements RetryStrategy {
     currentFuture = new CompletableActorFuture<>();
     currentTerminateCondition = terminateCondition;
     currentCallable = callable;
-    backOffDuration = Duration.ofSeconds(1);
+    backOffNanos = INITIAL_BACK_OFF_NANOS;
 
-    actor.run(this::run);
+    actor.run(runAttempt);
 
     return currentFuture;
   }
@@ -74,11 +81,9 @@ public class BackOffRetryStrategy implements RetryStrategy {
   }
 
   private void backOff() {
-    final boolean notReachedMaxBackOff = !backOffDuration.equals(maxBackOff);
-    if (notReachedMaxBackOff) {
-      final Duration nextBackOff = backOffDuration.multipliedBy(2);
-      backOffDuration = nextBackOff.compareTo(maxBackOff) < 0 ? nextBackOff : maxBackOff;
+    if (backOffNanos != maxBackOffNanos) {
+      backOffNanos = backOffNanos > maxBackOffNanos / 2 ? maxBackOffNanos : backOffNanos * 2;
     }
-    actor.runDelayed(backOffDuration, this::run);
+    actor.runDelayed(backOffNanos, TimeUnit.NANOSECONDS, runAttempt);
   }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.retry;
+
+import com.anyilanxin.toolkit.scheduler.ActorControl;
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Retries with an exponential back off with decorrelated jitter: each delay is random between the
+ * base back off and three times the previous delay, capped by the max back off. Actors which failed
+ * at the same time on the same resource spread their retries instead of retrying in lockstep.
+ *
+ * <p>Optionally, each retry takes a token of a {@link RetryBudget} which is shared with other
+ * actors; the strategy gives up if the budget is used up. Like the terminate condition, giving up
+ * completes the future with false.
+ */
+public class JitteredBackOffRetryStrategy implements RetryStrategy {
+
+  private final ActorControl actor;
+  private final long baseBackOffNanos;
+  private final long maxBackOffNanos;
+  private final RetryBudget retryBudget;
+  private final Runnable runAttempt = this::run;
+
+  private long backOffNanos;
+  private CompletableActorFuture<Boolean> currentFuture;
+  private BooleanSupplier currentTerminateCondition;
+  private OperationToRetry currentCallable;
+
+  // written by the actor only
+  private volatile long attempts;
+  private volatile long giveUps;
+
+  public JitteredBackOffRetryStrategy(
+      final ActorControl actor, final Duration baseBackOff, final Duration maxBackOff) {
+    this(actor, baseBackOff, maxBackOff, null);
+  }
+
+  /**
+   * @param retryBudget limits the retries together with other strategies, or null for unlimited
+   *     retries
+   */
+  public JitteredBackOffRetryStrategy(
+      final ActorControl actor,
+      final Duration baseBackOff,
+      final Duration maxBackOff,
+      final RetryBudget retryBudget) {
+    if (baseBackOff.isNegative() || baseBackOff.isZero()) {
+      throw new IllegalArgumentException(
+          String.format("Expected a positive base back off, but got %s", baseBackOff));
+    }
+    if (maxBackOff.compareTo(baseBackOff) < 0) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected a max back off of at least the base back off %s, but got %s",
+              baseBackOff, maxBackOff));
+    }
+
+    this.actor = actor;
+    baseBackOffNanos = baseBackOff.toNanos();
+    maxBackOffNanos = maxBackOff.toNanos();
+    this.retryBudget = retryBudget;
+  }
+
+  @Override
+  public ActorFuture<Boolean> runWithRetry(final OperationToRetry callable) {
+    return runWithRetry(callable, () -> false);
+  }
+
+  @Override
+  public ActorFuture<Boolean> runWithRetry(
+      final OperationToRetry callable, final BooleanSupplier terminateCondition) {
+    currentFuture = new CompletableActorFuture<>();
+    currentTerminateCondition = terminateCondition;
+    currentCallable = callable;
+    backOffNanos = baseBackOffNanos;
+
+    actor.run(runAttempt);
+
+    return currentFuture;
+  }
+
+  private void run() {
+    attempts = attempts + 1;
+
+    try {
+      if (currentCallable.run()) {
+        currentFuture.complete(true);
+        return;
+      }
+    } catch (final Exception exception) {
+      // retried like an unsuccessful attempt
+    }
+
+    if (currentTerminateCondition.getAsBoolean()
+        || (retryBudget != null && !retryBudget.tryAcquire())) {
+      giveUps = giveUps + 1;
+      currentFuture.complete(false);
+    } else {
+      backOff();
+    }
+  }
+
+  private void backOff() {
+    final long upperBound = backOffNanos > maxBackOffNanos / 3 ? maxBackOffNanos : backOffNanos * 3;
+    final long nextBackOff =
+        upperBound > baseBackOffNanos
+            ? ThreadLocalRandom.current().nextLong(baseBackOffNanos, upperBound + 1)
+            : baseBackOffNanos;
+    backOffNanos = Math.min(maxBackOffNanos, nextBackOff);
+
+    actor.runDelayed(backOffNanos, TimeUnit.NANOSECONDS, runAttempt);
+  }
+
+  /**
+   * @return how often the operation was run, including the first attempt of each run
+   */
+  public long getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * @return how often the strategy gave up because the terminate condition returned true or the
+   *     retry budget was used up
+   */
+  public long getGiveUps() {
+    return giveUps;
+  }
+}
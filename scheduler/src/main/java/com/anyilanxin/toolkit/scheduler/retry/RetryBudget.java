@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.retry;
+
+import com.anyilanxin.toolkit.scheduler.clock.ActorClock;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket which caps the retries of many actors, e.g. of all actors which call the same
+ * resource: when the resource is down, the actors give up once the budget is used up instead of
+ * keeping it busy with retries. Thread safe, a retry costs a CAS and allocates nothing.
+ *
+ * <p>The bucket is stored as the time at which it is full again (the generic cell rate algorithm):
+ * each retry moves that time by the refill interval of one token, and a retry is rejected if that
+ * time would be further ahead than the capacity of the bucket.
+ */
+public final class RetryBudget {
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final int capacity;
+  private final long tokenIntervalNanos;
+  private final long burstNanos;
+
+  /** the time at which the bucket is full again */
+  private final AtomicLong fullAtNanos = new AtomicLong(Long.MIN_VALUE);
+
+  private final AtomicLong grantedRetries = new AtomicLong();
+  private final AtomicLong rejectedRetries = new AtomicLong();
+
+  /**
+   * @param capacity how many retries can be made at once, the bucket starts full
+   * @param retriesPerSecond how fast the budget is refilled
+   */
+  public RetryBudget(final int capacity, final double retriesPerSecond) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException(
+          String.format("Expected a capacity of at least 1, but got %d", capacity));
+    }
+    if (!(retriesPerSecond > 0)) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected a refill rate greater than 0 retries per second, but got %f",
+              retriesPerSecond));
+    }
+
+    this.capacity = capacity;
+    tokenIntervalNanos = Math.max(1, (long) (NANOS_PER_SECOND / retriesPerSecond));
+    burstNanos = tokenIntervalNanos * capacity;
+  }
+
+  /**
+   * Takes a token for a retry, using the clock of the current actor thread.
+   *
+   * @return false if the budget is used up and the caller should give up
+   */
+  public boolean tryAcquire() {
+    return tryAcquire(TimeUnit.MILLISECONDS.toNanos(ActorClock.currentTimeMillis()));
+  }
+
+  /**
+   * @param nowNanos the current time, in the same time base for all callers
+   * @return false if the budget is used up and the caller should give up
+   */
+  public boolean tryAcquire(final long nowNanos) {
+    while (true) {
+      final long fullAt = fullAtNanos.get();
+      final long nextFullAt = Math.max(fullAt, nowNanos) + tokenIntervalNanos;
+
+      if (nextFullAt - nowNanos > burstNanos) {
+        rejectedRetries.incrementAndGet();
+        return false;
+      }
+
+      if (fullAtNanos.compareAndSet(fullAt, nextFullAt)) {
+        grantedRetries.incrementAndGet();
+        return true;
+      }
+    }
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * @return how many retries were allowed by this budget
+   */
+  public long getGrantedRetries() {
+    return grantedRetries.get();
+  }
+
+  /**
+   * @return how many retries were rejected because the budget was used up
+   */
+  public long getRejectedRetries() {
+    return rejectedRetries.get();
+  }
+}
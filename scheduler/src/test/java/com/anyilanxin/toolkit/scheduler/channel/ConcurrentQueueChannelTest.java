@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.channel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorCondition;
+import com.anyilanxin.toolkit.scheduler.testing.ActorSchedulerRule;
+import com.anyilanxin.toolkit.util.TestUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ConcurrentQueueChannelTest {
+  @Rule public final ActorSchedulerRule schedulerRule = new ActorSchedulerRule(2);
+
+  private final ConcurrentQueueChannel<Integer> channel =
+      new ConcurrentQueueChannel<>(new ConcurrentLinkedQueue<>());
+  private final ActorCondition condition = mock(ActorCondition.class);
+
+  @Test
+  public void shouldSignalOnlyWhenChannelBecomesAvailable() {
+    // given
+    channel.registerConsumer(condition);
+
+    // when
+    channel.offer(1);
+    channel.offer(2);
+    channel.add(3);
+
+    // then
+    verify(condition, times(1)).signal();
+  }
+
+  @Test
+  public void shouldNotSignalWhileConsumerSeesElements() {
+    // given
+    channel.registerConsumer(condition);
+    channel.offer(1);
+
+    // when
+    assertThat(channel.hasAvailable()).isTrue();
+    channel.offer(2);
+
+    // then
+    verify(condition, times(1)).signal();
+  }
+
+  @Test
+  public void shouldSignalAgainAfterConsumerSawEmptyChannel() {
+    // given
+    channel.registerConsumer(condition);
+    channel.offer(1);
+    channel.poll();
+
+    // when
+    assertThat(channel.hasAvailable()).isFalse();
+    channel.offer(2);
+    channel.offer(3);
+
+    // then
+    verify(condition, times(2)).signal();
+  }
+
+  @Test
+  public void shouldOfferAllWithSingleSignal() {
+    // given
+    channel.registerConsumer(condition);
+
+    // when
+    final int added = channel.offerAll(Arrays.asList(1, 2, 3));
+
+    // then
+    assertThat(added).isEqualTo(3);
+    assertThat(channel.size()).isEqualTo(3);
+    verify(condition, times(1)).signal();
+  }
+
+  @Test
+  public void shouldOfferAllUntilQueueIsFull() {
+    // given
+    final ConcurrentQueueChannel<Integer> bounded =
+        new ConcurrentQueueChannel<>(new ArrayBlockingQueue<>(2));
+
+    // when
+    final int added = bounded.offerAll(Arrays.asList(1, 2, 3));
+
+    // then
+    assertThat(added).isEqualTo(2);
+    assertThat(bounded.poll()).isEqualTo(1);
+    assertThat(bounded.poll()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldDrainUpToLimit() {
+    // given
+    channel.offerAll(Arrays.asList(1, 2, 3));
+    final List<Integer> drained = new ArrayList<>();
+
+    // when
+    final int count = channel.drainTo(drained::add, 2);
+
+    // then
+    assertThat(count).isEqualTo(2);
+    assertThat(drained).containsExactly(1, 2);
+    assertThat(channel.drainTo(drained::add, 2)).isEqualTo(1);
+    assertThat(drained).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  public void shouldConsumeAllElementsOfConcurrentProducers() throws Exception {
+    // given
+    final int producers = 4;
+    final int elementsPerProducer = 10_000;
+    final List<Integer> consumed = new CopyOnWriteArrayList<>();
+    final ConsumerActor consumer = new ConsumerActor(consumed);
+    schedulerRule.submitActor(consumer).join();
+
+    // when
+    final List<Thread> threads = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      final Thread thread =
+          new Thread(
+              () -> {
+                for (int i = 0; i < elementsPerProducer; i++) {
+                  if (i % 10 == 0) {
+                    channel.offerAll(Arrays.asList(i, i, i, i, i));
+                    i += 4;
+                  } else {
+                    channel.offer(i);
+                  }
+                }
+              });
+      threads.add(thread);
+      thread.start();
+    }
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    TestUtil.waitUntil(() -> consumed.size() == producers * elementsPerProducer);
+    assertThat(channel.isEmpty()).isTrue();
+  }
+
+  private final class ConsumerActor extends Actor {
+    private final List<Integer> consumed;
+
+    private ConsumerActor(final List<Integer> consumed) {
+      this.consumed = consumed;
+    }
+
+    @Override
+    protected void onActorStarted() {
+      actor.consume(channel, () -> channel.drainTo(consumed::add, 64));
+    }
+  }
+}
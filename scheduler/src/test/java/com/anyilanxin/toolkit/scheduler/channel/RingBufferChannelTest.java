@@ -0,0 +1,239 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.channel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorCondition;
+import com.anyilanxin.toolkit.scheduler.testing.ActorSchedulerRule;
+import com.anyilanxin.toolkit.util.TestUtil;
+import com.anyilanxin.toolkit.util.buffer.BufferWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.agrona.MutableDirectBuffer;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class RingBufferChannelTest {
+  private static final int MSG_TYPE_ID = 1;
+
+  @Rule public final ActorSchedulerRule schedulerRule = new ActorSchedulerRule(2);
+
+  private final RingBufferChannel channel = new RingBufferChannel(1024);
+  private final ActorCondition condition = mock(ActorCondition.class);
+
+  @After
+  public void tearDown() {
+    channel.close();
+  }
+
+  @Test
+  public void shouldRejectCapacityWhichIsNotPowerOfTwo() {
+    assertThatThrownBy(() -> new RingBufferChannel(1000))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldReadMessagesInPlace() {
+    // given
+    channel.write(MSG_TYPE_ID, new LongWriter(1));
+    channel.write(MSG_TYPE_ID + 1, new LongWriter(2));
+
+    // when
+    final List<String> messages = new ArrayList<>();
+    final int read =
+        channel.read(
+            (msgTypeId, buffer, index, length) ->
+                messages.add(msgTypeId + ":" + buffer.getLong(index) + ":" + length),
+            10);
+
+    // then
+    assertThat(read).isEqualTo(2);
+    assertThat(messages).containsExactly("1:1:8", "2:2:8");
+    assertThat(channel.hasAvailable()).isFalse();
+  }
+
+  @Test
+  public void shouldReadUpToLimit() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      channel.write(MSG_TYPE_ID, new LongWriter(i));
+    }
+
+    // when
+    final int read = channel.read((msgTypeId, buffer, index, length) -> {}, 2);
+
+    // then
+    assertThat(read).isEqualTo(2);
+    assertThat(channel.hasAvailable()).isTrue();
+  }
+
+  @Test
+  public void shouldRejectMessageIfChannelIsFull() {
+    // given
+    // each message takes 16 bytes including its header
+    for (int i = 0; i < 64; i++) {
+      assertThat(channel.write(MSG_TYPE_ID, new LongWriter(i))).isTrue();
+    }
+
+    // when
+    final boolean written = channel.write(MSG_TYPE_ID, new LongWriter(64));
+
+    // then
+    assertThat(written).isFalse();
+  }
+
+  @Test
+  public void shouldAbortMessageIfWriterFails() {
+    // given
+    final BufferWriter failingWriter =
+        new LongWriter(0) {
+          @Override
+          public void write(final MutableDirectBuffer buffer, final int offset) {
+            throw new IllegalStateException("expected");
+          }
+        };
+
+    // when
+    assertThatThrownBy(() -> channel.write(MSG_TYPE_ID, failingWriter))
+        .isInstanceOf(IllegalStateException.class);
+    channel.write(MSG_TYPE_ID, new LongWriter(2));
+
+    // then
+    final List<Long> values = new ArrayList<>();
+    channel.read((msgTypeId, buffer, index, length) -> values.add(buffer.getLong(index)), 10);
+    assertThat(values).containsExactly(2L);
+  }
+
+  @Test
+  public void shouldSignalOnlyWhenChannelBecomesAvailable() {
+    // given
+    channel.registerConsumer(condition);
+    channel.write(MSG_TYPE_ID, new LongWriter(1));
+    channel.write(MSG_TYPE_ID, new LongWriter(2));
+    verify(condition, times(1)).signal();
+
+    // when
+    channel.read((msgTypeId, buffer, index, length) -> {}, 10);
+    assertThat(channel.hasAvailable()).isFalse();
+    channel.write(MSG_TYPE_ID, new LongWriter(3));
+
+    // then
+    verify(condition, times(2)).signal();
+  }
+
+  @Test
+  public void shouldNotBeAvailableBeforeMessageIsCommitted() {
+    // given
+    channel.registerConsumer(condition);
+    final List<Boolean> availableWhileWriting = new ArrayList<>();
+    final BufferWriter checkingWriter =
+        new LongWriter(1) {
+          @Override
+          public void write(final MutableDirectBuffer buffer, final int offset) {
+            availableWhileWriting.add(channel.hasAvailable());
+            super.write(buffer, offset);
+          }
+        };
+
+    // when
+    channel.write(MSG_TYPE_ID, checkingWriter);
+
+    // then
+    assertThat(availableWhileWriting).containsExactly(false);
+    assertThat(channel.hasAvailable()).isTrue();
+    verify(condition, times(1)).signal();
+  }
+
+  @Test
+  public void shouldConsumeMessagesOfConcurrentProducers() throws Exception {
+    // given
+    final int producers = 4;
+    final int messagesPerProducer = 10_000;
+    final ConsumerActor consumer = new ConsumerActor();
+    schedulerRule.submitActor(consumer).join();
+
+    // when
+    final List<Thread> threads = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      final Thread thread =
+          new Thread(
+              () -> {
+                final LongWriter writer = new LongWriter(0);
+                for (int i = 1; i <= messagesPerProducer; i++) {
+                  writer.value = i;
+                  while (!channel.write(MSG_TYPE_ID, writer)) {
+                    Thread.onSpinWait();
+                  }
+                }
+              });
+      threads.add(thread);
+      thread.start();
+    }
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    final long expectedSum = producers * (messagesPerProducer * (messagesPerProducer + 1L) / 2);
+    TestUtil.waitUntil(() -> consumer.sum.get() == expectedSum);
+    assertThat(consumer.messages.get()).isEqualTo(producers * messagesPerProducer);
+  }
+
+  private final class ConsumerActor extends Actor {
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+
+    @Override
+    protected void onActorStarted() {
+      actor.consume(
+          channel,
+          () ->
+              channel.read(
+                  (msgTypeId, buffer, index, length) -> {
+                    sum.addAndGet(buffer.getLong(index));
+                    messages.incrementAndGet();
+                  },
+                  16));
+    }
+  }
+
+  private static class LongWriter implements BufferWriter {
+    private long value;
+
+    private LongWriter(final long value) {
+      this.value = value;
+    }
+
+    @Override
+    public int getLength() {
+      return Long.BYTES;
+    }
+
+    @Override
+    public void write(final MutableDirectBuffer buffer, final int offset) {
+      buffer.putLong(offset, value);
+    }
+  }
+}
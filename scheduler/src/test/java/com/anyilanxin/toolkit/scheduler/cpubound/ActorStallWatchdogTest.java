@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.cpubound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorScheduler;
+import com.anyilanxin.toolkit.scheduler.ActorStallWatchdog;
+import com.anyilanxin.toolkit.scheduler.ActorThread;
+import com.anyilanxin.toolkit.scheduler.testing.ActorSchedulerRule;
+import com.anyilanxin.toolkit.util.TestUtil;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ActorStallWatchdogTest {
+  @Rule public final ActorSchedulerRule schedulerRule = newSchedulerRule(Duration.ofMillis(20));
+
+  @Rule
+  public final ActorSchedulerRule lenientSchedulerRule = newSchedulerRule(Duration.ofMillis(500));
+
+  private final CountDownLatch unblock = new CountDownLatch(1);
+
+  @After
+  public void tearDown() {
+    // before the schedulers are stopped
+    unblock.countDown();
+  }
+
+  @Test
+  public void shouldBeDisabledByDefault() {
+    // when
+    final ActorScheduler notStarted =
+        ActorScheduler.newActorScheduler().setIoBoundActorThreadCount(1).build();
+
+    // then
+    assertThat(notStarted.getStallWatchdog()).isNull();
+  }
+
+  @Test
+  public void shouldRejectNegativeThreshold() {
+    assertThatThrownBy(
+            () ->
+                ActorScheduler.newActorScheduler()
+                    .setStallDetectionThreshold(Duration.ofMillis(-1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldDetectJobWhichBlocksThread() {
+    // given
+    final ActorStallWatchdog watchdog = schedulerRule.get().getStallWatchdog();
+    final BlockingActor actor = new BlockingActor();
+    schedulerRule.submitActor(actor).join();
+
+    // when
+    actor.block();
+
+    // then
+    TestUtil.waitUntil(() -> watchdog.getStallCount() == 1);
+    final ActorThread thread = actor.blockedThread.get();
+    assertThat(thread.isStalled()).isTrue();
+    assertThat(thread.getMetrics().getStalls()).isEqualTo(1);
+
+    // when
+    unblock.countDown();
+
+    // then
+    TestUtil.waitUntil(() -> !thread.isStalled());
+    assertThat(watchdog.getStallCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotReportShortJobs() throws Exception {
+    // given
+    final BlockingActor actor = new BlockingActor();
+    lenientSchedulerRule.submitActor(actor).join();
+
+    // when
+    final AtomicInteger executed = new AtomicInteger();
+    for (int i = 0; i < 10_000; i++) {
+      actor.run(executed::incrementAndGet);
+    }
+    TestUtil.waitUntil(() -> executed.get() == 10_000);
+    Thread.sleep(100);
+
+    // then
+    assertThat(lenientSchedulerRule.get().getStallWatchdog().getStallCount()).isZero();
+  }
+
+  private static ActorSchedulerRule newSchedulerRule(final Duration threshold) {
+    return new ActorSchedulerRule(
+        1, 1, builder -> builder.setMetricsEnabled(true).setStallDetectionThreshold(threshold));
+  }
+
+  private final class BlockingActor extends Actor {
+    private final AtomicReference<ActorThread> blockedThread = new AtomicReference<>();
+
+    private void block() {
+      actor.run(
+          () -> {
+            blockedThread.set(ActorThread.current());
+            try {
+              unblock.await();
+            } catch (final InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          });
+    }
+
+    private void run(final Runnable runnable) {
+      actor.run(runnable);
+    }
+  }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.cpubound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorTask;
+import com.anyilanxin.toolkit.scheduler.ActorTaskQueue;
+import com.anyilanxin.toolkit.scheduler.testing.ActorSchedulerRule;
+import com.anyilanxin.toolkit.util.TestUtil;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ActorTaskQueueTest {
+  @Rule public final ActorSchedulerRule schedulerRule = new ActorSchedulerRule(3);
+
+  private final ActorTaskQueue queue = new ActorTaskQueue();
+
+  @Test
+  public void shouldPopTasksInOrder() {
+    // given
+    final ActorTask first = claimableTask();
+    final ActorTask second = claimableTask();
+    queue.append(first);
+    queue.append(second);
+
+    // then
+    assertThat(queue.pop()).isSameAs(first);
+    assertThat(queue.pop()).isSameAs(second);
+    assertThat(queue.pop()).isNull();
+  }
+
+  @Test
+  public void shouldSkipTasksWhichCannotBeClaimed() {
+    // given
+    final ActorTask claimedElsewhere = mock(ActorTask.class);
+    when(claimedElsewhere.claim(anyLong())).thenReturn(false);
+    final ActorTask task = claimableTask();
+    queue.append(claimedElsewhere);
+    queue.append(task);
+
+    // then
+    assertThat(queue.pop()).isSameAs(task);
+    assertThat(queue.pop()).isNull();
+  }
+
+  @Test
+  public void shouldAppendAfterQueueWasDrained() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      final ActorTask task = claimableTask();
+      queue.append(task);
+
+      // then
+      assertThat(queue.pop()).isSameAs(task);
+      assertThat(queue.pop()).isNull();
+    }
+  }
+
+  @Test
+  public void shouldStealFromTail() {
+    // given
+    final ActorTask first = claimableTask();
+    final ActorTask second = claimableTask();
+    queue.append(first);
+    queue.append(second);
+
+    // then
+    assertThat(queue.trySteal()).isSameAs(second);
+  }
+
+  @Test
+  public void shouldStealBatchIntoThiefQueue() {
+    // given
+    final ActorTask[] tasks = new ActorTask[5];
+    for (int i = 0; i < tasks.length; i++) {
+      tasks[i] = claimableTask();
+      queue.append(tasks[i]);
+    }
+    final ActorTaskQueue thiefQueue = new ActorTaskQueue();
+
+    // when
+    final ActorTask stolenTask = queue.trySteal(3, thiefQueue);
+
+    // then
+    assertThat(stolenTask).isSameAs(tasks[4]);
+    assertThat(thiefQueue.sizeHint()).isEqualTo(2);
+    assertThat(thiefQueue.pop()).isSameAs(tasks[3]);
+    assertThat(thiefQueue.pop()).isSameAs(tasks[2]);
+    assertThat(thiefQueue.pop()).isNull();
+  }
+
+  @Test
+  public void shouldTrackSizeHint() {
+    // given
+    queue.append(claimableTask());
+    queue.append(claimableTask());
+    queue.append(claimableTask());
+
+    // when
+    queue.pop();
+
+    // then
+    assertThat(queue.sizeHint()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotTrackSizeHintIfDisabled() {
+    // given
+    final ActorTaskQueue untrackedQueue = new ActorTaskQueue(false);
+    final ActorTask task = claimableTask();
+    untrackedQueue.append(task);
+    untrackedQueue.append(claimableTask());
+
+    // when
+    final ActorTask poppedTask = untrackedQueue.pop();
+
+    // then
+    assertThat(poppedTask).isSameAs(task);
+    assertThat(untrackedQueue.sizeHint()).isZero();
+  }
+
+  @Test
+  public void shouldClaimEachTaskOnceWhenAppendingAndStealingOnActorThreads() {
+    // given
+    final int taskCount = 20_000;
+    final Set<ActorTask> claimedTasks = ConcurrentHashMap.newKeySet();
+    final AtomicInteger claims = new AtomicInteger();
+    final Consumer<ActorTask> onClaimed =
+        task -> {
+          claims.incrementAndGet();
+          claimedTasks.add(task);
+        };
+
+    final QueueThief[] thieves = {
+      new QueueThief(queue, () -> claims.get() >= taskCount, onClaimed),
+      new QueueThief(queue, () -> claims.get() >= taskCount, onClaimed)
+    };
+
+    // when
+    schedulerRule.submitActor(new QueueOwner(queue, taskCount, onClaimed));
+    for (final QueueThief thief : thieves) {
+      schedulerRule.submitActor(thief);
+    }
+
+    // then
+    TestUtil.waitUntil(() -> claims.get() >= taskCount);
+    // a thief which failed on a recycled node would not finish
+    TestUtil.waitUntil(() -> thieves[0].finished && thieves[1].finished);
+    assertThat(claims).hasValue(taskCount);
+    assertThat(claimedTasks).hasSize(taskCount);
+  }
+
+  private static ActorTask claimableTask() {
+    final ActorTask task = mock(ActorTask.class);
+    when(task.claim(anyLong())).thenReturn(true);
+    return task;
+  }
+
+  /** appends and pops on an actor thread, so the nodes are taken from and recycled to its pool */
+  private static final class QueueOwner extends Actor {
+    private final ActorTaskQueue queue;
+    private final int taskCount;
+    private final Consumer<ActorTask> onClaimed;
+    private int appendedTasks;
+
+    private QueueOwner(
+        final ActorTaskQueue queue, final int taskCount, final Consumer<ActorTask> onClaimed) {
+      this.queue = queue;
+      this.taskCount = taskCount;
+      this.onClaimed = onClaimed;
+    }
+
+    @Override
+    protected void onActorStarted() {
+      actor.submit(this::appendAndPop);
+    }
+
+    private void appendAndPop() {
+      for (int i = 0; i < 100 && appendedTasks < taskCount; i++, appendedTasks++) {
+        queue.append(new ActorTask(this));
+        if (i % 2 == 0) {
+          claimed(queue.pop());
+        }
+      }
+
+      if (appendedTasks < taskCount) {
+        actor.submit(this::appendAndPop);
+      } else {
+        ActorTask task;
+        while ((task = queue.pop()) != null) {
+          onClaimed.accept(task);
+        }
+      }
+    }
+
+    private void claimed(final ActorTask task) {
+      if (task != null) {
+        onClaimed.accept(task);
+      }
+    }
+  }
+
+  /** steals half of the owner's tasks into its own queue, which it appends on an actor thread */
+  private static final class QueueThief extends Actor {
+    private final ActorTaskQueue victimQueue;
+    private final ActorTaskQueue ownQueue = new ActorTaskQueue();
+    private final BooleanSupplier isDone;
+    private final Consumer<ActorTask> onClaimed;
+    private volatile boolean finished;
+
+    private QueueThief(
+        final ActorTaskQueue victimQueue,
+        final BooleanSupplier isDone,
+        final Consumer<ActorTask> onClaimed) {
+      this.victimQueue = victimQueue;
+      this.isDone = isDone;
+      this.onClaimed = onClaimed;
+    }
+
+    @Override
+    protected void onActorStarted() {
+      actor.submit(this::steal);
+    }
+
+    private void steal() {
+      for (int i = 0; i < 100; i++) {
+        final ActorTask stolenTask = victimQueue.trySteal(2, ownQueue);
+        if (stolenTask != null) {
+          onClaimed.accept(stolenTask);
+        }
+
+        ActorTask task;
+        while ((task = ownQueue.pop()) != null) {
+          onClaimed.accept(task);
+        }
+      }
+
+      if (isDone.getAsBoolean()) {
+        finished = true;
+      } else {
+        actor.submit(this::steal);
+      }
+    }
+  }
+}
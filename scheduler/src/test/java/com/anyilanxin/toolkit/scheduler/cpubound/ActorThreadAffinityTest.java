@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.cpubound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorThread;
+import com.anyilanxin.toolkit.scheduler.FutureUtil;
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.testing.ActorSchedulerRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ActorThreadAffinityTest {
+  private static final int CALLS = 200;
+
+  @Rule
+  public final ActorSchedulerRule schedulerRule =
+      new ActorSchedulerRule(4, 0, builder -> builder.setMetricsEnabled(true));
+
+  @Rule
+  public final ActorSchedulerRule affinitySchedulerRule =
+      new ActorSchedulerRule(
+          4, 0, builder -> builder.setMetricsEnabled(true).setActorThreadAffinity(true));
+
+  @Test
+  public void shouldCountMigrationsBetweenThreads() {
+    // given
+    final RunnerRecordingActor actor = new RunnerRecordingActor();
+    FutureUtil.join(schedulerRule.submitActor(actor));
+
+    final long initialMigrations = FutureUtil.join(actor.getMigrations());
+    int previousRunnerId = FutureUtil.join(actor.getRunnerId());
+
+    // when
+    int observedMigrations = 0;
+    for (int i = 0; i < CALLS; i++) {
+      final int runnerId = FutureUtil.join(actor.getRunnerId());
+      if (runnerId != previousRunnerId) {
+        observedMigrations++;
+      }
+      previousRunnerId = runnerId;
+    }
+
+    // then
+    final long migrations = FutureUtil.join(actor.getMigrations()) - initialMigrations;
+    // the calls to read the metric may have moved the actor too
+    assertThat(migrations).isBetween((long) observedMigrations, observedMigrations + 2L);
+  }
+
+  @Test
+  public void shouldRememberLastRunner() {
+    // given
+    final RunnerRecordingActor actor = new RunnerRecordingActor();
+    FutureUtil.join(affinitySchedulerRule.submitActor(actor));
+
+    // when
+    for (int i = 0; i < CALLS; i++) {
+      final int[] runnerIds = FutureUtil.join(actor.getRunnerAndLastRunnerId());
+
+      // then
+      assertThat(runnerIds[1]).isEqualTo(runnerIds[0]);
+    }
+  }
+
+  static class RunnerRecordingActor extends Actor {
+    ActorFuture<Integer> getRunnerId() {
+      return actor.call(() -> ActorThread.current().getRunnerId());
+    }
+
+    ActorFuture<int[]> getRunnerAndLastRunnerId() {
+      return actor.call(
+          () -> {
+            final ActorThread thread = ActorThread.current();
+            return new int[] {thread.getRunnerId(), thread.getCurrentTask().getLastRunnerId()};
+          });
+    }
+
+    ActorFuture<Long> getMigrations() {
+      return actor.call(() -> ActorThread.current().getCurrentTask().getMetrics().getMigrations());
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.cpubound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorScheduler;
+import com.anyilanxin.toolkit.scheduler.ActorThread;
+import com.anyilanxin.toolkit.scheduler.ActorThreadGroup;
+import com.anyilanxin.toolkit.scheduler.testing.ActorSchedulerRule;
+import com.anyilanxin.toolkit.util.TestUtil;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ElasticThreadGroupTest {
+  @Rule public final ActorSchedulerRule schedulerRule = newSchedulerRule(Duration.ofMillis(5));
+
+  /** does not activate more threads during a test */
+  @Rule public final ActorSchedulerRule staticSchedulerRule = newSchedulerRule(Duration.ofHours(1));
+
+  private final List<BusyActor> actors = new ArrayList<>();
+
+  @After
+  public void tearDown() {
+    // before the schedulers are stopped
+    for (final BusyActor actor : actors) {
+      actor.running = false;
+    }
+  }
+
+  @Test
+  public void shouldRejectInvalidThreadCounts() {
+    assertThatThrownBy(
+            () -> ActorScheduler.newActorScheduler().setElasticCpuBoundActorThreadCount(0, 2))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () -> ActorScheduler.newActorScheduler().setElasticCpuBoundActorThreadCount(3, 2))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldNotUseRetiredThreads() {
+    // given
+    final ActorThreadGroup threadGroup = getCpuBoundThreads(staticSchedulerRule);
+
+    // when
+    final Set<Integer> runnerIds = ConcurrentHashMap.newKeySet();
+    submitBusyActors(staticSchedulerRule, 4, runnerIds);
+    TestUtil.waitUntil(() -> actors.stream().allMatch(actor -> actor.iterations > 10));
+
+    // then
+    assertThat(threadGroup.getActiveThreadCount()).isEqualTo(1);
+    assertThat(runnerIds).containsExactly(0);
+  }
+
+  @Test
+  public void shouldActivateThreadsUnderLoad() {
+    // given
+    final ActorThreadGroup threadGroup = getCpuBoundThreads(schedulerRule);
+    assertThat(threadGroup.getActiveThreadCount()).isEqualTo(1);
+
+    // when
+    final Set<Integer> runnerIds = ConcurrentHashMap.newKeySet();
+    submitBusyActors(schedulerRule, 6, runnerIds);
+
+    // then
+    TestUtil.waitUntil(() -> threadGroup.getActiveThreadCount() == 3);
+    TestUtil.waitUntil(() -> runnerIds.size() == 3);
+  }
+
+  @Test
+  public void shouldRetireThreadsWhenIdle() {
+    // given
+    final ActorThreadGroup threadGroup = getCpuBoundThreads(schedulerRule);
+    submitBusyActors(schedulerRule, 6, ConcurrentHashMap.newKeySet());
+    TestUtil.waitUntil(() -> threadGroup.getActiveThreadCount() == 3);
+
+    // when
+    for (final BusyActor actor : actors) {
+      actor.running = false;
+    }
+
+    // then
+    TestUtil.waitUntil(() -> threadGroup.getActiveThreadCount() == 1);
+  }
+
+  @Test
+  public void shouldNotRunDeadlineJobsOnRetiredThreads() {
+    // given
+    final DeadlineActor actor = new DeadlineActor();
+    staticSchedulerRule.submitActor(actor).join();
+
+    // when
+    final Set<Integer> runnerIds = ConcurrentHashMap.newKeySet();
+    final AtomicInteger executedJobs = new AtomicInteger();
+    for (int i = 0; i < 100; i++) {
+      actor.runWithDeadline(
+          () -> {
+            runnerIds.add(ActorThread.current().getRunnerId());
+            executedJobs.incrementAndGet();
+          });
+    }
+
+    // then
+    TestUtil.waitUntil(() -> executedJobs.get() == 100);
+    assertThat(runnerIds).containsExactly(0);
+  }
+
+  private void submitBusyActors(
+      final ActorSchedulerRule rule, final int count, final Set<Integer> runnerIds) {
+    for (int i = 0; i < count; i++) {
+      final BusyActor actor = new BusyActor(runnerIds);
+      actors.add(actor);
+      rule.submitActor(actor);
+    }
+  }
+
+  private static ActorThreadGroup getCpuBoundThreads(final ActorSchedulerRule rule) {
+    return rule.getBuilder().getCpuBoundActorThreads();
+  }
+
+  private static ActorSchedulerRule newSchedulerRule(final Duration evaluationInterval) {
+    return new ActorSchedulerRule(
+        1,
+        1,
+        builder ->
+            builder
+                .setElasticCpuBoundActorThreadCount(1, 3)
+                .setElasticThreadsEvaluationInterval(evaluationInterval));
+  }
+
+  private static final class BusyActor extends Actor {
+    private final Set<Integer> runnerIds;
+    private volatile boolean running = true;
+    private volatile int iterations;
+
+    private BusyActor(final Set<Integer> runnerIds) {
+      this.runnerIds = runnerIds;
+    }
+
+    @Override
+    protected void onActorStarted() {
+      actor.submit(this::spin);
+    }
+
+    private void spin() {
+      runnerIds.add(ActorThread.current().getRunnerId());
+      iterations++;
+
+      final long end = System.nanoTime() + 100_000;
+      while (System.nanoTime() < end) {
+        Thread.onSpinWait();
+      }
+
+      if (running) {
+        actor.submit(this::spin);
+      }
+    }
+  }
+
+  private static final class DeadlineActor extends Actor {
+    private void runWithDeadline(final Runnable runnable) {
+      actor.run(runnable, Duration.ofSeconds(1));
+    }
+  }
+}
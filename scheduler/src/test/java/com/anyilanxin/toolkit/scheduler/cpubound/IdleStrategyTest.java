@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.cpubound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.anyilanxin.toolkit.scheduler.ActorScheduler;
+import com.anyilanxin.toolkit.scheduler.AdaptiveIdleStrategy;
+import com.anyilanxin.toolkit.scheduler.FutureUtil;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+import org.junit.Test;
+
+public class IdleStrategyTest {
+  private static final long MAX_SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  @Test
+  public void shouldStopSpinningIfWorkArrivesRarely() throws Exception {
+    // given
+    final AdaptiveIdleStrategy idleStrategy =
+        new AdaptiveIdleStrategy(0, MAX_SPIN_NANOS, 1_000, 1_000);
+
+    // when
+    for (int i = 0; i < 32; i++) {
+      idleStrategy.idle();
+      Thread.sleep(1);
+      idleStrategy.reset();
+    }
+
+    // then
+    assertThat(idleStrategy.getSpinNanos()).isZero();
+  }
+
+  @Test
+  public void shouldSpinIfWorkArrivesFrequently() {
+    // given
+    final AdaptiveIdleStrategy idleStrategy =
+        new AdaptiveIdleStrategy(0, MAX_SPIN_NANOS, 1_000, 1_000);
+
+    // when
+    for (int i = 0; i < 32; i++) {
+      idleStrategy.idle();
+      idleStrategy.reset();
+    }
+
+    // then
+    assertThat(idleStrategy.getSpinNanos()).isPositive().isLessThan(MAX_SPIN_NANOS);
+  }
+
+  @Test
+  public void shouldRejectInvalidBounds() {
+    assertThatThrownBy(() -> new AdaptiveIdleStrategy(10, 5, 1, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AdaptiveIdleStrategy(0, 5, 0, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldCreateIdleStrategyPerThread() {
+    // given
+    final AtomicInteger cpuBoundStrategies = new AtomicInteger();
+    final AtomicInteger ioBoundStrategies = new AtomicInteger();
+
+    // when
+    final ActorScheduler scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(3)
+            .setIoBoundActorThreadCount(2)
+            .setCpuBoundIdleStrategy(
+                () -> {
+                  cpuBoundStrategies.incrementAndGet();
+                  return new BusySpinIdleStrategy();
+                })
+            .setIoBoundIdleStrategy(
+                () -> {
+                  ioBoundStrategies.incrementAndGet();
+                  return new AdaptiveIdleStrategy();
+                })
+            .build();
+    scheduler.start();
+    FutureUtil.join(scheduler.stop());
+
+    // then
+    assertThat(cpuBoundStrategies).hasValue(3);
+    assertThat(ioBoundStrategies).hasValue(2);
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.cpubound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorPriority;
+import com.anyilanxin.toolkit.scheduler.ActorScheduler;
+import com.anyilanxin.toolkit.scheduler.ActorTask;
+import com.anyilanxin.toolkit.scheduler.PriorityWeights;
+import com.anyilanxin.toolkit.scheduler.SchedulingHints;
+import com.anyilanxin.toolkit.scheduler.WeightedFairScheduler;
+import com.anyilanxin.toolkit.scheduler.clock.ActorClock;
+import com.anyilanxin.toolkit.util.TestUtil;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WeightedFairSchedulerTest {
+  private static final long TASK_DURATION_NS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  private final ActorTask task = mock(ActorTask.class);
+  private final ActorClock clock = mock(ActorClock.class);
+  private final boolean[] hasTasks = {true, true, true};
+  private long nanoTime;
+
+  @Before
+  public void setUp() {
+    when(clock.getNanoTime()).thenAnswer(invocation -> nanoTime);
+  }
+
+  @Test
+  public void shouldShareExecutionTimeAccordingToWeights() {
+    // given
+    final PriorityWeights weights = new PriorityWeights(new double[] {0.6, 0.3, 0.1});
+    final WeightedFairScheduler scheduler = newScheduler(weights);
+
+    // when
+    executeTasks(scheduler, 10_000);
+
+    // then
+    assertThat(weights.getCpuShare(0)).isCloseTo(0.6, within(0.01));
+    assertThat(weights.getCpuShare(1)).isCloseTo(0.3, within(0.01));
+    assertThat(weights.getCpuShare(2)).isCloseTo(0.1, within(0.01));
+  }
+
+  @Test
+  public void shouldApplyChangedWeights() {
+    // given
+    final PriorityWeights weights = new PriorityWeights(new double[] {0.6, 0.3, 0.1});
+    final WeightedFairScheduler scheduler = newScheduler(weights);
+    executeTasks(scheduler, 1_000);
+    final long executionTimeBefore = weights.getExecutionTimeNanos(2);
+
+    // when
+    weights.setWeight(2, 0.6);
+    executeTasks(scheduler, 10_000);
+
+    // then
+    final long executionTime = weights.getExecutionTimeNanos(2) - executionTimeBefore;
+    assertThat((double) executionTime / (10_000 * TASK_DURATION_NS)).isCloseTo(0.4, within(0.01));
+  }
+
+  @Test
+  public void shouldShareTimeOfPriorityWithoutTasks() {
+    // given
+    final PriorityWeights weights = new PriorityWeights(new double[] {0.6, 0.3, 0.1});
+    final WeightedFairScheduler scheduler = newScheduler(weights);
+    hasTasks[0] = false;
+
+    // when
+    executeTasks(scheduler, 10_000);
+
+    // then
+    assertThat(weights.getCpuShare(0)).isZero();
+    assertThat(weights.getCpuShare(1)).isCloseTo(0.75, within(0.01));
+    assertThat(weights.getCpuShare(2)).isCloseTo(0.25, within(0.01));
+  }
+
+  @Test
+  public void shouldExecuteTasksOfOverdrawnPriorityRatherThanIdle() {
+    // given
+    final PriorityWeights weights = new PriorityWeights(new double[] {0.6, 0.3, 0.1});
+    final WeightedFairScheduler scheduler = newScheduler(weights);
+    hasTasks[0] = false;
+    hasTasks[1] = false;
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      assertThat(scheduler.getNextTask(clock)).isSameAs(task);
+      // much longer than the credit of the priority class in a round
+      nanoTime += TimeUnit.MILLISECONDS.toNanos(50);
+      scheduler.onTaskReleased(task);
+    }
+
+    // then
+    assertThat(weights.getCpuShare(2)).isEqualTo(1.0);
+  }
+
+  @Test
+  public void shouldReturnNullIfNoTaskIsAvailable() {
+    // given
+    final WeightedFairScheduler scheduler =
+        newScheduler(new PriorityWeights(new double[] {0.6, 0.3, 0.1}));
+    hasTasks[0] = false;
+    hasTasks[1] = false;
+    hasTasks[2] = false;
+
+    // when - then
+    assertThat(scheduler.getNextTask(clock)).isNull();
+  }
+
+  @Test
+  public void shouldRejectInvalidWeights() {
+    assertThatThrownBy(() -> new PriorityWeights(new double[] {0.5, 0}))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    final PriorityWeights weights = new PriorityWeights(new double[] {0.5, 0.5});
+    assertThatThrownBy(() -> weights.setWeight(0, -1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> weights.setWeight(2, 1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldScheduleActorsByWeights() throws Exception {
+    // given
+    final ActorScheduler scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(1)
+            .setIoBoundActorThreadCount(1)
+            .setWeightedFairScheduling(true)
+            .build();
+    scheduler.start();
+
+    final PriorityWeights weights = scheduler.getPriorityWeights();
+    assertThat(weights.getWeight(0)).isEqualTo(0.6);
+
+    final BusyActor high = new BusyActor();
+    final BusyActor low = new BusyActor();
+
+    try {
+      // when
+      weights.setWeight(0, 0.8);
+      weights.setWeight(2, 0.2);
+      scheduler.submitActor(high, SchedulingHints.cpuBound(ActorPriority.HIGH));
+      scheduler.submitActor(low, SchedulingHints.cpuBound(ActorPriority.LOW));
+
+      // then
+      TestUtil.waitUntil(() -> low.iterations > 100);
+      assertThat(high.iterations).isGreaterThan(low.iterations);
+      assertThat(weights.getExecutionTimeNanos(ActorPriority.LOW.getPriorityClass())).isPositive();
+    } finally {
+      high.running = false;
+      low.running = false;
+      scheduler.stop().get();
+    }
+  }
+
+  @Test
+  public void shouldNotProvidePriorityWeightsByDefault() {
+    assertThat(ActorScheduler.newActorScheduler().build().getPriorityWeights()).isNull();
+  }
+
+  private WeightedFairScheduler newScheduler(final PriorityWeights weights) {
+    return new WeightedFairScheduler(priority -> hasTasks[priority] ? task : null, weights);
+  }
+
+  private void executeTasks(final WeightedFairScheduler scheduler, final int count) {
+    for (int i = 0; i < count; i++) {
+      assertThat(scheduler.getNextTask(clock)).isSameAs(task);
+      nanoTime += TASK_DURATION_NS;
+      scheduler.onTaskReleased(task);
+    }
+  }
+
+  private static final class BusyActor extends Actor {
+    private volatile boolean running = true;
+    private volatile int iterations;
+
+    @Override
+    protected void onActorStarted() {
+      actor.submit(this::spin);
+    }
+
+    private void spin() {
+      iterations++;
+
+      final long end = System.nanoTime() + 100_000;
+      while (System.nanoTime() < end) {
+        Thread.onSpinWait();
+      }
+
+      if (running) {
+        actor.submit(this::spin);
+      }
+    }
+  }
+}
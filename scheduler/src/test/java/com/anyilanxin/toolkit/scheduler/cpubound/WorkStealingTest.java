@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.cpubound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorScheduler;
+import com.anyilanxin.toolkit.scheduler.FutureUtil;
+import com.anyilanxin.toolkit.scheduler.StealPolicy;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class WorkStealingTest {
+  private static final int WORKER_COUNT = 64;
+
+  @Parameter(0)
+  public StealPolicy stealPolicy;
+
+  @Parameter(1)
+  public boolean stealHalf;
+
+  private ActorScheduler scheduler;
+
+  @Parameters(name = "{0}, steal half: {1}")
+  public static Collection<Object[]> parameters() {
+    return Arrays.asList(
+        new Object[][] {
+          {StealPolicy.RANDOM, false},
+          {StealPolicy.RANDOM, true},
+          {StealPolicy.MOST_LOADED, false},
+          {StealPolicy.MOST_LOADED, true}
+        });
+  }
+
+  @Before
+  public void setUp() {
+    scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(4)
+            .setIoBoundActorThreadCount(0)
+            .setStealPolicy(stealPolicy)
+            .setStealHalf(stealHalf)
+            .build();
+    scheduler.start();
+  }
+
+  @After
+  public void tearDown() {
+    FutureUtil.join(scheduler.stop());
+  }
+
+  @Test
+  public void shouldExecuteAllTasksWhenWokenUpFromOneThread() throws Exception {
+    // given
+    final Worker[] workers = new Worker[WORKER_COUNT];
+    for (int i = 0; i < WORKER_COUNT; i++) {
+      workers[i] = new Worker();
+      FutureUtil.join(scheduler.submitActor(workers[i]));
+    }
+
+    final AtomicInteger remaining = new AtomicInteger(WORKER_COUNT * 10);
+    final CompletableActorFuture<Void> done = new CompletableActorFuture<>();
+    final Runnable work =
+        () -> {
+          if (remaining.decrementAndGet() == 0) {
+            done.complete(null);
+          }
+        };
+
+    // when
+    final Actor producer =
+        new Actor() {
+          @Override
+          protected void onActorStarted() {
+            for (int round = 0; round < 10; round++) {
+              for (final Worker worker : workers) {
+                worker.run(work);
+              }
+            }
+          }
+        };
+    scheduler.submitActor(producer);
+
+    // then
+    done.get(10, TimeUnit.SECONDS);
+    assertThat(remaining).hasValue(0);
+  }
+
+  static class Worker extends Actor {
+    void run(final Runnable runnable) {
+      actor.call(runnable);
+    }
+  }
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.functional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorControl;
+import com.anyilanxin.toolkit.scheduler.ActorPriority;
+import com.anyilanxin.toolkit.scheduler.MailboxOverflowStrategy;
+import com.anyilanxin.toolkit.scheduler.MailboxSettings;
+import com.anyilanxin.toolkit.scheduler.SchedulingHints;
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import com.anyilanxin.toolkit.scheduler.testing.ControlledActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ActorFutureCompositionTest {
+  @Rule public ControlledActorSchedulerRule schedulerRule = new ControlledActorSchedulerRule();
+
+  @Test
+  public void shouldMapInlineWhenCompletedBySameActor() {
+    // given
+    final TestActor actor = new TestActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    final AtomicReference<ActorFuture<Integer>> mapped = new AtomicReference<>();
+    final List<Boolean> doneAfterComplete = new ArrayList<>();
+
+    // when
+    actor
+        .control()
+        .call(
+            () -> {
+              final CompletableActorFuture<Integer> future = new CompletableActorFuture<>();
+              mapped.set(future.map(value -> value + 1, actor.control()));
+
+              future.complete(1);
+              doneAfterComplete.add(mapped.get().isDone());
+            });
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(doneAfterComplete).containsExactly(true);
+    assertThat(mapped.get().join()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldCallConsumerInlineWhenAlreadyCompleted() {
+    // given
+    final TestActor actor = new TestActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    final List<String> invocations = new ArrayList<>();
+
+    // when
+    actor
+        .control()
+        .call(
+            () -> {
+              CompletableActorFuture.completed("value")
+                  .onComplete((value, failure) -> invocations.add(value), actor.control());
+              invocations.add("after");
+            });
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(invocations).containsExactly("value", "after");
+  }
+
+  @Test
+  public void shouldHopToActorWhenCompletedByOtherThread() {
+    // given
+    final TestActor actor = new TestActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    final CompletableActorFuture<Integer> future = new CompletableActorFuture<>();
+    final List<Boolean> calledFromWithinActor = new ArrayList<>();
+    final ActorFuture<Integer> mapped =
+        future.map(
+            value -> {
+              calledFromWithinActor.add(actor.control().isCalledFromWithinActor());
+              return value * 2;
+            },
+            actor.control());
+
+    // when
+    future.complete(21);
+
+    // then
+    assertThat(mapped).isNotDone();
+    schedulerRule.workUntilDone();
+    assertThat(mapped.join()).isEqualTo(42);
+    assertThat(calledFromWithinActor).containsExactly(true);
+  }
+
+  @Test
+  public void shouldComposeCallsToOtherActor() {
+    // given
+    final TestActor actor = new TestActor();
+    final TestActor otherActor = new TestActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.submitActor(otherActor);
+    schedulerRule.workUntilDone();
+
+    final AtomicReference<ActorFuture<String>> result = new AtomicReference<>();
+
+    // when
+    actor
+        .control()
+        .call(
+            () -> {
+              final ActorControl executor = actor.control();
+              result.set(
+                  otherActor
+                      .control()
+                      .call(() -> 1)
+                      .map(value -> value + 1, executor)
+                      .thenCompose(value -> otherActor.control().call(() -> value * 10), executor)
+                      .andThen(() -> otherActor.control().call(() -> "done"), executor));
+            });
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(result.get().join()).isEqualTo("done");
+  }
+
+  @Test
+  public void shouldPassResultOfComposedFuture() {
+    // given
+    final TestActor actor = new TestActor();
+    final TestActor otherActor = new TestActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.submitActor(otherActor);
+    schedulerRule.workUntilDone();
+
+    final CompletableActorFuture<Integer> future = new CompletableActorFuture<>();
+
+    // when
+    final ActorFuture<Integer> composed =
+        future.thenCompose(value -> otherActor.control().call(() -> value * 10), actor.control());
+    future.complete(4);
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(composed.join()).isEqualTo(40);
+  }
+
+  @Test
+  public void shouldPropagateFailure() {
+    // given
+    final TestActor actor = new TestActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    final CompletableActorFuture<Integer> future = new CompletableActorFuture<>();
+    final RuntimeException failure = new RuntimeException("expected");
+    final List<Integer> mappedValues = new ArrayList<>();
+
+    // when
+    final ActorFuture<Integer> mapped =
+        future
+            .map(
+                value -> {
+                  mappedValues.add(value);
+                  return value;
+                },
+                actor.control())
+            .thenCompose(CompletableActorFuture::completed, actor.control());
+    future.completeExceptionally(failure);
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThatThrownBy(mapped::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+    assertThat(mappedValues).isEmpty();
+  }
+
+  @Test
+  public void shouldCompleteExceptionallyIfMapperFails() {
+    // given
+    final TestActor actor = new TestActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    final RuntimeException failure = new RuntimeException("expected");
+
+    // when
+    final ActorFuture<Integer> mapped =
+        CompletableActorFuture.completed(1)
+            .map(
+                value -> {
+                  throw failure;
+                },
+                actor.control());
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThatThrownBy(mapped::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+  }
+
+  @Test
+  public void shouldRecoverFromFailure() {
+    // given
+    final TestActor actor = new TestActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    // when
+    final ActorFuture<String> recovered =
+        CompletableActorFuture.<String>completedExceptionally(new RuntimeException("expected"))
+            .onError(Throwable::getMessage, actor.control());
+    final ActorFuture<String> notRecovered =
+        CompletableActorFuture.completed("value").onError(Throwable::getMessage, actor.control());
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(recovered.join()).isEqualTo("expected");
+    assertThat(notRecovered.join()).isEqualTo("value");
+  }
+
+  @Test
+  public void shouldNotCallConsumerWhenFutureIsClosed() {
+    // given
+    final TestActor actor = new TestActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    final CompletableActorFuture<Integer> future = new CompletableActorFuture<>();
+    final List<Integer> values = new ArrayList<>();
+    future.onComplete((value, failure) -> values.add(value), actor.control());
+
+    // when
+    future.close();
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(values).isEmpty();
+  }
+
+  @Test
+  public void shouldFailDerivedFutureWhenMailboxOfExecutorIsFull() {
+    // given
+    final TestActor actor = new TestActor();
+    schedulerRule
+        .get()
+        .submitActor(
+            actor,
+            SchedulingHints.cpuBound(ActorPriority.REGULAR),
+            MailboxSettings.bounded(1, MailboxOverflowStrategy.REJECT));
+    schedulerRule.workUntilDone();
+    actor.control().run(() -> {});
+
+    final CompletableActorFuture<Integer> future = new CompletableActorFuture<>();
+    final ActorFuture<Integer> mapped = future.map(value -> value + 1, actor.control());
+
+    // when
+    future.complete(1);
+
+    // then
+    assertThat(mapped).isDone();
+    assertThatThrownBy(mapped::join).hasRootCauseInstanceOf(RejectedExecutionException.class);
+  }
+
+  @Test
+  public void shouldFailDerivedFutureWhenExecutorIsClosed() {
+    // given
+    final TestActor actor = new TestActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    final CompletableActorFuture<Integer> future = new CompletableActorFuture<>();
+    final ActorFuture<Integer> mapped = future.map(value -> value + 1, actor.control());
+    actor.control().close();
+
+    // when
+    future.complete(1);
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(mapped).isDone();
+    assertThat(mapped.isCompletedExceptionally()).isTrue();
+  }
+
+  static class TestActor extends Actor {
+    ActorControl control() {
+      return actor;
+    }
+  }
+}
@@ -666,6 +666,68 @@ public class ActorFutureTest {
         .hasMessage("Timeout after: 5 MILLISECONDS");
   }
 
+  @Test
+  public void shouldWakeUpAllWaitingNonActorThreads() throws Exception {
+    // given
+    final CompletableActorFuture<Integer> future = new CompletableActorFuture<>();
+    final List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+    final List<Thread> waitingThreads = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      final Thread thread = new Thread(() -> values.add(future.join()));
+      thread.start();
+      waitingThreads.add(thread);
+    }
+
+    // when
+    future.complete(0xFA);
+    for (final Thread thread : waitingThreads) {
+      thread.join(5_000);
+    }
+
+    // then
+    assertThat(values).containsExactly(0xFA, 0xFA, 0xFA);
+  }
+
+  @Test
+  public void shouldThrowInterruptedExceptionWhenWaitingThreadIsInterrupted() {
+    // given
+    final CompletableActorFuture<Void> future = new CompletableActorFuture<>();
+    Thread.currentThread().interrupt();
+
+    // expect
+    assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(InterruptedException.class);
+  }
+
+  @Test
+  public void shouldBeReusableAfterClose() {
+    // given
+    final CompletableActorFuture<Integer> future = new CompletableActorFuture<>();
+    future.complete(1);
+
+    // when
+    final boolean closed = future.close();
+    future.setAwaitingResult();
+    future.complete(2);
+
+    // then
+    assertThat(closed).isTrue();
+    assertThat(future.join()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldBeClosedAfterClose() {
+    // given
+    final CompletableActorFuture<Integer> future = CompletableActorFuture.completed(1);
+
+    // when
+    future.close();
+
+    // then
+    assertThat(future.isClosed()).isTrue();
+    assertThat(future.close()).isFalse();
+  }
+
   @Test
   public void shouldFailToStaticallyCreateExceptionallyCompletedFutureWithNull() {
     // when
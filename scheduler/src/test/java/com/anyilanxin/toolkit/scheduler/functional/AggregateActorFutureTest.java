@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.functional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.future.AggregateActorFuture;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import com.anyilanxin.toolkit.scheduler.testing.ControlledActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class AggregateActorFutureTest {
+  @Rule public ControlledActorSchedulerRule schedulerRule = new ControlledActorSchedulerRule();
+
+  @Test
+  public void shouldCompleteWhenAllFuturesAreCompleted() {
+    // given
+    final List<CompletableActorFuture<Integer>> futures = newFutures(3);
+    final ActorFuture<Void> aggregate = AggregateActorFuture.allOf(futures);
+
+    // when
+    futures.get(2).complete(2);
+    futures.get(0).complete(0);
+    final boolean doneBeforeLast = aggregate.isDone();
+    futures.get(1).complete(1);
+
+    // then
+    assertThat(doneBeforeLast).isFalse();
+    assertThat(aggregate).isDone();
+    assertThat(aggregate.isCompletedExceptionally()).isFalse();
+  }
+
+  @Test
+  public void shouldCompleteWithAlreadyCompletedFutures() {
+    // given
+    final List<ActorFuture<Integer>> futures = new ArrayList<>();
+    futures.add(CompletableActorFuture.completed(1));
+    futures.add(CompletableActorFuture.completed(2));
+
+    // when
+    final ActorFuture<Void> aggregate = AggregateActorFuture.allOf(futures);
+
+    // then
+    assertThat(aggregate).isDone();
+  }
+
+  @Test
+  public void shouldCompleteEmptyAggregate() {
+    // when
+    final ActorFuture<Void> aggregate = AggregateActorFuture.allOf(Collections.emptyList());
+
+    // then
+    assertThat(aggregate).isDone();
+  }
+
+  @Test
+  public void shouldFailOnFirstFailure() {
+    // given
+    final List<CompletableActorFuture<Integer>> futures = newFutures(3);
+    final ActorFuture<Void> aggregate = AggregateActorFuture.allOf(futures);
+    final RuntimeException failure = new RuntimeException("first");
+
+    // when
+    futures.get(1).completeExceptionally(failure);
+
+    // then
+    assertThatThrownBy(aggregate::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+
+    // and the remaining futures can still be completed
+    futures.get(0).completeExceptionally(new RuntimeException("second"));
+    futures.get(2).complete(2);
+    assertThat(aggregate.getException()).isSameAs(failure);
+  }
+
+  @Test
+  public void shouldWaitForAllFuturesOnFailure() {
+    // given
+    final List<CompletableActorFuture<Integer>> futures = newFutures(3);
+    final ActorFuture<Void> aggregate = AggregateActorFuture.allCompleted(futures);
+    final RuntimeException lastFailure = new RuntimeException("last");
+
+    // when
+    futures.get(0).completeExceptionally(new RuntimeException("first"));
+    futures.get(1).complete(1);
+    final boolean doneBeforeLast = aggregate.isDone();
+    futures.get(2).completeExceptionally(lastFailure);
+
+    // then
+    assertThat(doneBeforeLast).isFalse();
+    assertThatThrownBy(aggregate::get).isInstanceOf(ExecutionException.class).hasCause(lastFailure);
+  }
+
+  @Test
+  public void shouldInvokeCallbackOnceForLargeFanOut() {
+    // given
+    final List<CompletableActorFuture<Integer>> futures = newFutures(10_000);
+    final List<Throwable> invocations = new ArrayList<>();
+
+    schedulerRule.submitActor(
+        new Actor() {
+          @Override
+          protected void onActorStarted() {
+            actor.runOnCompletion(new ArrayList<ActorFuture<Integer>>(futures), invocations::add);
+          }
+        });
+    schedulerRule.workUntilDone();
+
+    // when
+    for (int i = 0; i < futures.size(); i++) {
+      futures.get(i).complete(i);
+    }
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(invocations).containsExactly((Throwable) null);
+  }
+
+  private static List<CompletableActorFuture<Integer>> newFutures(final int count) {
+    final List<CompletableActorFuture<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      futures.add(new CompletableActorFuture<>());
+    }
+    return futures;
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.functional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorPriority;
+import com.anyilanxin.toolkit.scheduler.MailboxOverflowStrategy;
+import com.anyilanxin.toolkit.scheduler.MailboxSettings;
+import com.anyilanxin.toolkit.scheduler.SchedulingHints;
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.testing.ControlledActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class BatchSubmissionTest {
+  @Rule
+  public final ControlledActorSchedulerRule schedulerRule = new ControlledActorSchedulerRule();
+
+  @Test
+  public void shouldRunAllActionsInOrder() {
+    // given
+    final RecordingActor actor = new RecordingActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    // when
+    final ActorFuture<Void> future =
+        actor.runAll(
+            Arrays.asList(() -> actor.record(1), () -> actor.record(2), () -> actor.record(3)));
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(future).isDone();
+    assertThat(future.isCompletedExceptionally()).isFalse();
+    assertThat(actor.records).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  public void shouldCollectResultsInOrder() {
+    // given
+    final RecordingActor actor = new RecordingActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    // when
+    final List<Callable<Integer>> callables = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      final int value = i;
+      callables.add(() -> value * 10);
+    }
+    final ActorFuture<List<Integer>> future = actor.callAll(callables);
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(future.join()).containsExactly(0, 10, 20, 30, 40);
+  }
+
+  @Test
+  public void shouldCompleteEmptyBatch() {
+    // given
+    final RecordingActor actor = new RecordingActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    // when
+    final ActorFuture<Void> runFuture = actor.runAll(Collections.emptyList());
+    final ActorFuture<List<Integer>> callFuture = actor.callAll(Collections.emptyList());
+
+    // then
+    assertThat(runFuture).isDone();
+    assertThat(callFuture.join()).isEmpty();
+  }
+
+  @Test
+  public void shouldFailFutureWithFirstFailure() {
+    // given
+    final RecordingActor actor = new RecordingActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    final RuntimeException failure = new RuntimeException("expected");
+
+    // when
+    final ActorFuture<List<Integer>> future =
+        actor.callAll(
+            Arrays.asList(
+                () -> actor.record(1),
+                () -> {
+                  throw failure;
+                },
+                () -> actor.record(3)));
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThatThrownBy(future::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+    assertThat(actor.records).containsExactly(1, 3);
+  }
+
+  @Test
+  public void shouldFailFutureWhenActorClosesAfterSubmission() {
+    // given
+    final RecordingActor actor = new RecordingActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    actor.close();
+    final ActorFuture<Void> future = actor.runAll(Arrays.asList(() -> actor.record(1)));
+
+    // when
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThatThrownBy(future::get)
+        .isInstanceOf(ExecutionException.class)
+        .hasMessage("Actor is closed");
+    assertThat(actor.records).isEmpty();
+  }
+
+  @Test
+  public void shouldRejectWholeBatchIfMailboxHasNotEnoughCapacity() {
+    // given
+    final RecordingActor actor = new RecordingActor();
+    submitBounded(actor, MailboxOverflowStrategy.REJECT);
+
+    // when
+    assertThatThrownBy(
+            () ->
+                actor.runAll(
+                    Arrays.asList(
+                        () -> actor.record(1), () -> actor.record(2), () -> actor.record(3))))
+        .isInstanceOf(RejectedExecutionException.class)
+        .hasMessageContaining("not enough capacity");
+    final ActorFuture<Void> accepted =
+        actor.runAll(Arrays.asList(() -> actor.record(4), () -> actor.record(5)));
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(accepted).isDone();
+    assertThat(actor.records).containsExactly(4, 5);
+  }
+
+  @Test
+  public void shouldFailFutureIfMailboxHasNotEnoughCapacity() {
+    // given
+    final RecordingActor actor = new RecordingActor();
+    submitBounded(actor, MailboxOverflowStrategy.FAIL_FUTURE);
+
+    // when
+    final ActorFuture<Void> future =
+        actor.runAll(
+            Arrays.asList(() -> actor.record(1), () -> actor.record(2), () -> actor.record(3)));
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(future.isCompletedExceptionally()).isTrue();
+    assertThat(future.getException()).isInstanceOf(RejectedExecutionException.class);
+    assertThat(actor.records).isEmpty();
+  }
+
+  @Test
+  public void shouldNotAllowBatchFromWithinActor() {
+    // given
+    final RecordingActor actor = new RecordingActor();
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+
+    // when
+    final ActorFuture<Void> future = actor.runAllFromWithinActor();
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThatThrownBy(future::get)
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(UnsupportedOperationException.class);
+  }
+
+  private void submitBounded(final Actor actor, final MailboxOverflowStrategy strategy) {
+    schedulerRule
+        .get()
+        .submitActor(
+            actor,
+            SchedulingHints.cpuBound(ActorPriority.REGULAR),
+            MailboxSettings.bounded(2, strategy));
+    schedulerRule.workUntilDone();
+  }
+
+  static class RecordingActor extends Actor {
+    final List<Integer> records = new ArrayList<>();
+
+    Integer record(final int value) {
+      records.add(value);
+      return value;
+    }
+
+    ActorFuture<Void> runAll(final List<Runnable> actions) {
+      return actor.runAll(actions);
+    }
+
+    <T> ActorFuture<List<T>> callAll(final List<Callable<T>> callables) {
+      return actor.callAll(callables);
+    }
+
+    ActorFuture<Void> runAllFromWithinActor() {
+      return actor.call(
+          () -> {
+            actor.runAll(Collections.emptyList());
+          });
+    }
+
+    void close() {
+      actor.close();
+    }
+  }
+}
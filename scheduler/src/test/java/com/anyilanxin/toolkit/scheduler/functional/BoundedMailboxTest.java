@@ -0,0 +1,277 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.functional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorCondition;
+import com.anyilanxin.toolkit.scheduler.ActorPriority;
+import com.anyilanxin.toolkit.scheduler.MailboxOverflowStrategy;
+import com.anyilanxin.toolkit.scheduler.MailboxSettings;
+import com.anyilanxin.toolkit.scheduler.SchedulingHints;
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.testing.ControlledActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class BoundedMailboxTest {
+  @Rule public ControlledActorSchedulerRule scheduler = new ControlledActorSchedulerRule();
+
+  @Parameter public boolean ringBuffer;
+
+  @Parameters(name = "ring buffer: {0}")
+  public static Object[] parameters() {
+    return new Object[] {false, true};
+  }
+
+  @Test
+  public void shouldRejectJobsWhenMailboxIsFull() {
+    // given
+    final Counter counter = new Counter();
+    submit(counter, bounded(2, MailboxOverflowStrategy.REJECT));
+
+    counter.increment();
+    counter.increment();
+
+    // when
+    assertThatThrownBy(counter::increment)
+        .isInstanceOf(RejectedExecutionException.class)
+        .hasMessageContaining("mailbox is full");
+    scheduler.workUntilDone();
+
+    // then
+    assertThat(counter.count).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldAcceptJobsAgainWhenMailboxIsDrained() {
+    // given
+    final Counter counter = new Counter();
+    submit(counter, bounded(1, MailboxOverflowStrategy.REJECT));
+
+    counter.increment();
+    scheduler.workUntilDone();
+
+    // when
+    counter.increment();
+    scheduler.workUntilDone();
+
+    // then
+    assertThat(counter.count).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldFailFutureWhenMailboxIsFull() {
+    // given
+    final Counter counter = new Counter();
+    submit(counter, bounded(1, MailboxOverflowStrategy.FAIL_FUTURE));
+
+    final ActorFuture<Void> accepted = counter.increment();
+
+    // when
+    final ActorFuture<Void> rejected = counter.increment();
+    scheduler.workUntilDone();
+
+    // then
+    assertThat(accepted.isCompletedExceptionally()).isFalse();
+    assertThat(rejected.isCompletedExceptionally()).isTrue();
+    assertThat(rejected.getException()).isInstanceOf(RejectedExecutionException.class);
+    assertThat(counter.count).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotLimitJobsSubmittedByActorItself() {
+    // given
+    final Counter counter = new Counter();
+    submit(counter, bounded(1, MailboxOverflowStrategy.REJECT));
+
+    // when
+    counter.incrementFromWithin(5);
+    scheduler.workUntilDone();
+
+    // then
+    assertThat(counter.count).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldSignalListenersAtWatermarks() {
+    // given
+    final Counter counter = new Counter();
+    submit(counter, bounded(100, MailboxOverflowStrategy.REJECT).withWatermarks(1, 3));
+
+    final Producer producer = new Producer(counter);
+    scheduler.submitActor(producer);
+    scheduler.workUntilDone();
+
+    // when
+    counter.increment();
+    counter.increment();
+    final boolean aboveBeforeHighWatermark = counter.isMailboxAboveHighWatermark();
+    counter.increment();
+    final boolean aboveAtHighWatermark = counter.isMailboxAboveHighWatermark();
+    scheduler.workUntilDone();
+
+    // then
+    assertThat(aboveBeforeHighWatermark).isFalse();
+    assertThat(aboveAtHighWatermark).isTrue();
+    assertThat(counter.isMailboxAboveHighWatermark()).isFalse();
+    assertThat(counter.count).isEqualTo(3);
+    // full and drained again
+    assertThat(producer.signals).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldExecuteJobsInSubmissionOrder() {
+    // given
+    final Counter counter = new Counter();
+    submit(counter, bounded(16, MailboxOverflowStrategy.REJECT));
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      counter.record(i);
+    }
+    counter.close();
+    scheduler.workUntilDone();
+
+    // then
+    assertThat(counter.recorded).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+  }
+
+  @Test
+  public void shouldExecuteJobsOfActorBeforeAndConditionJobsAfterSubmittedJobs() {
+    // given
+    final Counter counter = new Counter();
+    submit(counter, bounded(16, MailboxOverflowStrategy.REJECT));
+    final ActorFuture<ActorCondition> conditionFuture =
+        counter.onCondition(() -> counter.recorded.add(-1));
+    scheduler.workUntilDone();
+    final ActorCondition condition = conditionFuture.join();
+
+    // when
+    condition.signal();
+    counter.recordAndRecordFromWithin(0, 100);
+    for (int i = 1; i < 4; i++) {
+      counter.record(i);
+    }
+    scheduler.workUntilDone();
+
+    // then
+    assertThat(counter.recorded).containsExactly(0, 100, 1, 2, 3, -1);
+  }
+
+  @Test
+  public void shouldFailJobsLeftWhenClosed() {
+    // given
+    final Counter counter = new Counter();
+    submit(counter, bounded(4, MailboxOverflowStrategy.REJECT));
+
+    // when
+    counter.close();
+    final ActorFuture<Void> afterClose = counter.increment();
+    scheduler.workUntilDone();
+
+    // then
+    assertThat(afterClose.isCompletedExceptionally()).isTrue();
+    assertThat(counter.count).isZero();
+  }
+
+  private MailboxSettings bounded(
+      final int capacity, final MailboxOverflowStrategy overflowStrategy) {
+    final MailboxSettings settings = MailboxSettings.bounded(capacity, overflowStrategy);
+    return ringBuffer ? settings.withRingBuffer() : settings;
+  }
+
+  private void submit(final Actor actor, final MailboxSettings mailboxSettings) {
+    scheduler
+        .get()
+        .submitActor(actor, SchedulingHints.cpuBound(ActorPriority.REGULAR), mailboxSettings);
+    scheduler.workUntilDone();
+  }
+
+  static class Counter extends Actor {
+    final List<Integer> recorded = new ArrayList<>();
+    int count;
+
+    void record(final int value) {
+      actor.run(() -> recorded.add(value));
+    }
+
+    void recordAndRecordFromWithin(final int value, final int valueFromWithin) {
+      actor.run(
+          () -> {
+            recorded.add(value);
+            actor.run(() -> recorded.add(valueFromWithin));
+          });
+    }
+
+    ActorFuture<ActorCondition> onCondition(final Runnable runnable) {
+      return actor.call(() -> actor.onCondition("condition", runnable));
+    }
+
+    ActorFuture<Void> close() {
+      return actor.close();
+    }
+
+    ActorFuture<Void> increment() {
+      return actor.call(
+          () -> {
+            count++;
+          });
+    }
+
+    void incrementFromWithin(final int times) {
+      actor.call(
+          () -> {
+            for (int i = 0; i < times; i++) {
+              actor.submit(() -> count++);
+            }
+          });
+    }
+
+    void registerMailboxListener(final ActorCondition listener) {
+      actor.registerMailboxListener(listener);
+    }
+
+    boolean isMailboxAboveHighWatermark() {
+      return actor.isMailboxAboveHighWatermark();
+    }
+  }
+
+  static class Producer extends Actor {
+    private final Counter counter;
+    int signals;
+
+    Producer(final Counter counter) {
+      this.counter = counter;
+    }
+
+    @Override
+    protected void onActorStarted() {
+      counter.registerMailboxListener(actor.onCondition("mailbox", () -> signals++));
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.functional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorControl;
+import com.anyilanxin.toolkit.scheduler.ActorTask;
+import com.anyilanxin.toolkit.scheduler.ActorThread;
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.metrics.ActorTaskMetrics;
+import com.anyilanxin.toolkit.scheduler.testing.ControlledActorSchedulerRule;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class DeadlineSchedulingTest {
+  @Rule
+  public final ControlledActorSchedulerRule schedulerRule =
+      new ControlledActorSchedulerRule(builder -> builder.setMetricsEnabled(true));
+
+  private final List<String> executions = new ArrayList<>();
+
+  @Test
+  public void shouldRunActorWithDeadlineJobFirst() {
+    // given
+    final RecordingActor regular = submitActor("regular");
+    final RecordingActor urgent = submitActor("urgent");
+
+    // when
+    regular.actorControl().run(() -> executions.add("regular"));
+    urgent.actorControl().run(() -> executions.add("urgent"), Duration.ofSeconds(1));
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(executions).containsExactly("urgent", "regular");
+  }
+
+  @Test
+  public void shouldRunActorsEarliestDeadlineFirst() {
+    // given
+    final RecordingActor late = submitActor("late");
+    final RecordingActor early = submitActor("early");
+    final RecordingActor earliest = submitActor("earliest");
+
+    // when
+    late.actorControl().run(() -> executions.add("late"), Duration.ofSeconds(3));
+    early.actorControl().run(() -> executions.add("early"), Duration.ofSeconds(2));
+    earliest.actorControl().run(() -> executions.add("earliest"), Duration.ofSeconds(1));
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(executions).containsExactly("earliest", "early", "late");
+  }
+
+  @Test
+  public void shouldScheduleByPriorityAfterDeadlineJobsStarted() {
+    // given
+    final RecordingActor first = submitActor("first");
+    final RecordingActor second = submitActor("second");
+
+    // when
+    first.actorControl().run(() -> executions.add("first-deadline"), Duration.ofSeconds(1));
+    schedulerRule.workUntilDone();
+    second.actorControl().run(() -> executions.add("second"));
+    first.actorControl().run(() -> executions.add("first"));
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(executions).containsExactly("first-deadline", "second", "first");
+  }
+
+  @Test
+  public void shouldCountDeadlineMisses() throws Exception {
+    // given
+    final RecordingActor actor = submitActor("actor");
+
+    // when
+    actor.actorControl().run(() -> executions.add("in time"), Duration.ofMinutes(1));
+    actor.actorControl().run(() -> executions.add("missed"), Duration.ZERO);
+    Thread.sleep(1);
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(executions).containsExactly("in time", "missed");
+
+    final ActorTaskMetrics metrics = getMetrics(actor);
+    assertThat(metrics.getDeadlineJobs()).isEqualTo(2);
+    assertThat(metrics.getDeadlineMisses()).isEqualTo(1);
+    assertThat(metrics.getDeadlineLateness().getMax()).isPositive();
+  }
+
+  @Test
+  public void shouldRunDeadlineJobSubmittedByActorItself() {
+    // given
+    final RecordingActor actor = submitActor("actor");
+
+    // when
+    actor
+        .actorControl()
+        .run(() -> actor.actorControl().run(() -> executions.add("nested"), Duration.ofMillis(1)));
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(executions).containsExactly("nested");
+    assertThat(getMetrics(actor).getDeadlineJobs()).isZero();
+  }
+
+  @Test
+  public void shouldNotKeepDeadlineOfJobsDiscardedOnClose() {
+    // given
+    final RecordingActor actor = submitActor("actor");
+    final ActorTask task = getTask(actor);
+
+    // when
+    actor.actorControl().close();
+    actor.actorControl().run(() -> executions.add("discarded"), Duration.ofSeconds(1));
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(executions).isEmpty();
+    assertThat(task.hasPendingDeadlineJobs()).isFalse();
+  }
+
+  @Test
+  public void shouldNotKeepDeadlineOfJobsSubmittedAfterClose() {
+    // given
+    final RecordingActor actor = submitActor("actor");
+    final ActorTask task = getTask(actor);
+    actor.actorControl().close();
+    schedulerRule.workUntilDone();
+
+    // when
+    actor.actorControl().run(() -> executions.add("discarded"), Duration.ofSeconds(1));
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(executions).isEmpty();
+    assertThat(task.hasPendingDeadlineJobs()).isFalse();
+  }
+
+  private ActorTask getTask(final RecordingActor actor) {
+    final ActorFuture<ActorTask> task =
+        actor.actorControl().call(() -> ActorThread.current().getCurrentTask());
+    schedulerRule.workUntilDone();
+    return task.join();
+  }
+
+  private ActorTaskMetrics getMetrics(final RecordingActor actor) {
+    final ActorFuture<ActorTaskMetrics> metrics =
+        actor.actorControl().call(() -> ActorThread.current().getCurrentTask().getMetrics());
+    schedulerRule.workUntilDone();
+    return metrics.join();
+  }
+
+  private RecordingActor submitActor(final String name) {
+    final RecordingActor actor = new RecordingActor(name);
+    schedulerRule.submitActor(actor);
+    schedulerRule.workUntilDone();
+    return actor;
+  }
+
+  private static final class RecordingActor extends Actor {
+    private final String name;
+
+    private RecordingActor(final String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    private ActorControl actorControl() {
+      return actor;
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.functional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorThread;
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.testing.ControlledActorSchedulerRule;
+import java.time.Duration;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class JobPreemptionTest {
+  private static final int ITERATIONS = 25;
+
+  @Rule
+  public ControlledActorSchedulerRule iterationBudgetScheduler =
+      new ControlledActorSchedulerRule(
+          builder -> builder.setJobIterationBudget(10).setMetricsEnabled(true));
+
+  @Rule
+  public ControlledActorSchedulerRule timeBudgetScheduler =
+      new ControlledActorSchedulerRule(
+          builder -> builder.setJobTimeBudget(Duration.ofNanos(1)).setMetricsEnabled(true));
+
+  @Rule
+  public ControlledActorSchedulerRule unlimitedScheduler =
+      new ControlledActorSchedulerRule(builder -> builder.setMetricsEnabled(true));
+
+  @Test
+  public void shouldRunOtherActorsWhenIterationBudgetIsUsedUp() {
+    // given
+    final Looper looper = new Looper();
+    final Looper other = new Looper();
+    iterationBudgetScheduler.submitActor(looper);
+    iterationBudgetScheduler.submitActor(other);
+    iterationBudgetScheduler.workUntilDone();
+
+    // when
+    looper.loop();
+    other.recordIterationsOf(looper);
+    iterationBudgetScheduler.workUntilDone();
+
+    // then
+    assertThat(looper.iterations).isEqualTo(ITERATIONS);
+    assertThat(other.observedIterations).isEqualTo(10);
+
+    final ActorFuture<Long> preemptions = looper.getPreemptions();
+    iterationBudgetScheduler.workUntilDone();
+    assertThat(preemptions.join()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldPreemptWhenTimeBudgetIsUsedUp() {
+    // given
+    final Looper looper = new Looper();
+    timeBudgetScheduler.submitActor(looper);
+    timeBudgetScheduler.workUntilDone();
+
+    // when
+    looper.loop();
+    timeBudgetScheduler.workUntilDone();
+
+    // then
+    assertThat(looper.iterations).isEqualTo(ITERATIONS);
+
+    final ActorFuture<Long> preemptions = looper.getPreemptions();
+    timeBudgetScheduler.workUntilDone();
+    assertThat(preemptions.join()).isEqualTo(ITERATIONS - 1);
+  }
+
+  @Test
+  public void shouldNotPreemptWithoutBudget() {
+    // given
+    final Looper looper = new Looper();
+    final Looper other = new Looper();
+    unlimitedScheduler.submitActor(looper);
+    unlimitedScheduler.submitActor(other);
+    unlimitedScheduler.workUntilDone();
+
+    // when
+    looper.loop();
+    other.recordIterationsOf(looper);
+    unlimitedScheduler.workUntilDone();
+
+    // then
+    assertThat(other.observedIterations).isEqualTo(ITERATIONS);
+
+    final ActorFuture<Long> preemptions = looper.getPreemptions();
+    unlimitedScheduler.workUntilDone();
+    assertThat(preemptions.join()).isZero();
+  }
+
+  static class Looper extends Actor {
+    int iterations;
+    int observedIterations = -1;
+
+    void loop() {
+      actor.call(
+          () ->
+              actor.runUntilDone(
+                  () -> {
+                    iterations++;
+                    if (iterations == ITERATIONS) {
+                      actor.done();
+                    }
+                  }));
+    }
+
+    void recordIterationsOf(final Looper looper) {
+      actor.call(() -> observedIterations = looper.iterations);
+    }
+
+    ActorFuture<Long> getPreemptions() {
+      return actor.call(
+          () -> ActorThread.current().getCurrentTask().getMetrics().getJobPreemptions());
+    }
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.functional;
+
+import static com.anyilanxin.toolkit.util.TestUtil.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorScheduler;
+import com.anyilanxin.toolkit.scheduler.ActorScheduler.ActorSchedulerBuilder;
+import com.anyilanxin.toolkit.scheduler.ConcurrencyLimitedExecutorService;
+import com.anyilanxin.toolkit.scheduler.testing.ActorSchedulerRule;
+import com.anyilanxin.toolkit.scheduler.testing.ControlledActorSchedulerRule;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class VirtualThreadBlockingActionsTest {
+  @Rule
+  public final ActorSchedulerRule schedulerRule =
+      new ActorSchedulerRule(1, 0, builder -> builder.setBlockingTasksOnVirtualThreads(true));
+
+  @Rule
+  public final ActorSchedulerRule limitedSchedulerRule =
+      new ActorSchedulerRule(
+          1,
+          0,
+          builder ->
+              builder.setBlockingTasksOnVirtualThreads(true).setMaxConcurrentBlockingTasks(2));
+
+  @Test
+  public void shouldRunBlockingActionsOnVirtualThreads() throws InterruptedException {
+    // given
+    final AtomicInteger virtualThreads = new AtomicInteger();
+    final CountDownLatch latch = new CountDownLatch(100);
+
+    // when
+    schedulerRule.submitActor(
+        new Actor() {
+          @Override
+          protected void onActorStarted() {
+            for (int i = 0; i < 100; i++) {
+              actor.runBlocking(
+                  () -> {
+                    if (Thread.currentThread().isVirtual()) {
+                      virtualThreads.incrementAndGet();
+                    }
+                  },
+                  error -> latch.countDown());
+            }
+          }
+        });
+
+    // then
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(virtualThreads).hasValue(100);
+  }
+
+  @Test
+  public void shouldLimitConcurrentBlockingActions() throws InterruptedException {
+    // given
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    final CountDownLatch latch = new CountDownLatch(20);
+
+    // when
+    limitedSchedulerRule.submitActor(
+        new Actor() {
+          @Override
+          protected void onActorStarted() {
+            for (int i = 0; i < 20; i++) {
+              actor.runBlocking(
+                  () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                      Thread.sleep(5);
+                    } catch (final InterruptedException e) {
+                      Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                  },
+                  error -> latch.countDown());
+            }
+          }
+        });
+
+    // then
+    assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(maxRunning.get()).isBetween(1, 2);
+  }
+
+  @Test
+  public void shouldCancelBlockingTaskWhichIsInterruptedWhileWaitingForPermit() {
+    // given
+    final ExecutorService executor =
+        new ConcurrencyLimitedExecutorService(Executors.newVirtualThreadPerTaskExecutor(), 1);
+    final CountDownLatch release = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          while (release.getCount() > 0) {
+            try {
+              release.await();
+            } catch (final InterruptedException e) {
+              // keep the permit until released
+            }
+          }
+        });
+    final Future<?> waitingTask = executor.submit(() -> {});
+
+    // when
+    executor.shutdownNow();
+
+    // then
+    assertThatThrownBy(() -> waitingTask.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(CancellationException.class);
+    release.countDown();
+  }
+
+  @Test
+  public void shouldCompleteQueuedBlockingActionsOnShutdown() throws InterruptedException {
+    // given
+    final AtomicInteger running = new AtomicInteger();
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch rejected = new CountDownLatch(1);
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    limitedSchedulerRule.submitActor(
+        new Actor() {
+          @Override
+          protected void onActorStarted() {
+            for (int i = 0; i < 3; i++) {
+              actor.runBlocking(
+                  () -> {
+                    running.incrementAndGet();
+                    while (release.getCount() > 0) {
+                      try {
+                        release.await();
+                      } catch (final InterruptedException e) {
+                        // keep the permit until released
+                      }
+                    }
+                  },
+                  error -> {
+                    if (error != null) {
+                      failure.set(error);
+                      rejected.countDown();
+                    }
+                  });
+            }
+          }
+        });
+    waitUntil(() -> running.get() == 2);
+
+    // when
+    limitedSchedulerRule.getBuilder().getBlockingTasksExecutor().shutdownNow();
+
+    // then
+    assertThat(rejected.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(failure.get()).isInstanceOf(RejectedExecutionException.class);
+    assertThat(running).hasValue(2);
+    release.countDown();
+  }
+
+  @Test
+  public void shouldNotExposeVirtualThreadsAsThreadPool() {
+    // given
+    final ActorSchedulerBuilder builder =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(1)
+            .setIoBoundActorThreadCount(0)
+            .setBlockingTasksOnVirtualThreads(true);
+
+    // when
+    builder.build();
+
+    // then
+    assertThat(builder.getBlockingTasksRunner()).isNull();
+    assertThat(builder.getBlockingTasksExecutor()).isNotNull();
+  }
+
+  @Test
+  public void shouldCreateControlledSchedulerWithVirtualThreads() {
+    // when
+    final ControlledActorSchedulerRule rule =
+        new ControlledActorSchedulerRule(builder -> builder.setBlockingTasksOnVirtualThreads(true));
+
+    // then
+    assertThat(rule.get()).isNotNull();
+  }
+}
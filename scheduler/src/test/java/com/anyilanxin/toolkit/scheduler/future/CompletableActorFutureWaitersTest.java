@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.anyilanxin.toolkit.util.TestUtil;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class CompletableActorFutureWaitersTest {
+
+  @Test
+  public void shouldRemoveWaiterAfterTimeout() {
+    // given
+    final CompletableActorFuture<Integer> future = new CompletableActorFuture<>();
+
+    // when
+    for (int i = 0; i < 1_000; i++) {
+      assertThatThrownBy(() -> future.get(1, TimeUnit.NANOSECONDS))
+          .isInstanceOf(TimeoutException.class);
+    }
+
+    // then
+    assertThat(future.getWaiterCount()).isZero();
+  }
+
+  @Test
+  public void shouldRemoveWaiterAfterInterrupt() {
+    // given
+    final CompletableActorFuture<Integer> future = new CompletableActorFuture<>();
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      Thread.currentThread().interrupt();
+      assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS))
+          .isInstanceOf(InterruptedException.class);
+    }
+
+    // then
+    assertThat(future.getWaiterCount()).isZero();
+  }
+
+  @Test
+  public void shouldKeepWaitersWhichStillWait() throws Exception {
+    // given
+    final CompletableActorFuture<Integer> future = new CompletableActorFuture<>();
+    final AtomicInteger joined = new AtomicInteger();
+    final Thread waitingThread = new Thread(() -> joined.set(future.join()));
+    waitingThread.start();
+    TestUtil.waitUntil(() -> future.getWaiterCount() == 1);
+
+    // when
+    for (int i = 0; i < 1_000; i++) {
+      assertThatThrownBy(() -> future.get(1, TimeUnit.NANOSECONDS))
+          .isInstanceOf(TimeoutException.class);
+    }
+    future.onComplete((value, failure) -> {}, CompletableActorFuture.CALLING_THREAD);
+
+    // then
+    assertThat(future.getWaiterCount()).isEqualTo(2);
+    future.complete(3);
+    waitingThread.join(5_000);
+    assertThat(joined.get()).isEqualTo(3);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import com.anyilanxin.toolkit.scheduler.testing.ActorSchedulerRule;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SchedulerEventsTest {
+  @Rule public final ActorSchedulerRule schedulerRule = new ActorSchedulerRule(1);
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void shouldNotEnableEventsWithoutRecording() {
+    assertThat(EventType.getEventType(JobExecutedEvent.class).isEnabled()).isFalse();
+    assertThat(EventType.getEventType(ActorWokenUpEvent.class).isEnabled()).isFalse();
+  }
+
+  @Test
+  public void shouldEmitEventsOfActorExecution() throws Exception {
+    // given
+    final Path file = temporaryFolder.newFile("scheduler.jfr").toPath();
+    final List<RecordedEvent> events;
+
+    try (final Recording recording = new Recording()) {
+      recording.enable(SchedulerEvents.NAME_PREFIX + "JobExecuted").withoutThreshold();
+      recording.enable(SchedulerEvents.NAME_PREFIX + "ActorWokenUp");
+      recording.enable(SchedulerEvents.NAME_PREFIX + "TimerFired");
+      recording.enable(SchedulerEvents.NAME_PREFIX + "BlockingTask").withoutThreshold();
+      recording.enable(SchedulerEvents.NAME_PREFIX + "ActorPhaseChanged");
+      recording.start();
+
+      // when
+      final WorkingActor actor = new WorkingActor();
+      schedulerRule.submitActor(actor).join();
+      actor.work().join();
+      actor.close().join();
+
+      recording.stop();
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+
+    // then
+    assertThat(events)
+        .extracting(
+            event -> event.getEventType().getName().replace(SchedulerEvents.NAME_PREFIX, ""))
+        .contains("JobExecuted", "ActorWokenUp", "TimerFired", "BlockingTask", "ActorPhaseChanged");
+    assertThat(events)
+        .allSatisfy(event -> assertThat(event.getString("actor")).isEqualTo("worker"));
+
+    final List<String> phases =
+        events.stream()
+            .filter(event -> event.getEventType().getName().endsWith("ActorPhaseChanged"))
+            // the events are written per thread
+            .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+            .map(event -> event.getString("phase"))
+            .collect(Collectors.toList());
+    assertThat(phases)
+        .containsSubsequence("STARTING", "STARTED", "CLOSE_REQUESTED", "CLOSING", "CLOSED");
+  }
+
+  private static final class WorkingActor extends Actor {
+    @Override
+    public String getName() {
+      return "worker";
+    }
+
+    private ActorFuture<Void> work() {
+      final CompletableActorFuture<Void> done = new CompletableActorFuture<>();
+      actor.run(
+          () ->
+              actor.runDelayed(
+                  Duration.ofMillis(1),
+                  () -> actor.runBlocking(() -> {}, error -> done.complete(null))));
+      return done;
+    }
+
+    private ActorFuture<Void> close() {
+      return actor.close();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorScheduler;
+import com.anyilanxin.toolkit.scheduler.FutureUtil;
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.testing.ActorSchedulerRule;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ActorSchedulerMetricsTest {
+  @Rule
+  public final ActorSchedulerRule schedulerRule =
+      new ActorSchedulerRule(1, 1, builder -> builder.setMetricsEnabled(true));
+
+  @Test
+  public void shouldNotRecordMetricsByDefault() {
+    // when
+    final ActorScheduler notStarted =
+        ActorScheduler.newActorScheduler().setCpuBoundActorThreadCount(1).build();
+
+    // then
+    assertThat(notStarted.getMetrics()).isNull();
+  }
+
+  @Test
+  public void shouldExportThreadAndActorMetrics() {
+    // given
+    final CountingActor actor = new CountingActor();
+    FutureUtil.join(schedulerRule.submitActor(actor));
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      actor.increment();
+    }
+    FutureUtil.join(actor.getCount());
+
+    final RecordingExporter exporter = new RecordingExporter();
+    schedulerRule.get().exportMetrics(exporter);
+
+    // then
+    assertThat(exporter.threads).hasSize(2);
+    assertThat(exporter.threads)
+        .anySatisfy(thread -> assertThat(thread.getTasksExecuted()).isPositive());
+
+    assertThat(exporter.actors).hasSize(1);
+    final ActorTaskMetrics actorMetrics = exporter.actors.get(0);
+    assertThat(actorMetrics.getActorName()).isEqualTo(actor.getName());
+    assertThat(actorMetrics.getJobExecutionTime().getCount()).isGreaterThanOrEqualTo(11);
+    assertThat(actorMetrics.getMailboxDepth()).isZero();
+  }
+
+  @Test
+  public void shouldRemoveActorMetricsOnClose() {
+    // given
+    final CountingActor actor = new CountingActor();
+    FutureUtil.join(schedulerRule.submitActor(actor));
+
+    // when
+    FutureUtil.join(actor.close());
+
+    // then
+    final RecordingExporter exporter = new RecordingExporter();
+    schedulerRule.get().exportMetrics(exporter);
+    assertThat(exporter.actors).isEmpty();
+  }
+
+  static class CountingActor extends Actor {
+    private int count;
+
+    void increment() {
+      actor.call(() -> count++);
+    }
+
+    ActorFuture<Integer> getCount() {
+      return actor.call(() -> count);
+    }
+
+    ActorFuture<Void> close() {
+      return actor.close();
+    }
+  }
+
+  static class RecordingExporter implements SchedulerMetricsExporter {
+    final List<ActorThreadMetrics> threads = new ArrayList<>();
+    final List<ActorTaskMetrics> actors = new ArrayList<>();
+
+    @Override
+    public void exportThread(final ActorThreadMetrics metrics) {
+      threads.add(metrics);
+    }
+
+    @Override
+    public void exportActor(final ActorTaskMetrics metrics) {
+      actors.add(metrics);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class HistogramTest {
+
+  @Test
+  public void shouldRecordIntoPowerOfTwoBuckets() {
+    // given
+    final Histogram histogram = new Histogram();
+
+    // when
+    histogram.record(0);
+    histogram.record(1);
+    histogram.record(5);
+    histogram.record(7);
+    histogram.record(1_000);
+
+    // then
+    assertThat(histogram.getCount()).isEqualTo(5);
+    assertThat(histogram.getSum()).isEqualTo(1_013);
+    assertThat(histogram.getMax()).isEqualTo(1_000);
+    assertThat(histogram.getBucketCount(0)).isEqualTo(1);
+    assertThat(histogram.getBucketCount(1)).isEqualTo(1);
+    assertThat(histogram.getBucketCount(3)).isEqualTo(2);
+    assertThat(histogram.getBucketCount(10)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldEstimatePercentilesByBucketUpperBound() {
+    // given
+    final Histogram histogram = new Histogram();
+    for (int i = 0; i < 99; i++) {
+      histogram.record(10);
+    }
+    histogram.record(100_000);
+
+    // then
+    assertThat(histogram.getValueAtPercentile(50)).isEqualTo(15);
+    assertThat(histogram.getValueAtPercentile(99)).isEqualTo(15);
+    assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100_000);
+  }
+
+  @Test
+  public void shouldReturnZeroIfEmpty() {
+    final Histogram histogram = new Histogram();
+
+    assertThat(histogram.getValueAtPercentile(99)).isZero();
+    assertThat(histogram.getMean()).isZero();
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.recorder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorScheduler;
+import com.anyilanxin.toolkit.scheduler.ActorTask;
+import com.anyilanxin.toolkit.scheduler.ActorTask.ActorLifecyclePhase;
+import com.anyilanxin.toolkit.scheduler.FutureUtil;
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.testing.ActorSchedulerRule;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class FlightRecorderTest {
+  @Rule public final ActorSchedulerRule schedulerRule = new ActorSchedulerRule(1, 1, builder -> {});
+
+  @Rule
+  public final ActorSchedulerRule disabledSchedulerRule =
+      new ActorSchedulerRule(1, 1, builder -> builder.setFlightRecorderCapacity(0));
+
+  @Test
+  public void shouldKeepTheLastEvents() {
+    // given
+    final FlightRecorder recorder = new FlightRecorder("thread", 6);
+    final ActorTask task = new ActorTask(new NamedActor("actor"));
+
+    // when
+    for (int i = 0; i < 20; i++) {
+      recorder.onTaskExecuted(task, ActorLifecyclePhase.STARTED, i, 10 + i);
+    }
+
+    // then
+    assertThat(recorder.getCapacity()).isEqualTo(8);
+
+    // the oldest slot is left out, the writer may be overwriting it
+    final List<FlightRecorderEvent> events = recorder.snapshot();
+    assertThat(events)
+        .extracting(FlightRecorderEvent::timestampNanos)
+        .containsExactly(13L, 14L, 15L, 16L, 17L, 18L, 19L);
+    assertThat(events.get(0))
+        .isEqualTo(
+            new FlightRecorderEvent(
+                "thread",
+                13,
+                FlightRecorderEventType.EXECUTED,
+                "actor",
+                ActorLifecyclePhase.STARTED,
+                23));
+  }
+
+  @Test
+  public void shouldMergeRecordersByTimestamp() {
+    // given
+    final FlightRecorder first = new FlightRecorder("first", 4);
+    final FlightRecorder second = new FlightRecorder("second", 4);
+    final ActorTask task = new ActorTask(new NamedActor("actor"));
+
+    // when
+    first.onTaskStolen(task, 1);
+    second.onTaskWokenUp(task, 2);
+    first.onTaskExecuted(task, ActorLifecyclePhase.STARTED, 3, 5);
+
+    // then
+    assertThat(FlightRecorder.snapshot(List.of(first, second)))
+        .extracting(FlightRecorderEvent::threadName, FlightRecorderEvent::type)
+        .containsExactly(
+            tuple("first", FlightRecorderEventType.STOLEN),
+            tuple("second", FlightRecorderEventType.WOKEN_UP),
+            tuple("first", FlightRecorderEventType.EXECUTED));
+  }
+
+  @Test
+  public void shouldRejectInvalidCapacity() {
+    assertThatThrownBy(() -> new FlightRecorder("thread", 0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ActorScheduler.newActorScheduler().setFlightRecorderCapacity(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldRecordExecutionsAndWakeUps() throws IOException {
+    // given
+    final ActorScheduler scheduler = schedulerRule.get();
+    final NamedActor receiver = new NamedActor("receiver");
+    final NamedActor sender = new NamedActor("sender");
+    FutureUtil.join(scheduler.submitActor(receiver));
+    FutureUtil.join(scheduler.submitActor(sender));
+
+    // when
+    // the sender is recorded before the receiver runs on the single thread
+    FutureUtil.join(FutureUtil.join(sender.call(() -> receiver.call(() -> null))));
+
+    // then
+    final List<FlightRecorderEvent> events = scheduler.getFlightRecorderEvents();
+    assertThat(events)
+        .anySatisfy(
+            event -> {
+              assertThat(event.type()).isEqualTo(FlightRecorderEventType.WOKEN_UP);
+              assertThat(event.actorName()).isEqualTo("receiver");
+            })
+        .anySatisfy(
+            event -> {
+              assertThat(event.type()).isEqualTo(FlightRecorderEventType.EXECUTED);
+              assertThat(event.actorName()).isEqualTo("sender");
+              assertThat(event.phase()).isEqualTo(ActorLifecyclePhase.STARTED);
+            });
+
+    final StringWriter dump = new StringWriter();
+    scheduler.dumpFlightRecorder(dump);
+    assertThat(dump.toString()).contains("WOKEN_UP receiver").contains("EXECUTED sender STARTED");
+  }
+
+  @Test
+  public void shouldNotRecordIfDisabled() {
+    // when
+    FutureUtil.join(disabledSchedulerRule.submitActor(new NamedActor("actor")));
+
+    // then
+    assertThat(disabledSchedulerRule.get().getFlightRecorderEvents()).isEmpty();
+  }
+
+  private static final class NamedActor extends Actor {
+    private final String name;
+
+    private NamedActor(final String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    private <T> ActorFuture<T> call(final Callable<T> callable) {
+      return actor.call(callable);
+    }
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorControl;
+import com.anyilanxin.toolkit.scheduler.clock.ActorClock;
+import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import com.anyilanxin.toolkit.scheduler.testing.ControlledActorSchedulerRule;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class JitteredBackOffRetryStrategyTest {
+
+  @Rule public ControlledActorSchedulerRule schedulerRule = new ControlledActorSchedulerRule();
+
+  private ActorControl actorControl;
+  private ActorFuture<Boolean> resultFuture;
+
+  @Before
+  public void setUp() {
+    final ControllableActor actor = new ControllableActor();
+    actorControl = actor.getActor();
+
+    schedulerRule.submitActor(actor);
+  }
+
+  @Test
+  public void shouldRejectInvalidBackOffs() {
+    assertThatThrownBy(
+            () ->
+                new JitteredBackOffRetryStrategy(
+                    actorControl, Duration.ZERO, Duration.ofSeconds(1)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                new JitteredBackOffRetryStrategy(
+                    actorControl, Duration.ofSeconds(2), Duration.ofSeconds(1)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldRunWithoutDelay() throws Exception {
+    // given
+    final JitteredBackOffRetryStrategy retryStrategy = newRetryStrategy(null);
+
+    // when
+    actorControl.run(() -> resultFuture = retryStrategy.runWithRetry(() -> true));
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(resultFuture.isDone()).isTrue();
+    assertThat(resultFuture.get()).isTrue();
+    assertThat(retryStrategy.getAttempts()).isEqualTo(1);
+    assertThat(retryStrategy.getGiveUps()).isZero();
+  }
+
+  @Test
+  public void shouldRetryWithJitteredBackOff() throws Exception {
+    // given
+    final JitteredBackOffRetryStrategy retryStrategy = newRetryStrategy(null);
+    final AtomicInteger count = new AtomicInteger(0);
+    final List<Long> callRecorder = new ArrayList<>();
+
+    // when
+    actorControl.run(
+        () ->
+            resultFuture =
+                retryStrategy.runWithRetry(
+                    () -> {
+                      callRecorder.add(ActorClock.current().getTimeMillis());
+                      if (count.incrementAndGet() % 2 == 0) {
+                        throw new RuntimeException("expected");
+                      }
+                      return count.get() == 15;
+                    }));
+
+    while (count.get() != 15) {
+      schedulerRule.workUntilDone();
+      schedulerRule.getClock().addTime(Duration.ofMillis(100));
+    }
+
+    // then
+    assertThat(resultFuture.get()).isTrue();
+    assertThat(retryStrategy.getAttempts()).isEqualTo(15);
+
+    final List<Long> delays = new ArrayList<>();
+    for (int i = 1; i < callRecorder.size(); i++) {
+      delays.add(callRecorder.get(i) - callRecorder.get(i - 1));
+    }
+    assertThat(delays).allSatisfy(delay -> assertThat(delay).isBetween(1_000L, 10_100L));
+    // the retries are not in lockstep with a fixed back off
+    assertThat(new HashSet<>(delays)).hasSizeGreaterThan(1);
+  }
+
+  @Test
+  public void shouldGiveUpWhenRetryBudgetIsUsedUp() throws Exception {
+    // given
+    final RetryBudget retryBudget = new RetryBudget(2, 0.001);
+    final JitteredBackOffRetryStrategy retryStrategy = newRetryStrategy(retryBudget);
+
+    // when
+    actorControl.run(() -> resultFuture = retryStrategy.runWithRetry(() -> false));
+    schedulerRule.workUntilDone();
+
+    while (!resultFuture.isDone()) {
+      schedulerRule.workUntilDone();
+      schedulerRule.getClock().addTime(Duration.ofSeconds(1));
+    }
+
+    // then
+    assertThat(resultFuture.get()).isFalse();
+    assertThat(retryStrategy.getAttempts()).isEqualTo(3);
+    assertThat(retryStrategy.getGiveUps()).isEqualTo(1);
+    assertThat(retryBudget.getGrantedRetries()).isEqualTo(2);
+    assertThat(retryBudget.getRejectedRetries()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldStopWhenTerminateConditionReturnsTrue() throws Exception {
+    // given
+    final RetryBudget retryBudget = new RetryBudget(10, 1);
+    final JitteredBackOffRetryStrategy retryStrategy = newRetryStrategy(retryBudget);
+
+    // when
+    actorControl.run(() -> resultFuture = retryStrategy.runWithRetry(() -> false, () -> true));
+    schedulerRule.workUntilDone();
+
+    // then
+    assertThat(resultFuture.isDone()).isTrue();
+    assertThat(resultFuture.get()).isFalse();
+    assertThat(retryStrategy.getGiveUps()).isEqualTo(1);
+    assertThat(retryBudget.getGrantedRetries()).isZero();
+  }
+
+  private JitteredBackOffRetryStrategy newRetryStrategy(final RetryBudget retryBudget) {
+    return new JitteredBackOffRetryStrategy(
+        actorControl, Duration.ofSeconds(1), Duration.ofSeconds(10), retryBudget);
+  }
+
+  private final class ControllableActor extends Actor {
+    public ActorControl getActor() {
+      return actor;
+    }
+  }
+}
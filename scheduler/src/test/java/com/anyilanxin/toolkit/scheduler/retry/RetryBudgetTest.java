@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class RetryBudgetTest {
+  private static final long NOW = TimeUnit.HOURS.toNanos(1);
+
+  @Test
+  public void shouldRejectInvalidArguments() {
+    assertThatThrownBy(() -> new RetryBudget(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new RetryBudget(1, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void shouldAllowBurstUpToCapacity() {
+    // given
+    final RetryBudget budget = new RetryBudget(3, 1);
+
+    // when
+    final boolean first = budget.tryAcquire(NOW);
+    final boolean second = budget.tryAcquire(NOW);
+    final boolean third = budget.tryAcquire(NOW);
+    final boolean fourth = budget.tryAcquire(NOW);
+
+    // then
+    assertThat(first).isTrue();
+    assertThat(second).isTrue();
+    assertThat(third).isTrue();
+    assertThat(fourth).isFalse();
+    assertThat(budget.getGrantedRetries()).isEqualTo(3);
+    assertThat(budget.getRejectedRetries()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRefillWithConfiguredRate() {
+    // given
+    final RetryBudget budget = new RetryBudget(2, 10);
+    budget.tryAcquire(NOW);
+    budget.tryAcquire(NOW);
+
+    // when
+    final boolean beforeRefill = budget.tryAcquire(NOW + TimeUnit.MILLISECONDS.toNanos(99));
+    final boolean afterRefill = budget.tryAcquire(NOW + TimeUnit.MILLISECONDS.toNanos(100));
+    final boolean afterSingleRefill = budget.tryAcquire(NOW + TimeUnit.MILLISECONDS.toNanos(100));
+
+    // then
+    assertThat(beforeRefill).isFalse();
+    assertThat(afterRefill).isTrue();
+    assertThat(afterSingleRefill).isFalse();
+  }
+
+  @Test
+  public void shouldNotRefillBeyondCapacity() {
+    // given
+    final RetryBudget budget = new RetryBudget(2, 10);
+    budget.tryAcquire(NOW);
+
+    // when
+    final long muchLater = NOW + TimeUnit.MINUTES.toNanos(1);
+    int granted = 0;
+    while (budget.tryAcquire(muchLater)) {
+      granted++;
+    }
+
+    // then
+    assertThat(granted).isEqualTo(2);
+  }
+}
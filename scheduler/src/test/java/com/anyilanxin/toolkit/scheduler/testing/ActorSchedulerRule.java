@@ -22,6 +22,7 @@ import com.anyilanxin.toolkit.scheduler.ActorScheduler.ActorSchedulerBuilder;
 import com.anyilanxin.toolkit.scheduler.FutureUtil;
 import com.anyilanxin.toolkit.scheduler.clock.ActorClock;
 import com.anyilanxin.toolkit.scheduler.future.ActorFuture;
+import java.util.function.Consumer;
 import org.junit.rules.ExternalResource;
 
 public class ActorSchedulerRule extends ExternalResource {
@@ -29,6 +30,7 @@ public class ActorSchedulerRule extends ExternalResource {
   private final int numOfIoThreads;
   private final int numOfThreads;
   private final ActorClock clock;
+  private final Consumer<ActorSchedulerBuilder> builderConfigurator;
 
   private ActorSchedulerBuilder builder;
   private ActorScheduler actorScheduler;
@@ -39,10 +41,32 @@ public class ActorSchedulerRule extends ExternalResource {
 
   public ActorSchedulerRule(
       final int numOfThreads, final int numOfIoThreads, final ActorClock clock) {
+    this(numOfThreads, numOfIoThreads, clock, builder -> {});
+  }
+
+  /**
+   * @param builderConfigurator applies additional settings to the scheduler builder
+   */
+  public ActorSchedulerRule(
+      final int numOfThreads,
+      final int numOfIoThreads,
+      final Consumer<ActorSchedulerBuilder> builderConfigurator) {
+    this(numOfThreads, numOfIoThreads, null, builderConfigurator);
+  }
+
+  /**
+   * @param builderConfigurator applies additional settings to the scheduler builder
+   */
+  public ActorSchedulerRule(
+      final int numOfThreads,
+      final int numOfIoThreads,
+      final ActorClock clock,
+      final Consumer<ActorSchedulerBuilder> builderConfigurator) {
 
     this.numOfIoThreads = numOfIoThreads;
     this.numOfThreads = numOfThreads;
     this.clock = clock;
+    this.builderConfigurator = builderConfigurator;
   }
 
   public ActorSchedulerRule(final int numOfThreads) {
@@ -64,6 +88,7 @@ public class ActorSchedulerRule extends ExternalResource {
             .setCpuBoundActorThreadCount(numOfThreads)
             .setIoBoundActorThreadCount(numOfIoThreads)
             .setActorClock(clock);
+    builderConfigurator.accept(builder);
 
     actorScheduler = builder.build();
     actorScheduler.start();
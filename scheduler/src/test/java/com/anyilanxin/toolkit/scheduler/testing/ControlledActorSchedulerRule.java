@@ -26,6 +26,7 @@ import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
 import java.time.Duration;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
 import org.junit.Assert;
 import org.junit.rules.ExternalResource;
 
@@ -36,6 +37,13 @@ public class ControlledActorSchedulerRule extends ExternalResource {
   private final ControlledActorClock clock = new ControlledActorClock();
 
   public ControlledActorSchedulerRule() {
+    this(builder -> {});
+  }
+
+  /**
+   * @param builderConfigurator applies additional settings to the scheduler builder
+   */
+  public ControlledActorSchedulerRule(final Consumer<ActorSchedulerBuilder> builderConfigurator) {
     final ControlledActorThreadFactory actorTaskRunnerFactory = new ControlledActorThreadFactory();
     final ActorTimerQueue timerQueue = new ActorTimerQueue(clock, 1);
     final ActorSchedulerBuilder builder =
@@ -46,6 +54,7 @@ public class ControlledActorSchedulerRule extends ExternalResource {
             .setActorThreadFactory(actorTaskRunnerFactory)
             .setBlockingTasksShutdownTime(Duration.ofSeconds(0))
             .setActorTimerQueue(timerQueue);
+    builderConfigurator.accept(builder);
 
     actorScheduler = builder.build();
     controlledActorTaskRunner = actorTaskRunnerFactory.controlledThread;
@@ -71,6 +80,10 @@ public class ControlledActorSchedulerRule extends ExternalResource {
   }
 
   public void awaitBlockingTasksCompleted(final int i) {
+    if (blockingTasksRunner == null) {
+      Assert.fail("can only count the blocking tasks of a thread pool, not of virtual threads");
+    }
+
     final long currentTimeMillis = System.currentTimeMillis();
 
     while (System.currentTimeMillis() - currentTimeMillis < 5000) {
@@ -125,7 +138,7 @@ public class ControlledActorSchedulerRule extends ExternalResource {
         final ActorThreadGroup threadGroup,
         final TaskScheduler taskScheduler,
         final ActorClock clock,
-        final ActorTimerQueue timerQueue) {
+        final TimerQueue timerQueue) {
       controlledThread =
           new ControlledActorThread(name, id, threadGroup, taskScheduler, clock, timerQueue);
       return controlledThread;
@@ -18,8 +18,8 @@ package com.anyilanxin.toolkit.scheduler.testing;
 
 import com.anyilanxin.toolkit.scheduler.ActorThread;
 import com.anyilanxin.toolkit.scheduler.ActorThreadGroup;
-import com.anyilanxin.toolkit.scheduler.ActorTimerQueue;
 import com.anyilanxin.toolkit.scheduler.TaskScheduler;
+import com.anyilanxin.toolkit.scheduler.TimerQueue;
 import com.anyilanxin.toolkit.scheduler.clock.ActorClock;
 import com.anyilanxin.toolkit.util.LangUtil;
 import java.util.concurrent.BrokenBarrierException;
@@ -34,7 +34,7 @@ public class ControlledActorThread extends ActorThread {
       final ActorThreadGroup threadGroup,
       final TaskScheduler taskScheduler,
       final ActorClock clock,
-      final ActorTimerQueue timerQueue) {
+      final TimerQueue timerQueue) {
     super(name, id, threadGroup, taskScheduler, clock, timerQueue);
     idleStrategy = new ControlledIdleStartegy();
   }
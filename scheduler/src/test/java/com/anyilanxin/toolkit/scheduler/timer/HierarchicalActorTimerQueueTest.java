@@ -0,0 +1,249 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.timer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.anyilanxin.toolkit.scheduler.Actor;
+import com.anyilanxin.toolkit.scheduler.ActorJob;
+import com.anyilanxin.toolkit.scheduler.ActorScheduler;
+import com.anyilanxin.toolkit.scheduler.FutureUtil;
+import com.anyilanxin.toolkit.scheduler.HierarchicalActorTimerQueue;
+import com.anyilanxin.toolkit.scheduler.TimerSubscription;
+import com.anyilanxin.toolkit.scheduler.clock.ControlledActorClock;
+import com.anyilanxin.toolkit.scheduler.future.CompletableActorFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HierarchicalActorTimerQueueTest {
+  private static final long START_TIME = 1_000_000;
+
+  private final ControlledActorClock clock = new ControlledActorClock();
+
+  @Before
+  public void setUp() {
+    clock.setCurrentTime(START_TIME);
+  }
+
+  @Test
+  public void shouldExpireTimerOnDeadline() {
+    // given
+    final HierarchicalActorTimerQueue queue = new HierarchicalActorTimerQueue(clock);
+    final RecordingTimer timer = schedule(queue, 10);
+
+    // when
+    advanceTo(queue, START_TIME + 9);
+
+    // then
+    assertThat(timer.expiredAt).isEqualTo(-1);
+
+    // when
+    advanceTo(queue, START_TIME + 10);
+
+    // then
+    assertThat(timer.expiredAt).isEqualTo(START_TIME + 10);
+    assertThat(queue.getTimerCount()).isZero();
+  }
+
+  @Test
+  public void shouldExpireTimerWithLongDeadline() {
+    // given
+    final HierarchicalActorTimerQueue queue = new HierarchicalActorTimerQueue(clock);
+    final long delay = TimeUnit.MINUTES.toMillis(10);
+    final RecordingTimer timer = schedule(queue, delay);
+
+    // when
+    for (long t = START_TIME; t < START_TIME + delay; t += 1_000) {
+      advanceTo(queue, t);
+    }
+    advanceTo(queue, START_TIME + delay - 1);
+
+    // then
+    assertThat(timer.expiredAt).isEqualTo(-1);
+
+    // when
+    advanceTo(queue, START_TIME + delay);
+
+    // then
+    assertThat(timer.expiredAt).isEqualTo(START_TIME + delay);
+  }
+
+  @Test
+  public void shouldExpireTimerBeyondTopLevel() {
+    // given
+    final HierarchicalActorTimerQueue queue = new HierarchicalActorTimerQueue(clock, 1, 2);
+    final RecordingTimer timer = schedule(queue, 10_000);
+
+    // when
+    for (long t = START_TIME; t < START_TIME + 10_000; t += 100) {
+      advanceTo(queue, t);
+    }
+    advanceTo(queue, START_TIME + 9_999);
+
+    // then
+    assertThat(timer.expiredAt).isEqualTo(-1);
+
+    // when
+    advanceTo(queue, START_TIME + 10_000);
+
+    // then
+    assertThat(timer.expiredAt).isEqualTo(START_TIME + 10_000);
+  }
+
+  @Test
+  public void shouldNotExpireRemovedTimer() {
+    // given
+    final HierarchicalActorTimerQueue queue = new HierarchicalActorTimerQueue(clock);
+    final RecordingTimer removed = schedule(queue, 100);
+    final RecordingTimer other = schedule(queue, 100);
+
+    // when
+    queue.remove(removed);
+    queue.remove(removed);
+    advanceTo(queue, START_TIME + 100);
+
+    // then
+    assertThat(removed.expiredAt).isEqualTo(-1);
+    assertThat(other.expiredAt).isEqualTo(START_TIME + 100);
+    assertThat(queue.getTimerCount()).isZero();
+  }
+
+  @Test
+  public void shouldNotExpireBeforeDeadlineWithCoarseResolution() {
+    // given
+    final HierarchicalActorTimerQueue queue = new HierarchicalActorTimerQueue(clock, 10);
+    final RecordingTimer timer = schedule(queue, 15);
+
+    // when
+    advanceTo(queue, START_TIME + 15);
+
+    // then
+    assertThat(timer.expiredAt).isEqualTo(-1);
+
+    // when
+    advanceTo(queue, START_TIME + 20);
+
+    // then
+    assertThat(timer.expiredAt).isEqualTo(START_TIME + 20);
+  }
+
+  @Test
+  public void shouldExpireRandomTimersInTime() {
+    // given
+    final HierarchicalActorTimerQueue queue = new HierarchicalActorTimerQueue(clock, 1, 3);
+    final Random random = new Random(42);
+    final List<RecordingTimer> timers = new ArrayList<>();
+    final List<RecordingTimer> removedTimers = new ArrayList<>();
+
+    for (int i = 0; i < 10_000; i++) {
+      final long delay = random.nextInt(1 << (1 + random.nextInt(22)));
+      final RecordingTimer timer = schedule(queue, delay);
+
+      if (random.nextInt(10) == 0) {
+        queue.remove(timer);
+        removedTimers.add(timer);
+      } else {
+        timers.add(timer);
+      }
+    }
+
+    // when
+    final long end = START_TIME + (1 << 22);
+    long now = START_TIME;
+    advanceTo(queue, now);
+
+    while (now < end) {
+      final long step = 1 + random.nextInt(random.nextBoolean() ? 10 : 10_000);
+      now += step;
+      advanceTo(queue, now);
+
+      for (final RecordingTimer timer : timers) {
+        if (timer.expiredAt == now) {
+          assertThat(timer.deadline).isLessThanOrEqualTo(now).isGreaterThan(now - step);
+        }
+      }
+    }
+
+    // then
+    assertThat(timers).allSatisfy(timer -> assertThat(timer.expiredAt).isNotEqualTo(-1));
+    assertThat(removedTimers).allSatisfy(timer -> assertThat(timer.expiredAt).isEqualTo(-1));
+    assertThat(queue.getTimerCount()).isZero();
+  }
+
+  @Test
+  public void shouldRunDelayedActionsWithConfiguredTimerQueue() throws Exception {
+    // given
+    final ActorScheduler scheduler =
+        ActorScheduler.newActorScheduler()
+            .setCpuBoundActorThreadCount(2)
+            .setIoBoundActorThreadCount(0)
+            .setActorTimerQueueFactory(HierarchicalActorTimerQueue::new)
+            .build();
+    scheduler.start();
+
+    final CompletableActorFuture<Void> fired = new CompletableActorFuture<>();
+    final Actor actor =
+        new Actor() {
+          @Override
+          protected void onActorStarted() {
+            actor.runDelayed(Duration.ofMillis(5), () -> fired.complete(null));
+          }
+        };
+
+    try {
+      // when
+      scheduler.submitActor(actor);
+
+      // then
+      fired.get(5, TimeUnit.SECONDS);
+    } finally {
+      FutureUtil.join(scheduler.stop());
+    }
+  }
+
+  private RecordingTimer schedule(final HierarchicalActorTimerQueue queue, final long delay) {
+    final RecordingTimer timer = new RecordingTimer(delay, clock.getTimeMillis() + delay);
+    queue.schedule(timer, clock);
+    return timer;
+  }
+
+  private void advanceTo(final HierarchicalActorTimerQueue queue, final long time) {
+    clock.setCurrentTime(time);
+    queue.processExpiredTimers(clock);
+  }
+
+  private final class RecordingTimer extends TimerSubscription {
+    private final long deadline;
+    private long expiredAt = -1;
+
+    RecordingTimer(final long delay, final long deadline) {
+      super(new ActorJob(), delay, TimeUnit.MILLISECONDS, false);
+      this.deadline = deadline;
+    }
+
+    @Override
+    public void onTimerExpired(final TimeUnit timeUnit, final long now) {
+      assertThat(expiredAt).isEqualTo(-1);
+      expiredAt = clock.getTimeMillis();
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ * Copyright © 2025 anyilanxin zxh(anyilanxin@aliyun.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.anyilanxin.toolkit.scheduler.timer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.anyilanxin.toolkit.scheduler.ActorJob;
+import com.anyilanxin.toolkit.scheduler.ActorTimerQueue;
+import com.anyilanxin.toolkit.scheduler.HierarchicalActorTimerQueue;
+import com.anyilanxin.toolkit.scheduler.TimerQueue;
+import com.anyilanxin.toolkit.scheduler.TimerSubscription;
+import com.anyilanxin.toolkit.scheduler.clock.ControlledActorClock;
+import com.anyilanxin.toolkit.scheduler.metrics.ActorThreadMetrics;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class TimerExpiryBudgetTest {
+  private static final long START_TIME = 1_000_000;
+
+  @Parameter(0)
+  public String name;
+
+  @Parameter(1)
+  public Function<ControlledActorClock, TimerQueue> queueFactory;
+
+  private final ControlledActorClock clock = new ControlledActorClock();
+  private final ActorThreadMetrics metrics = new ActorThreadMetrics("test");
+  private TimerQueue queue;
+  private int expiredTimers;
+
+  @Parameters(name = "{0}")
+  public static Collection<Object[]> parameters() {
+    return Arrays.asList(
+        new Object[][] {
+          {
+            "wheel",
+            (Function<ControlledActorClock, TimerQueue>) clock -> new ActorTimerQueue(clock)
+          },
+          {
+            "hierarchical",
+            (Function<ControlledActorClock, TimerQueue>)
+                clock -> new HierarchicalActorTimerQueue(clock)
+          }
+        });
+  }
+
+  @Before
+  public void setUp() {
+    clock.setCurrentTime(START_TIME);
+    queue = queueFactory.apply(clock);
+    queue.setMetrics(metrics);
+  }
+
+  @Test
+  public void shouldCarryOverTimersBeyondBudget() {
+    // given
+    queue.setExpiryBudget(10);
+    for (int i = 0; i < 25; i++) {
+      queue.schedule(new CountingTimer(5), clock);
+    }
+    clock.setCurrentTime(START_TIME + 5);
+
+    // when
+    queue.processExpiredTimers(clock);
+
+    // then
+    assertThat(expiredTimers).isEqualTo(10);
+    assertThat(queue.hasExpiryBacklog()).isTrue();
+
+    // when
+    queue.processExpiredTimers(clock);
+    queue.processExpiredTimers(clock);
+
+    // then
+    assertThat(expiredTimers).isEqualTo(25);
+    assertThat(queue.hasExpiryBacklog()).isFalse();
+    assertThat(metrics.getTimerExpiryBudgetExhausted()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldExpireAllTimersWithoutBudget() {
+    // given
+    for (int i = 0; i < 1_000; i++) {
+      queue.schedule(new CountingTimer(1 + i % 10), clock);
+    }
+
+    // when
+    for (int i = 1; i <= 10; i++) {
+      clock.setCurrentTime(START_TIME + i);
+      queue.processExpiredTimers(clock);
+    }
+
+    // then
+    assertThat(expiredTimers).isEqualTo(1_000);
+    assertThat(queue.hasExpiryBacklog()).isFalse();
+  }
+
+  @Test
+  public void shouldRecordExpiryLag() {
+    // given
+    queue.schedule(new CountingTimer(5), clock);
+
+    // when
+    clock.setCurrentTime(START_TIME + 12);
+    queue.processExpiredTimers(clock);
+
+    // then
+    assertThat(expiredTimers).isEqualTo(1);
+    assertThat(metrics.getTimerExpiryLag().getCount()).isEqualTo(1);
+    assertThat(metrics.getTimerExpiryLag().getMax()).isEqualTo(7);
+  }
+
+  private final class CountingTimer extends TimerSubscription {
+    CountingTimer(final long delayMillis) {
+      super(new ActorJob(), delayMillis, TimeUnit.MILLISECONDS, false);
+    }
+
+    @Override
+    public void onTimerExpired(final TimeUnit timeUnit, final long now) {
+      expiredTimers++;
+    }
+  }
+}